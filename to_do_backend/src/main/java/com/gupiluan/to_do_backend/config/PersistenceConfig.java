@@ -0,0 +1,73 @@
+package com.gupiluan.to_do_backend.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.gupiluan.to_do_backend.persistence.SnapshotScheduler;
+import com.gupiluan.to_do_backend.persistence.SnapshotStore;
+import com.gupiluan.to_do_backend.persistence.SyncPolicy;
+import com.gupiluan.to_do_backend.persistence.WriteAheadLog;
+import com.gupiluan.to_do_backend.repository.ToDoRepository;
+
+/**
+ * Persistence configuration for the in-memory repository.
+ * Enabled with todo.persistence.enabled=true; the repository then recovers
+ * its state from the latest snapshot and the log tail on startup, logs every
+ * change and snapshots itself in the background as the log grows.
+ * 
+ * @author gupiluan
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.persistence.enabled", havingValue = "true")
+public class PersistenceConfig {
+
+    /**
+     * Opens the write-ahead log.
+     * 
+     * @param directory          directory holding the log segments
+     * @param syncPolicy         durability policy (ALWAYS, INTERVAL or OS)
+     * @param syncIntervalMillis force interval for the INTERVAL policy
+     * @param segmentSize        size of each segment file in bytes
+     * @return the opened log, closed on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public WriteAheadLog writeAheadLog(
+            @Value("${todo.persistence.directory:data}") String directory,
+            @Value("${todo.persistence.sync:INTERVAL}") SyncPolicy syncPolicy,
+            @Value("${todo.persistence.sync-interval-ms:50}") long syncIntervalMillis,
+            @Value("${todo.persistence.segment-size:67108864}") int segmentSize) {
+        return WriteAheadLog.open(Path.of(directory, "wal"), syncPolicy, syncIntervalMillis, segmentSize);
+    }
+
+    /**
+     * Opens the snapshot store.
+     * 
+     * @param directory directory holding the snapshot files
+     * @return the snapshot store
+     */
+    @Bean
+    public SnapshotStore snapshotStore(@Value("${todo.persistence.directory:data}") String directory) {
+        return new SnapshotStore(Path.of(directory, "snapshots"));
+    }
+
+    /**
+     * Schedules background snapshots of the default repository.
+     * 
+     * @param repository     the repository to snapshot
+     * @param writeAheadLog  the log whose growth triggers snapshots
+     * @param intervalMillis delay between checks
+     * @param minRecords     log records needed since the last snapshot
+     * @return the scheduler, stopped on shutdown
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "todo.repository.type", havingValue = "rw-lock", matchIfMissing = true)
+    public SnapshotScheduler snapshotScheduler(ToDoRepository repository, WriteAheadLog writeAheadLog,
+            @Value("${todo.persistence.snapshot-interval-ms:60000}") long intervalMillis,
+            @Value("${todo.persistence.snapshot-min-records:100000}") long minRecords) {
+        return new SnapshotScheduler(writeAheadLog, repository::snapshot, intervalMillis, minRecords);
+    }
+}
@@ -1,10 +1,16 @@
 package com.gupiluan.to_do_backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,13 +21,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.gupiluan.to_do_backend.dto.CompletionLatencyResponse;
+import com.gupiluan.to_do_backend.dto.ThroughputBucketResponse;
 import com.gupiluan.to_do_backend.dto.ToDoCreateRequest;
+import com.gupiluan.to_do_backend.dto.ToDoImportResponse;
+import com.gupiluan.to_do_backend.dto.ToDoOperation;
+import com.gupiluan.to_do_backend.dto.ToDoOperationResult;
 import com.gupiluan.to_do_backend.dto.ToDoResponse;
 import com.gupiluan.to_do_backend.dto.ToDoUpdateRequest;
 import com.gupiluan.to_do_backend.model.ApiResponse;
 import com.gupiluan.to_do_backend.model.Pagination;
 import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDoExportFormat;
 import com.gupiluan.to_do_backend.service.ToDoService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +55,9 @@ import jakarta.validation.Valid;
 @Tag(name = "ToDo Management", description = "Operations for managing ToDo items")
 public class ToDoController {
 
+    /** Media type of newline-delimited JSON responses */
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ToDoService toDoService;
 
     /**
@@ -64,6 +80,9 @@ public class ToDoController {
      * @param priority       priority level filter
      * @param sortByPriority sort direction for priority ("asc" or "desc")
      * @param sortByDueDate  sort direction for due date ("asc" or "desc")
+     * @param cursor         opaque cursor from a previous response's nextCursor;
+     *                       when given, the page after it is returned and page is
+     *                       ignored
      * @return Paginated list of ToDo items matching the criteria
      */
     @GetMapping
@@ -79,10 +98,12 @@ public class ToDoController {
             @Parameter(description = "Text content filter") @RequestParam(required = false) String name,
             @Parameter(description = "Priority level filter") @RequestParam(required = false) Priority priority,
             @Parameter(description = "Sort direction for priority") @RequestParam(required = false) String sortByPriority,
-            @Parameter(description = "Sort direction for due date") @RequestParam(required = false) String sortByDueDate) {
+            @Parameter(description = "Sort direction for due date") @RequestParam(required = false) String sortByDueDate,
+            @Parameter(description = "Cursor from a previous page's nextCursor; replaces page") @RequestParam(required = false) String cursor) {
 
-        Pagination<List<ToDoResponse>> pagination = toDoService.getAllToDos(
-                page, size, name, complete, priority, sortByDueDate, sortByPriority);
+        Pagination<List<ToDoResponse>> pagination = cursor == null
+                ? toDoService.getAllToDos(page, size, name, complete, priority, sortByDueDate, sortByPriority)
+                : toDoService.getToDosAfter(cursor, size, name, complete, priority, sortByDueDate, sortByPriority);
 
         return new ResponseEntity<>(pagination, HttpStatus.OK);
     }
@@ -133,7 +154,7 @@ public class ToDoController {
      * Creates multiple ToDo items in batch.
      * 
      * @param requests list of creation requests
-     * @return ApiResponse containing creation statistics
+     * @return ApiResponse containing creation statistics and the rejected items
      */
     @PostMapping("/batch")
     @Operation(summary = "Create multiple ToDos", description = "Create multiple ToDo items in a single request")
@@ -141,15 +162,71 @@ public class ToDoController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Batch creation completed"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data")
     })
-    public ResponseEntity<ApiResponse<Map<String, Integer>>> createToDos(
+    public ResponseEntity<ApiResponse<ToDoImportResponse>> createToDos(
             @Parameter(description = "List of ToDo creation requests") @RequestBody @Valid List<ToDoCreateRequest> requests) {
 
-        Map<String, Integer> result = toDoService.createToDos(requests);
-        String message = result.get("failed") == 0 ? "All ToDos created successfully"
-                : String.format("Created %d ToDos, %d failed", result.get("successful"), result.get("failed"));
+        ToDoImportResponse result = toDoService.createToDos(requests);
+        String message = result.getFailed() == 0 ? "All ToDos created successfully"
+                : String.format("Created %d ToDos, %d failed", result.getSuccessful(), result.getFailed());
+
+        ApiResponse<ToDoImportResponse> response = ApiResponse.success(message, result);
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.PARTIAL_CONTENT;
+
+        return new ResponseEntity<>(response, status);
+    }
+
+    /**
+     * Imports ToDo items from newline-delimited JSON, one creation request
+     * per line. The body is streamed and saved in chunks, so payloads of any
+     * size use bounded memory; invalid lines are skipped and reported.
+     * 
+     * @param body the request body
+     * @return ApiResponse containing import statistics and failed lines
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/import", consumes = NDJSON)
+    @Operation(summary = "Import ToDos", description = "Create ToDo items from a newline-delimited JSON stream")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Import completed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "206", description = "Import completed with failed lines"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty import")
+    })
+    public ResponseEntity<ApiResponse<ToDoImportResponse>> importToDos(InputStream body) throws IOException {
+        ToDoImportResponse result = toDoService.importToDos(body);
+        String message = result.getFailed() == 0 ? "All ToDos imported successfully"
+                : String.format("Imported %d ToDos, %d failed", result.getSuccessful(), result.getFailed());
 
-        ApiResponse<Map<String, Integer>> response = ApiResponse.success(message, result);
-        HttpStatus status = result.get("failed") == 0 ? HttpStatus.CREATED : HttpStatus.PARTIAL_CONTENT;
+        ApiResponse<ToDoImportResponse> response = ApiResponse.success(message, result);
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.PARTIAL_CONTENT;
+
+        return new ResponseEntity<>(response, status);
+    }
+
+    /**
+     * Runs an ordered list of create, update, done, undone and delete
+     * operations as one atomic step, with one result per operation. A failed
+     * operation does not stop the ones after it.
+     * 
+     * @param operations the operations, in execution order
+     * @return ApiResponse containing the result of each operation
+     */
+    @PostMapping("/ops")
+    @Operation(summary = "Run multiple operations", description = "Run an ordered list of ToDo operations as one atomic step")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "All operations succeeded"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "206", description = "Some operations failed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Empty or too many operations")
+    })
+    public ResponseEntity<ApiResponse<List<ToDoOperationResult>>> executeOperations(
+            @RequestBody List<ToDoOperation> operations) {
+
+        List<ToDoOperationResult> results = toDoService.executeOperations(operations);
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        String message = failed == 0 ? "All operations succeeded"
+                : String.format("%d operations succeeded, %d failed", results.size() - failed, failed);
+
+        ApiResponse<List<ToDoOperationResult>> response = ApiResponse.success(message, results);
+        HttpStatus status = failed == 0 ? HttpStatus.OK : HttpStatus.PARTIAL_CONTENT;
 
         return new ResponseEntity<>(response, status);
     }
@@ -166,6 +243,7 @@ public class ToDoController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ToDo updated successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "ToDo not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "ToDo changed concurrently"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data")
     })
     public ResponseEntity<ApiResponse<Boolean>> updateToDo(
@@ -189,6 +267,7 @@ public class ToDoController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ToDo marked as done"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "ToDo not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "ToDo changed concurrently"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "ToDo already completed")
     })
     public ResponseEntity<ApiResponse<Boolean>> markDone(
@@ -211,6 +290,7 @@ public class ToDoController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ToDo marked as undone"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "ToDo not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "ToDo changed concurrently"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "ToDo not completed")
     })
     public ResponseEntity<ApiResponse<Boolean>> markUnDone(
@@ -243,6 +323,85 @@ public class ToDoController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Marks every pending ToDo item matching the filters as completed.
+     * 
+     * @param name          text content filter (case-insensitive partial match)
+     * @param priority      priority level filter
+     * @param createdBefore only items created before this time
+     * @return ApiResponse containing the number of affected items
+     */
+    @PostMapping("/done")
+    @Operation(summary = "Mark matching ToDos as done", description = "Mark every pending ToDo item matching the filters as completed")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ToDos marked as done")
+    })
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> markDoneMatching(
+            @Parameter(description = "Text content filter") @RequestParam(required = false) String name,
+            @Parameter(description = "Priority level filter") @RequestParam(required = false) Priority priority,
+            @Parameter(description = "Only items created before this time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore) {
+
+        int affected = toDoService.markDoneMatching(name, priority, createdBefore);
+        ApiResponse<Map<String, Integer>> response = ApiResponse.success(
+                String.format("Marked %d ToDos as done", affected), Map.of("affected", affected));
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Marks every completed ToDo item matching the filters as not completed.
+     * 
+     * @param name          text content filter (case-insensitive partial match)
+     * @param priority      priority level filter
+     * @param createdBefore only items created before this time
+     * @return ApiResponse containing the number of affected items
+     */
+    @PutMapping("/undone")
+    @Operation(summary = "Mark matching ToDos as undone", description = "Mark every completed ToDo item matching the filters as not completed")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ToDos marked as undone")
+    })
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> markUnDoneMatching(
+            @Parameter(description = "Text content filter") @RequestParam(required = false) String name,
+            @Parameter(description = "Priority level filter") @RequestParam(required = false) Priority priority,
+            @Parameter(description = "Only items created before this time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore) {
+
+        int affected = toDoService.markUnDoneMatching(name, priority, createdBefore);
+        ApiResponse<Map<String, Integer>> response = ApiResponse.success(
+                String.format("Marked %d ToDos as undone", affected), Map.of("affected", affected));
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Deletes every ToDo item matching the filters. At least one filter is
+     * required.
+     * 
+     * @param complete      completion status filter ("done" or "pending")
+     * @param name          text content filter (case-insensitive partial match)
+     * @param priority      priority level filter
+     * @param createdBefore only items created before this time
+     * @return ApiResponse containing the number of affected items
+     */
+    @DeleteMapping
+    @Operation(summary = "Delete matching ToDos", description = "Delete every ToDo item matching the filters")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ToDos deleted"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "No filter given")
+    })
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> deleteMatching(
+            @Parameter(description = "Completion status filter: done or pending") @RequestParam(required = false) String complete,
+            @Parameter(description = "Text content filter") @RequestParam(required = false) String name,
+            @Parameter(description = "Priority level filter") @RequestParam(required = false) Priority priority,
+            @Parameter(description = "Only items created before this time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore) {
+
+        int affected = toDoService.deleteMatching(name, complete, priority, createdBefore);
+        ApiResponse<Map<String, Integer>> response = ApiResponse.success(
+                String.format("Deleted %d ToDos", affected), Map.of("affected", affected));
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * Retrieves completion time statistics by priority.
      * 
@@ -262,20 +421,140 @@ public class ToDoController {
     }
 
     /**
-     * Retrieves overdue ToDo items.
+     * Retrieves completion time percentiles by priority.
      * 
-     * @return ApiResponse containing list of overdue ToDo items
+     * @return ApiResponse containing p50, p90, p99 and maximum completion times
+     *         in seconds for each priority level
      */
-    @GetMapping("/overdue")
-    @Operation(summary = "Get overdue ToDos", description = "Retrieve all overdue ToDo items")
+    @GetMapping("/stats/latency")
+    @Operation(summary = "Get completion time percentiles", description = "Get p50, p90, p99 and maximum completion times in seconds by priority level")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Overdue ToDos retrieved successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Percentiles retrieved successfully")
     })
-    public ResponseEntity<ApiResponse<List<ToDoResponse>>> getOverdueTodos() {
-        List<ToDoResponse> overdue = toDoService.getOverdueTodos();
-        String message = overdue.isEmpty() ? "No overdue ToDos found" : "Overdue ToDos retrieved successfully";
-        ApiResponse<List<ToDoResponse>> response = ApiResponse.success(message, overdue);
+    public ResponseEntity<ApiResponse<Map<Priority, CompletionLatencyResponse>>> getLatency() {
+        Map<Priority, CompletionLatencyResponse> latency = toDoService.getCompletionLatency();
+        ApiResponse<Map<Priority, CompletionLatencyResponse>> response = ApiResponse
+                .success("Percentiles retrieved successfully", latency);
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+
+    /**
+     * Retrieves ToDo creations, completions and deletions per time bucket.
+     * 
+     * @param window     ISO-8601 duration covered, at most 7 days (default: P1D)
+     * @param resolution ISO-8601 duration of each bucket, in whole minutes
+     *                   (default: PT1H)
+     * @return ApiResponse containing the buckets of the window, oldest first
+     */
+    @GetMapping("/stats/throughput")
+    @Operation(summary = "Get throughput", description = "Get ToDo creations, completions and deletions per time bucket over a recent window")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Throughput retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid window or resolution")
+    })
+    public ResponseEntity<ApiResponse<List<ThroughputBucketResponse>>> getThroughput(
+            @Parameter(description = "Window as an ISO-8601 duration, at most P7D") @RequestParam(required = false, defaultValue = "P1D") String window,
+            @Parameter(description = "Bucket size as an ISO-8601 duration, in whole minutes") @RequestParam(required = false, defaultValue = "PT1H") String resolution) {
+
+        List<ThroughputBucketResponse> buckets = toDoService.getThroughput(window, resolution);
+        ApiResponse<List<ThroughputBucketResponse>> response = ApiResponse
+                .success("Throughput retrieved successfully", buckets);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves overdue ToDo items with optional sorting and pagination.
+     * 
+     * @param page           page number (0-based, default: 0)
+     * @param size           items per page (default: 10, max: 100)
+     * @param sortByPriority sort direction for priority ("asc" or "desc")
+     * @param sortByDueDate  sort direction for due date ("asc" or "desc")
+     * @param cursor         opaque cursor from a previous response's nextCursor;
+     *                       when given, the page after it is returned and page is
+     *                       ignored
+     * @return Paginated list of overdue ToDo items
+     */
+    @GetMapping("/overdue")
+    @Operation(summary = "Get overdue ToDos", description = "Retrieve overdue ToDo items with sorting and pagination")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Overdue ToDos retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    public ResponseEntity<Pagination<List<ToDoResponse>>> getOverdueTodos(
+            @Parameter(description = "Page number (0-based)") @RequestParam(required = false, defaultValue = "0") int page,
+            @Parameter(description = "Items per page") @RequestParam(required = false, defaultValue = "10") int size,
+            @Parameter(description = "Sort direction for priority") @RequestParam(required = false) String sortByPriority,
+            @Parameter(description = "Sort direction for due date") @RequestParam(required = false) String sortByDueDate,
+            @Parameter(description = "Cursor from a previous page's nextCursor; replaces page") @RequestParam(required = false) String cursor) {
+
+        Pagination<List<ToDoResponse>> pagination = cursor == null
+                ? toDoService.getOverdueTodos(page, size, sortByDueDate, sortByPriority)
+                : toDoService.getOverdueTodosAfter(cursor, size, sortByDueDate, sortByPriority);
+        pagination.setMessage(pagination.getData().isEmpty() ? "No overdue ToDos found"
+                : "Overdue ToDos retrieved successfully");
+
+        return new ResponseEntity<>(pagination, HttpStatus.OK);
+    }
+
+    /**
+     * Streams every overdue ToDo item as newline-delimited JSON, one item per
+     * line. Items are written as they are read from the overdue index, a
+     * batch at a time, so the response uses bounded memory however many
+     * items are overdue.
+     * 
+     * @param sortByPriority sort direction for priority ("asc" or "desc")
+     * @param sortByDueDate  sort direction for due date ("asc" or "desc")
+     * @return the streamed response body
+     */
+    @GetMapping(value = "/overdue/stream", produces = NDJSON)
+    @Operation(summary = "Stream overdue ToDos", description = "Stream all overdue ToDo items as newline-delimited JSON")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Overdue ToDos streamed")
+    })
+    public ResponseEntity<StreamingResponseBody> streamOverdueTodos(
+            @Parameter(description = "Sort direction for priority") @RequestParam(required = false) String sortByPriority,
+            @Parameter(description = "Sort direction for due date") @RequestParam(required = false) String sortByDueDate) {
+
+        StreamingResponseBody body = out -> toDoService.streamOverdueTodos(sortByDueDate, sortByPriority, out);
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /**
+     * Exports every ToDo item matching the filters as newline-delimited JSON
+     * or CSV. Rows are written as they are read from the repository and
+     * flushed a fixed-size batch at a time, so exports of any size use
+     * constant memory.
+     * 
+     * @param format         export format (default: NDJSON)
+     * @param complete       completion status filter ("done" or "pending")
+     * @param name           text content filter (case-insensitive partial match)
+     * @param priority       priority level filter
+     * @param sortByPriority sort direction for priority ("asc" or "desc")
+     * @param sortByDueDate  sort direction for due date ("asc" or "desc")
+     * @return the streamed response body
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export ToDos", description = "Stream all ToDo items matching the filters as NDJSON or CSV")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ToDos exported")
+    })
+    public ResponseEntity<StreamingResponseBody> exportToDos(
+            @Parameter(description = "Export format") @RequestParam(required = false, defaultValue = "NDJSON") ToDoExportFormat format,
+            @Parameter(description = "Completion status filter") @RequestParam(required = false) String complete,
+            @Parameter(description = "Text content filter") @RequestParam(required = false) String name,
+            @Parameter(description = "Priority level filter") @RequestParam(required = false) Priority priority,
+            @Parameter(description = "Sort direction for priority") @RequestParam(required = false) String sortByPriority,
+            @Parameter(description = "Sort direction for due date") @RequestParam(required = false) String sortByDueDate) {
+
+        StreamingResponseBody body = out -> toDoService.exportToDos(name, complete, priority, sortByDueDate,
+                sortByPriority, format, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todos." + format.getExtension() + "\"")
+                .body(body);
+    }
 }
@@ -0,0 +1,42 @@
+package com.gupiluan.to_do_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for completion time percentiles of one priority.
+ * Times are in seconds, within about 3% of the exact values.
+ * 
+ * @author gupiluan
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionLatencyResponse {
+
+    /**
+     * Number of completed ToDo items.
+     */
+    private long count;
+
+    /**
+     * Median completion time.
+     */
+    private long p50;
+
+    /**
+     * 90th percentile completion time.
+     */
+    private long p90;
+
+    /**
+     * 99th percentile completion time.
+     */
+    private long p99;
+
+    /**
+     * Longest completion time.
+     */
+    private long max;
+}
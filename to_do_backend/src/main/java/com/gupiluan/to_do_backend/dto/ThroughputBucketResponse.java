@@ -0,0 +1,43 @@
+package com.gupiluan.to_do_backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for ToDo activity counts in one time bucket.
+ * 
+ * @author gupiluan
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThroughputBucketResponse {
+
+    /**
+     * Start of the bucket, inclusive.
+     */
+    private LocalDateTime start;
+
+    /**
+     * End of the bucket, exclusive.
+     */
+    private LocalDateTime end;
+
+    /**
+     * Number of ToDo items created.
+     */
+    private long created;
+
+    /**
+     * Number of ToDo items marked as done.
+     */
+    private long completed;
+
+    /**
+     * Number of ToDo items deleted.
+     */
+    private long deleted;
+}
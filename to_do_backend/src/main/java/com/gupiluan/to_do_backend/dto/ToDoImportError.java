@@ -0,0 +1,27 @@
+package com.gupiluan.to_do_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a line of a streamed import, or an item of a
+ * batch create, that failed.
+ * 
+ * @author gupiluan
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToDoImportError {
+
+    /**
+     * Line number in the import body, or position in the batch (1-based).
+     */
+    private long line;
+
+    /**
+     * Reason the line was rejected.
+     */
+    private String message;
+}
@@ -0,0 +1,39 @@
+package com.gupiluan.to_do_backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of a streamed ToDo import or a batch
+ * create.
+ * 
+ * @author gupiluan
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToDoImportResponse {
+
+    /**
+     * Number of ToDo items created.
+     */
+    private long successful;
+
+    /**
+     * Number of lines that could not be imported.
+     */
+    private long failed;
+
+    /**
+     * The first failed lines with their reasons, in line order.
+     */
+    private List<ToDoImportError> errors;
+
+    /**
+     * Whether more lines failed than are listed in errors.
+     */
+    private boolean errorsTruncated;
+}
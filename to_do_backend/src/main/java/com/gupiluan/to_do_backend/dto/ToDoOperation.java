@@ -0,0 +1,50 @@
+package com.gupiluan.to_do_backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+import com.gupiluan.to_do_backend.model.Priority;
+
+/**
+ * Data Transfer Object for one operation of a multi-operation request.
+ * Which fields are used depends on the type; each operation is validated
+ * when it runs, so one invalid operation does not reject the others.
+ * 
+ * @author gupiluan
+ */
+@Data
+public class ToDoOperation {
+
+    /**
+     * Kinds of operation, each mapped onto the matching single-item call.
+     */
+    public enum Type {
+        CREATE, UPDATE, DONE, UNDONE, DELETE
+    }
+
+    /**
+     * The kind of operation.
+     */
+    private Type type;
+
+    /**
+     * ID of the target ToDo item; required by every type except CREATE.
+     */
+    private Long id;
+
+    /**
+     * Text content, for CREATE and UPDATE.
+     */
+    private String text;
+
+    /**
+     * Optional due date, for CREATE and UPDATE.
+     */
+    private LocalDateTime dueDate;
+
+    /**
+     * Priority level, for CREATE and UPDATE.
+     */
+    private Priority priority;
+}
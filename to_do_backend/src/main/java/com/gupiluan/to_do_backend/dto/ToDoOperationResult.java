@@ -0,0 +1,38 @@
+package com.gupiluan.to_do_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of one operation of a
+ * multi-operation request.
+ * 
+ * @author gupiluan
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToDoOperationResult {
+
+    /**
+     * Position of the operation in the request (0-based).
+     */
+    private int index;
+
+    /**
+     * Whether the operation was applied.
+     */
+    private boolean success;
+
+    /**
+     * The ToDo item after the operation (before it, for DELETE); null if the
+     * operation failed.
+     */
+    private ToDoResponse toDo;
+
+    /**
+     * Reason the operation failed; null if it was applied.
+     */
+    private String error;
+}
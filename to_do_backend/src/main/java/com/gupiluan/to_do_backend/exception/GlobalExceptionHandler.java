@@ -56,6 +56,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles ToDo update conflicts.
+     * 
+     * @param ex the conflict exception
+     * @return ResponseEntity with conflict error
+     */
+    @ExceptionHandler(ToDoConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleToDoConflictException(ToDoConflictException ex) {
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles ToDo validation exceptions.
      * 
@@ -0,0 +1,19 @@
+package com.gupiluan.to_do_backend.exception;
+
+/**
+ * Exception thrown when a ToDo item keeps changing between the read and the
+ * write of an update, so the update could not be applied.
+ *
+ * @author gupiluan
+ */
+public class ToDoConflictException extends ToDoException {
+
+    /**
+     * Constructs a new ToDoConflictException for the specified ID.
+     *
+     * @param id the ID of the ToDo that was changed concurrently
+     */
+    public ToDoConflictException(Long id) {
+        super("ToDo with ID " + id + " was changed concurrently, retry the request");
+    }
+}
@@ -7,6 +7,9 @@ package com.gupiluan.to_do_backend.exception;
  */
 public class ToDoValidationException extends ToDoException {
 
+    /** Start of every validation error message */
+    public static final String PREFIX = "Validation error: ";
+
     /**
      * Constructs a new ToDoValidationException with the specified validation
      * message.
@@ -14,6 +17,6 @@ public class ToDoValidationException extends ToDoException {
      * @param message the validation error message
      */
     public ToDoValidationException(String message) {
-        super("Validation error: " + message);
+        super(PREFIX + message);
     }
 }
@@ -1,6 +1,7 @@
 package com.gupiluan.to_do_backend.mapper;
 
 import com.gupiluan.to_do_backend.dto.ToDoCreateRequest;
+import com.gupiluan.to_do_backend.dto.ToDoOperation;
 import com.gupiluan.to_do_backend.dto.ToDoResponse;
 import com.gupiluan.to_do_backend.dto.ToDoUpdateRequest;
 import com.gupiluan.to_do_backend.model.ToDo;
@@ -100,6 +101,34 @@ public final class ToDoMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Extracts the creation request carried by a CREATE operation.
+     * 
+     * @param operation the operation DTO
+     * @return creation request with the operation's data
+     */
+    public static ToDoCreateRequest toCreateRequest(ToDoOperation operation) {
+        ToDoCreateRequest request = new ToDoCreateRequest();
+        request.setText(operation.getText());
+        request.setDueDate(operation.getDueDate());
+        request.setPriority(operation.getPriority());
+        return request;
+    }
+
+    /**
+     * Extracts the update request carried by an UPDATE operation.
+     * 
+     * @param operation the operation DTO
+     * @return update request with the operation's data
+     */
+    public static ToDoUpdateRequest toUpdateRequest(ToDoOperation operation) {
+        ToDoUpdateRequest request = new ToDoUpdateRequest();
+        request.setText(operation.getText());
+        request.setDueDate(operation.getDueDate());
+        request.setPriority(operation.getPriority());
+        return request;
+    }
+
     /**
      * Updates an existing ToDo entity with data from an update request.
      * Preserves fields that shouldn't be modified during updates.
@@ -0,0 +1,153 @@
+package com.gupiluan.to_do_backend.model;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of completion times in seconds with log-scaled buckets.
+ * Values below 64 get exact buckets; above that every power of two is split
+ * into 32 buckets, so any recorded value is reported within about 3% of its
+ * true value. The bucket array has a fixed size covering every positive
+ * long, so memory does not grow with the number of recorded values.
+ *
+ * Values can be removed as well as recorded, and histograms of the same
+ * layout can be merged, e.g. to combine per-shard histograms.
+ *
+ * Not thread-safe; callers serialize access.
+ *
+ * @author gupiluan
+ */
+public final class CompletionHistogram {
+
+    /** Values below 2^SUB_BUCKET_BITS are counted exactly */
+    private static final int SUB_BUCKET_BITS = 6;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+    /** Exact buckets plus half a sub-bucket range for every larger power of two */
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+
+    private long totalCount;
+
+    /**
+     * Records a completion time. Negative values are recorded as 0.
+     *
+     * @param seconds completion time in seconds
+     */
+    public void record(long seconds) {
+        counts[bucketOf(seconds)]++;
+        totalCount++;
+    }
+
+    /**
+     * Removes a completion time recorded earlier.
+     *
+     * @param seconds completion time in seconds, as passed to record
+     */
+    public void remove(long seconds) {
+        counts[bucketOf(seconds)]--;
+        totalCount--;
+    }
+
+    /**
+     * Adds every value of another histogram to this one.
+     *
+     * @param other the histogram to merge
+     */
+    public void merge(CompletionHistogram other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+    }
+
+    /**
+     * @return a histogram holding the same values
+     */
+    public CompletionHistogram copy() {
+        CompletionHistogram copy = new CompletionHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Finds the value at the given percentile. The result is the highest
+     * value that falls in the same bucket as the exact percentile.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return value at the percentile in seconds, 0 if the histogram is empty
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return highestValueIn(bucket);
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * @return highest recorded value in seconds, within bucket precision, 0
+     *         if the histogram is empty
+     */
+    public long getMax() {
+        for (int bucket = BUCKETS - 1; bucket >= 0; bucket--) {
+            if (counts[bucket] > 0) {
+                return highestValueIn(bucket);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CompletionHistogram histogram && Arrays.equals(counts, histogram.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(0, value);
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + subBucket - HALF_SUB_BUCKETS;
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long subBucket = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
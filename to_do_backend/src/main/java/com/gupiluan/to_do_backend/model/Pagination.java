@@ -29,6 +29,7 @@ public class Pagination<T> {
     /**
      * Total number of items across all pages.
      * Useful for calculating total pages and navigation.
+     * Not computed for cursor pages (0).
      */
     private int total;
 
@@ -44,9 +45,16 @@ public class Pagination<T> {
 
     /**
      * Total number of pages available.
+     * Not computed for cursor pages (0).
      */
     private int totalPages;
 
+    /**
+     * Opaque cursor for fetching the page after this one.
+     * Null when there are no more items.
+     */
+    private String nextCursor;
+
     /**
      * Factory method for creating paginated responses.
      * 
@@ -71,4 +79,26 @@ public class Pagination<T> {
 
         return pagination;
     }
+
+    /**
+     * Factory method for creating cursor-based page responses.
+     * Totals are not computed, so fetching the next page costs the same
+     * regardless of how deep the client has scrolled.
+     * 
+     * @param <T>        the type of data
+     * @param data       the page data
+     * @param size       items per page
+     * @param empty      whether the page has no items
+     * @param nextCursor cursor for the next page, null if there is none
+     * @return Pagination wrapper with the cursor metadata
+     */
+    public static <T> Pagination<T> ofCursor(T data, int size, boolean empty, String nextCursor) {
+        Pagination<T> pagination = new Pagination<>();
+        pagination.setMessage(empty ? "No data found" : "Data retrieved successfully");
+        pagination.setData(data);
+        pagination.setSize(size);
+        pagination.setNextCursor(nextCursor);
+
+        return pagination;
+    }
 }
@@ -9,8 +9,11 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -26,7 +29,10 @@ import lombok.NoArgsConstructor;
  * @author gupiluan
  */
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_done_priority_due", columnList = "done_flag, priority, due_date"),
+        @Index(name = "idx_todos_due_date", columnList = "due_date, id")
+})
 @Data
 @NoArgsConstructor
 public class ToDo {
@@ -36,10 +42,12 @@ public class ToDo {
 
     /**
      * Unique identifier for the ToDo item.
-     * Auto-generated when persisted to database.
+     * Auto-generated when persisted to database. IDs come from a sequence
+     * in blocks, so inserts can be sent to the database as JDBC batches.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -86,6 +94,14 @@ public class ToDo {
     @Column(name = "creation_time", nullable = false, updatable = false)
     private LocalDateTime creationTime;
 
+    /**
+     * Revision of the stored item, used by repositories that update with
+     * compare-and-set: an update only applies if it carries the revision
+     * that is still stored. Not persisted.
+     */
+    @Transient
+    private long version;
+
     /**
      * Constructor for creating a new ToDo with basic information.
      * 
@@ -102,6 +118,25 @@ public class ToDo {
         this.creationTime = LocalDateTime.now();
     }
 
+    /**
+     * Creates a detached copy of this ToDo item.
+     * Used by repositories that must not share their stored instances.
+     * 
+     * @return new ToDo with the same field values
+     */
+    public ToDo copy() {
+        ToDo copy = new ToDo();
+        copy.setId(id);
+        copy.setText(text);
+        copy.setDueDate(dueDate);
+        copy.setDoneFlag(doneFlag);
+        copy.setDoneDate(doneDate);
+        copy.setPriority(priority);
+        copy.setCreationTime(creationTime);
+        copy.setVersion(version);
+        return copy;
+    }
+
     /**
      * Sets the creation time before persisting the entity.
      * Ensures all ToDo items have a creation timestamp.
@@ -0,0 +1,111 @@
+package com.gupiluan.to_do_backend.model;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Position in a sorted listing of ToDo items, used for keyset pagination.
+ * Holds the sort key of the last row a client has seen (due date, priority
+ * and ID), which covers every ordering offered by the API. Clients receive
+ * it as an opaque URL-safe string and pass it back to fetch the next page.
+ *
+ * @author gupiluan
+ */
+public final class ToDoCursor {
+
+    private static final byte VERSION = 1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final LocalDateTime dueDate;
+    private final Priority priority;
+    private final long id;
+
+    private ToDoCursor(LocalDateTime dueDate, Priority priority, long id) {
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.id = id;
+    }
+
+    /**
+     * Creates the cursor positioned at the given row.
+     *
+     * @param toDo the last row of a page
+     * @return cursor for the rows after it
+     */
+    public static ToDoCursor of(ToDo toDo) {
+        return new ToDoCursor(toDo.getDueDate(), toDo.getPriority(), toDo.getId());
+    }
+
+    /**
+     * @return due date of the row, null if it has none
+     */
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * @return priority of the row
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return ID of the row
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(2 + Long.BYTES + Integer.BYTES + 1 + Long.BYTES);
+        buffer.put(VERSION);
+        buffer.put((byte) (dueDate == null ? 0 : 1));
+        if (dueDate != null) {
+            buffer.putLong(dueDate.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(dueDate.getNano());
+        }
+        buffer.put(priority == null ? -1 : (byte) priority.ordinal());
+        buffer.putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+
+    /**
+     * Decodes a cursor produced by encode().
+     *
+     * @param encoded the encoded cursor
+     * @return the cursor
+     * @throws IllegalArgumentException if the string is not a valid cursor
+     */
+    public static ToDoCursor decode(String encoded) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(encoded));
+            if (buffer.get() != VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+            LocalDateTime dueDate = buffer.get() == 0 ? null
+                    : LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            byte ordinal = buffer.get();
+            Priority priority = ordinal == -1 ? null : PRIORITIES[ordinal];
+            long id = buffer.getLong();
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes in cursor");
+            }
+            return new ToDoCursor(dueDate, priority, id);
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.gupiluan.to_do_backend.model;
+
+/**
+ * Enumeration of the formats ToDo items can be exported in.
+ *
+ * @author gupiluan
+ */
+public enum ToDoExportFormat {
+    /** One JSON object per line, with the fields of a ToDoResponse */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** Comma-separated values with a header row */
+    CSV("text/csv", "csv");
+
+    /** Media type of the exported body */
+    private final String mediaType;
+
+    /** File extension of the exported body */
+    private final String extension;
+
+    ToDoExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
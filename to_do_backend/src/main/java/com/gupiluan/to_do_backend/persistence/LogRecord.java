@@ -0,0 +1,65 @@
+package com.gupiluan.to_do_backend.persistence;
+
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Change record read back from the write-ahead log.
+ * 
+ * @author gupiluan
+ */
+public final class LogRecord {
+
+    /**
+     * Kind of change a record describes.
+     */
+    public enum Type {
+        /** Full image of a saved or updated ToDo */
+        PUT,
+
+        /** Deletion of one ToDo by ID */
+        DELETE,
+
+        /** Deletion of every ToDo */
+        DELETE_ALL
+    }
+
+    private final long lsn;
+    private final Type type;
+    private final ToDo toDo;
+    private final long id;
+
+    LogRecord(long lsn, Type type, ToDo toDo, long id) {
+        this.lsn = lsn;
+        this.type = type;
+        this.toDo = toDo;
+        this.id = id;
+    }
+
+    /**
+     * @return log sequence number of the record
+     */
+    public long getLsn() {
+        return lsn;
+    }
+
+    /**
+     * @return kind of change
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the stored ToDo image for PUT records, null otherwise
+     */
+    public ToDo getToDo() {
+        return toDo;
+    }
+
+    /**
+     * @return the affected ID for PUT and DELETE records
+     */
+    public long getId() {
+        return id;
+    }
+}
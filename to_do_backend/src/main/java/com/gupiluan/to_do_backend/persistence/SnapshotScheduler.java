@@ -0,0 +1,89 @@
+package com.gupiluan.to_do_backend.persistence;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Takes snapshots in the background once the log has grown enough.
+ * Every interval it compares the log's last LSN with the one covered by the
+ * previous snapshot and runs the snapshot task when at least the configured
+ * number of records has been appended since.
+ *
+ * @author gupiluan
+ */
+@Slf4j
+public class SnapshotScheduler implements AutoCloseable {
+
+    private final WriteAheadLog writeAheadLog;
+    private final LongSupplier snapshotTask;
+    private final long minRecords;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler;
+
+    /** LSN covered by the last snapshot taken by this scheduler */
+    private volatile long snapshotLsn;
+
+    /**
+     * Creates the scheduler; the background task runs once start is called.
+     *
+     * @param writeAheadLog  the log whose growth triggers snapshots
+     * @param snapshotTask   takes a snapshot and returns the LSN it covers
+     * @param intervalMillis delay between checks
+     * @param minRecords     records appended since the last snapshot needed
+     *                       to take a new one
+     */
+    public SnapshotScheduler(WriteAheadLog writeAheadLog, LongSupplier snapshotTask, long intervalMillis,
+            long minRecords) {
+        this.writeAheadLog = writeAheadLog;
+        this.snapshotTask = snapshotTask;
+        this.minRecords = minRecords;
+        this.intervalMillis = intervalMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "todo-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the background task, checking every interval.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::snapshotIfDue, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes a snapshot if enough records were appended since the last one.
+     *
+     * @return true if a snapshot was taken
+     */
+    public boolean snapshotIfDue() {
+        if (writeAheadLog.lastLsn() - snapshotLsn < minRecords) {
+            return false;
+        }
+        try {
+            long start = System.nanoTime();
+            snapshotLsn = snapshotTask.getAsLong();
+            log.info("Snapshot up to LSN {} taken in {} ms", snapshotLsn,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the log still holds every change
+            log.error("Snapshot failed", e);
+            return false;
+        }
+    }
+
+    /**
+     * Stops the background task.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,369 @@
+package com.gupiluan.to_do_backend.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Stores full images of the ToDo state as compact binary snapshot files.
+ *
+ * A snapshot file starts with a fixed header [magic][version][LSN][next ID]
+ * [row count][chunk count], followed by chunks framed as
+ * [row count][byte length][CRC32C][ToDoCodec records]. The LSN is the last
+ * log record the snapshot is guaranteed to include, so recovery loads the
+ * snapshot and replays the log after it. Rows may also reflect later
+ * changes, which replaying those full-image records makes consistent again.
+ *
+ * Snapshots are written to a temporary file and renamed once forced, so a
+ * crash never leaves a partial snapshot behind. Loading maps each chunk
+ * separately and decodes the chunks in parallel.
+ *
+ * @author gupiluan
+ */
+public class SnapshotStore {
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final int MAGIC = 0x54444F53;
+    private static final int VERSION = 1;
+
+    /** Magic, version, LSN, next ID, row count and chunk count */
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 2 + Integer.BYTES * 2;
+
+    /** Row count, byte length and checksum preceding each chunk */
+    private static final int CHUNK_HEADER = Integer.BYTES * 3;
+
+    private final Path directory;
+
+    /** Serializes snapshot writers */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Opens the store in the given directory, creating it if needed.
+     * Temporary files left by an interrupted snapshot are removed.
+     *
+     * @param directory directory holding the snapshot files
+     */
+    public SnapshotStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            for (Path temporary : list(TEMPORARY_SUFFIX)) {
+                Files.delete(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open snapshot store in " + directory, e);
+        }
+    }
+
+    /**
+     * Starts writing a snapshot. Only one snapshot is written at a time; a
+     * second caller waits until the first writer is closed.
+     *
+     * @param lsn    last log record included in the snapshot
+     * @param nextId next ID the repository would assign
+     * @return writer receiving the rows, to be committed and closed
+     */
+    public Writer begin(long lsn, long nextId) {
+        writeLock.lock();
+        try {
+            return new Writer(lsn, nextId);
+        } catch (IOException e) {
+            writeLock.unlock();
+            throw new UncheckedIOException("Cannot create snapshot in " + directory, e);
+        }
+    }
+
+    /**
+     * Loads the latest snapshot.
+     *
+     * @return the snapshot, empty if none has been committed
+     * @throws IllegalStateException if the snapshot file is corrupt
+     */
+    public Optional<Snapshot> load() {
+        try {
+            List<Path> snapshots = list(SNAPSHOT_SUFFIX);
+            if (snapshots.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(read(snapshots.get(snapshots.size() - 1)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load snapshot from " + directory, e);
+        }
+    }
+
+    private Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalStateException("Not a ToDo snapshot: " + path);
+            }
+            long lsn = header.getLong();
+            long nextId = header.getLong();
+            int rowCount = header.getInt();
+            int chunkCount = header.getInt();
+
+            // Walk the chunk headers sequentially to find where each chunk starts
+            long[] offsets = new long[chunkCount];
+            ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER);
+            long offset = HEADER_SIZE;
+            for (int i = 0; i < chunkCount; i++) {
+                offsets[i] = offset;
+                chunkHeader.clear();
+                channel.read(chunkHeader, offset + Integer.BYTES);
+                offset += CHUNK_HEADER + chunkHeader.getInt(0);
+            }
+
+            List<ToDo[]> chunks = IntStream.range(0, chunkCount).parallel()
+                    .mapToObj(i -> readChunk(channel, path, offsets[i]))
+                    .toList();
+            if (chunks.stream().mapToInt(chunk -> chunk.length).sum() != rowCount) {
+                throw new IllegalStateException("Snapshot row count mismatch in " + path);
+            }
+            return new Snapshot(lsn, nextId, rowCount, chunks);
+        }
+    }
+
+    private static ToDo[] readChunk(FileChannel channel, Path path, long offset) {
+        try {
+            ByteBuffer header = ByteBuffer.allocate(CHUNK_HEADER);
+            channel.read(header, offset);
+            int rows = header.getInt(0);
+            int length = header.getInt(Integer.BYTES);
+            int checksum = header.getInt(Integer.BYTES * 2);
+
+            MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, offset + CHUNK_HEADER, length);
+            CRC32C crc = new CRC32C();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                throw new IllegalStateException("Corrupt snapshot chunk at offset " + offset + " in " + path);
+            }
+
+            ToDo[] toDos = new ToDo[rows];
+            for (int i = 0; i < rows; i++) {
+                toDos[i] = ToDoCodec.decode(body);
+            }
+            return toDos;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot " + path, e);
+        }
+    }
+
+    private List<Path> list(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> snapshots = new ArrayList<>(files
+                    .filter(p -> p.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                            && p.getFileName().toString().endsWith(suffix))
+                    .toList());
+            // Zero-padded LSNs sort lexicographically in log order
+            snapshots.sort(null);
+            return snapshots;
+        }
+    }
+
+    private Path pathFor(long lsn, String suffix) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, lsn, suffix));
+    }
+
+    /**
+     * Loaded snapshot: the rows grouped by chunk plus the recovery position.
+     */
+    public static final class Snapshot {
+
+        private final long lsn;
+        private final long nextId;
+        private final int size;
+        private final List<ToDo[]> chunks;
+
+        private Snapshot(long lsn, long nextId, int size, List<ToDo[]> chunks) {
+            this.lsn = lsn;
+            this.nextId = nextId;
+            this.size = size;
+            this.chunks = chunks;
+        }
+
+        /**
+         * @return last log record included in the snapshot
+         */
+        public long getLsn() {
+            return lsn;
+        }
+
+        /**
+         * @return next ID the repository would assign
+         */
+        public long getNextId() {
+            return nextId;
+        }
+
+        /**
+         * @return number of rows
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Visits every row in the order it was written.
+         *
+         * @param visitor receives each ToDo item
+         */
+        public void forEach(Consumer<ToDo> visitor) {
+            for (ToDo[] chunk : chunks) {
+                for (ToDo toDo : chunk) {
+                    visitor.accept(toDo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams rows into a new snapshot file. Rows are buffered in memory and
+     * written as one chunk on each flush, so callers can collect rows under a
+     * lock and do the I/O after releasing it.
+     */
+    public final class Writer implements AutoCloseable {
+
+        private final long lsn;
+        private final long nextId;
+        private final Path temporary;
+        private final FileChannel channel;
+
+        private ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        private int chunkRows;
+        private int rowCount;
+        private int chunkCount;
+        private long position = HEADER_SIZE;
+        private boolean committed;
+
+        private Writer(long lsn, long nextId) throws IOException {
+            this.lsn = lsn;
+            this.nextId = nextId;
+            this.temporary = pathFor(lsn, SNAPSHOT_SUFFIX + TEMPORARY_SUFFIX);
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        /**
+         * Adds a row to the current chunk.
+         *
+         * @param toDo the ToDo item, with an ID
+         */
+        public void add(ToDo toDo) {
+            byte[] encoded = ToDoCodec.encode(toDo);
+            if (chunk.remaining() < encoded.length) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(chunk.capacity() * 2, chunk.position() + encoded.length));
+                chunk.flip();
+                grown.put(chunk);
+                chunk = grown;
+            }
+            chunk.put(encoded);
+            chunkRows++;
+        }
+
+        /**
+         * Writes the buffered rows as one chunk.
+         */
+        public void flush() {
+            if (chunkRows == 0) {
+                return;
+            }
+            chunk.flip();
+            CRC32C crc = new CRC32C();
+            crc.update(chunk.duplicate());
+            ByteBuffer header = ByteBuffer.allocate(CHUNK_HEADER)
+                    .putInt(chunkRows)
+                    .putInt(chunk.remaining())
+                    .putInt((int) crc.getValue())
+                    .flip();
+            position += write(header, position);
+            position += write(chunk, position);
+
+            rowCount += chunkRows;
+            chunkCount++;
+            chunkRows = 0;
+            chunk.clear();
+        }
+
+        /**
+         * Flushes the last chunk, forces the file and publishes it as the
+         * latest snapshot, deleting the older ones.
+         *
+         * @return number of rows in the snapshot
+         */
+        public int commit() {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(lsn)
+                    .putLong(nextId)
+                    .putInt(rowCount)
+                    .putInt(chunkCount)
+                    .flip();
+            try {
+                write(header, 0);
+                channel.force(true);
+                channel.close();
+                Path target = pathFor(lsn, SNAPSHOT_SUFFIX);
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                committed = true;
+                for (Path older : list(SNAPSHOT_SUFFIX)) {
+                    if (!older.equals(target)) {
+                        Files.delete(older);
+                    }
+                }
+                return rowCount;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot commit snapshot " + temporary, e);
+            }
+        }
+
+        /**
+         * Releases the writer, discarding the file if it was not committed.
+         */
+        @Override
+        public void close() {
+            try {
+                channel.close();
+                if (!committed) {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close snapshot " + temporary, e);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private int write(ByteBuffer source, long at) {
+            try {
+                int written = 0;
+                while (source.hasRemaining()) {
+                    written += channel.write(source, at + written);
+                }
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write snapshot " + temporary, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.gupiluan.to_do_backend.persistence;
+
+/**
+ * Enumeration of the durability policies of the write-ahead log.
+ * Trades write latency against the amount of acknowledged data that can be
+ * lost on a crash.
+ * 
+ * @author gupiluan
+ */
+public enum SyncPolicy {
+    /** Every write waits until its record is forced to disk (group commit) */
+    ALWAYS,
+
+    /** A background task forces the log every configured interval */
+    INTERVAL,
+
+    /** The operating system decides when mapped pages reach disk */
+    OS
+}
@@ -0,0 +1,95 @@
+package com.gupiluan.to_do_backend.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Compact binary encoding of ToDo items for log records and snapshots.
+ * Layout: ID, a flags byte, the priority ordinal, each present date as epoch
+ * seconds plus nanos, then the UTF-8 text prefixed by its length.
+ * 
+ * @author gupiluan
+ */
+public final class ToDoCodec {
+
+    private static final int DONE = 1;
+    private static final int HAS_DUE_DATE = 1 << 1;
+    private static final int HAS_DONE_DATE = 1 << 2;
+    private static final int HAS_CREATION_TIME = 1 << 3;
+
+    /** Priority byte marking a missing priority */
+    private static final byte NO_PRIORITY = -1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private ToDoCodec() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Encodes a ToDo item.
+     * 
+     * @param toDo the ToDo item, with an ID
+     * @return the encoded bytes
+     */
+    public static byte[] encode(ToDo toDo) {
+        byte[] text = toDo.getText() == null ? new byte[0] : toDo.getText().getBytes(StandardCharsets.UTF_8);
+        int flags = (toDo.isDoneFlag() ? DONE : 0)
+                | (toDo.getDueDate() != null ? HAS_DUE_DATE : 0)
+                | (toDo.getDoneDate() != null ? HAS_DONE_DATE : 0)
+                | (toDo.getCreationTime() != null ? HAS_CREATION_TIME : 0);
+        int size = Long.BYTES + 2 + Integer.bitCount(flags & ~DONE) * (Long.BYTES + Integer.BYTES)
+                + Integer.BYTES + text.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(toDo.getId());
+        buffer.put((byte) flags);
+        buffer.put(toDo.getPriority() == null ? NO_PRIORITY : (byte) toDo.getPriority().ordinal());
+        putDate(buffer, toDo.getDueDate());
+        putDate(buffer, toDo.getDoneDate());
+        putDate(buffer, toDo.getCreationTime());
+        buffer.putInt(text.length);
+        buffer.put(text);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a ToDo item from the buffer's position, advancing it.
+     * 
+     * @param buffer buffer positioned at an encoded ToDo
+     * @return the decoded ToDo item
+     */
+    public static ToDo decode(ByteBuffer buffer) {
+        ToDo toDo = new ToDo();
+        toDo.setId(buffer.getLong());
+        int flags = buffer.get();
+        byte priority = buffer.get();
+        toDo.setDoneFlag((flags & DONE) != 0);
+        toDo.setPriority(priority == NO_PRIORITY ? null : PRIORITIES[priority]);
+        toDo.setDueDate((flags & HAS_DUE_DATE) != 0 ? getDate(buffer) : null);
+        toDo.setDoneDate((flags & HAS_DONE_DATE) != 0 ? getDate(buffer) : null);
+        toDo.setCreationTime((flags & HAS_CREATION_TIME) != 0 ? getDate(buffer) : null);
+
+        byte[] text = new byte[buffer.getInt()];
+        buffer.get(text);
+        toDo.setText(new String(text, StandardCharsets.UTF_8));
+        return toDo;
+    }
+
+    private static void putDate(ByteBuffer buffer, LocalDateTime date) {
+        if (date != null) {
+            buffer.putLong(date.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(date.getNano());
+        }
+    }
+
+    private static LocalDateTime getDate(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        return LocalDateTime.ofEpochSecond(seconds, buffer.getInt(), ZoneOffset.UTC);
+    }
+}
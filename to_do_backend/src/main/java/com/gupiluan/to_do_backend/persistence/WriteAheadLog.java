@@ -0,0 +1,444 @@
+package com.gupiluan.to_do_backend.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Append-only write-ahead log of ToDo changes stored in memory-mapped
+ * segment files.
+ *
+ * Each record is framed as [body length][CRC32C of body][type][LSN][payload],
+ * where the payload is a ToDo image (PUT), an ID (DELETE) or empty
+ * (DELETE_ALL). Segments are named after the first LSN they hold and are
+ * zero-filled, so a zero length or a checksum mismatch marks the end of the
+ * valid data, including a record torn by a crash.
+ *
+ * Appends only copy bytes into the mapping. Durability follows the
+ * configured SyncPolicy; with ALWAYS, concurrent writers waiting for their
+ * LSN share a single force of everything appended so far (group commit).
+ *
+ * @author gupiluan
+ */
+public class WriteAheadLog implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /** Length and checksum fields preceding each record body */
+    private static final int FRAME_HEADER = Integer.BYTES * 2;
+
+    /** Type and LSN fields at the start of each record body */
+    private static final int BODY_HEADER = 1 + Long.BYTES;
+
+    private static final LogRecord.Type[] TYPES = LogRecord.Type.values();
+
+    private final Path directory;
+    private final SyncPolicy syncPolicy;
+    private final int segmentSize;
+
+    /** Guards appends and segment rollover */
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    /** Serializes forces; waiters arriving during a force share the next one */
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private Segment active;
+
+    /** LSN assigned to the next appended record */
+    private long nextLsn;
+
+    /** Highest LSN known to be forced to disk */
+    private volatile long durableLsn;
+
+    /** Number of forces issued, exposed for monitoring */
+    private volatile long syncCount;
+
+    private final ScheduledExecutorService syncScheduler;
+
+    /**
+     * Opens the log in the given directory, creating it if needed.
+     * New records go to a fresh segment after the last valid existing record.
+     * With the INTERVAL policy the background force starts once the log is
+     * fully constructed.
+     *
+     * @param directory          directory holding the segment files
+     * @param syncPolicy         durability policy
+     * @param syncIntervalMillis force interval for the INTERVAL policy
+     * @param segmentSize        size of each segment file in bytes
+     * @return the opened log
+     */
+    public static WriteAheadLog open(Path directory, SyncPolicy syncPolicy, long syncIntervalMillis,
+            int segmentSize) {
+        WriteAheadLog log = new WriteAheadLog(directory, syncPolicy, segmentSize);
+        if (log.syncScheduler != null) {
+            log.syncScheduler.scheduleWithFixedDelay(log::sync, syncIntervalMillis, syncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        return log;
+    }
+
+    private WriteAheadLog(Path directory, SyncPolicy syncPolicy, int segmentSize) {
+        this.directory = directory;
+        this.syncPolicy = syncPolicy;
+        this.segmentSize = segmentSize;
+
+        try {
+            Files.createDirectories(directory);
+            nextLsn = findLastLsn() + 1;
+            durableLsn = nextLsn - 1;
+            active = openSegment(nextLsn);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log in " + directory, e);
+        }
+
+        if (syncPolicy == SyncPolicy.INTERVAL) {
+            syncScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "todo-wal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            syncScheduler = null;
+        }
+    }
+
+    /**
+     * Appends the full image of a saved or updated ToDo.
+     *
+     * @param toDo the stored ToDo item
+     * @return LSN of the record
+     */
+    public long appendPut(ToDo toDo) {
+        return append(LogRecord.Type.PUT, ToDoCodec.encode(toDo));
+    }
+
+    /**
+     * Appends the deletion of a ToDo.
+     *
+     * @param id the deleted ID
+     * @return LSN of the record
+     */
+    public long appendDelete(long id) {
+        return append(LogRecord.Type.DELETE, ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    /**
+     * Appends the deletion of every ToDo.
+     *
+     * @return LSN of the record
+     */
+    public long appendDeleteAll() {
+        return append(LogRecord.Type.DELETE_ALL, new byte[0]);
+    }
+
+    /**
+     * @return LSN of the last appended record, 0 if none
+     */
+    public long lastLsn() {
+        appendLock.lock();
+        try {
+            return nextLsn - 1;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * @return highest LSN known to be on disk
+     */
+    public long durableLsn() {
+        return durableLsn;
+    }
+
+    /**
+     * @return number of forces issued since the log was opened
+     */
+    public long syncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Waits until the record with the given LSN is durable according to the
+     * sync policy. Only the ALWAYS policy waits; the first waiter forces every
+     * record appended so far on behalf of all others.
+     *
+     * @param lsn LSN returned by an append
+     */
+    public void awaitDurable(long lsn) {
+        if (syncPolicy != SyncPolicy.ALWAYS || lsn <= durableLsn) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (lsn > durableLsn) {
+                sync();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Forces every appended record to disk.
+     */
+    public void sync() {
+        syncLock.lock();
+        try {
+            Segment segment;
+            int from;
+            int to;
+            long target;
+            appendLock.lock();
+            try {
+                segment = active;
+                from = segment.forcedPosition;
+                to = segment.buffer.position();
+                target = nextLsn - 1;
+            } finally {
+                appendLock.unlock();
+            }
+
+            if (target > durableLsn) {
+                // Appends continue into the mapping while this force runs
+                segment.buffer.force(from, to - from);
+                segment.forcedPosition = Math.max(segment.forcedPosition, to);
+                syncCount++;
+                durableLsn = target;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Visits the records with an LSN above the given one, in log order.
+     * Intended for recovery before any append.
+     *
+     * @param afterLsn records up to this LSN are skipped
+     * @param visitor  receives each record
+     */
+    public void replay(long afterLsn, Consumer<LogRecord> visitor) {
+        try {
+            List<Path> segments = listSegments();
+            for (int i = 0; i < segments.size(); i++) {
+                // Skip segments entirely covered by the starting point
+                if (i + 1 < segments.size() && firstLsn(segments.get(i + 1)) <= afterLsn + 1) {
+                    continue;
+                }
+                readSegment(segments.get(i), record -> {
+                    if (record.getLsn() > afterLsn) {
+                        visitor.accept(record);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay write-ahead log in " + directory, e);
+        }
+    }
+
+    /**
+     * Deletes the segments whose records all have an LSN up to the given one.
+     * The active segment is never deleted.
+     *
+     * @param lsn LSN covered elsewhere, typically by a snapshot
+     * @return number of deleted segments
+     */
+    public int truncateUpTo(long lsn) {
+        appendLock.lock();
+        try {
+            List<Path> segments = listSegments();
+            int deleted = 0;
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                Path segment = segments.get(i);
+                if (segment.equals(active.path) || firstLsn(segments.get(i + 1)) - 1 > lsn) {
+                    break;
+                }
+                Files.delete(segment);
+                deleted++;
+            }
+            return deleted;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot truncate write-ahead log in " + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Forces pending records and stops the background sync task.
+     */
+    @Override
+    public void close() {
+        if (syncScheduler != null) {
+            syncScheduler.shutdownNow();
+        }
+        if (syncPolicy != SyncPolicy.OS) {
+            sync();
+        }
+        appendLock.lock();
+        try {
+            active.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close write-ahead log segment " + active.path, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private long append(LogRecord.Type type, byte[] payload) {
+        int bodyLength = BODY_HEADER + payload.length;
+        int recordLength = FRAME_HEADER + bodyLength;
+        if (recordLength > segmentSize) {
+            throw new IllegalArgumentException("Log record of " + recordLength + " bytes exceeds the segment size");
+        }
+
+        appendLock.lock();
+        try {
+            if (active.buffer.remaining() < recordLength) {
+                rollOver();
+            }
+            long lsn = nextLsn++;
+            MappedByteBuffer buffer = active.buffer;
+            int start = buffer.position();
+
+            buffer.position(start + FRAME_HEADER);
+            buffer.put((byte) type.ordinal());
+            buffer.putLong(lsn);
+            buffer.put(payload);
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(start + FRAME_HEADER, bodyLength));
+            buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+            // Length goes last so a torn record never looks complete
+            buffer.putInt(start, bodyLength);
+            return lsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to write-ahead log in " + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Seals the active segment and maps a new one starting at the next LSN.
+     */
+    private void rollOver() throws IOException {
+        Segment sealed = active;
+        if (syncPolicy != SyncPolicy.OS) {
+            // Later syncs only force the new segment, so seal this one fully
+            sealed.buffer.force();
+        }
+        sealed.channel.close();
+        active = openSegment(nextLsn);
+    }
+
+    private Segment openSegment(long firstLsn) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        // A segment with this name can only hold data lost before its first record
+        Files.deleteIfExists(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        return new Segment(path, channel, buffer);
+    }
+
+    /**
+     * Finds the LSN of the last valid record, or the LSN preceding the last
+     * segment's first if it holds none.
+     */
+    private long findLastLsn() throws IOException {
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        Path last = segments.get(segments.size() - 1);
+        long[] lastLsn = { firstLsn(last) - 1 };
+        readSegment(last, record -> lastLsn[0] = record.getLsn());
+        return lastLsn[0];
+    }
+
+    private void readSegment(Path path, Consumer<LogRecord> visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C crc = new CRC32C();
+            while (buffer.remaining() >= FRAME_HEADER) {
+                int start = buffer.position();
+                int bodyLength = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (bodyLength < BODY_HEADER || bodyLength > buffer.remaining()) {
+                    return;
+                }
+                crc.reset();
+                crc.update(buffer.slice(start + FRAME_HEADER, bodyLength));
+                if ((int) crc.getValue() != checksum) {
+                    return;
+                }
+
+                LogRecord.Type type = TYPES[buffer.get()];
+                long lsn = buffer.getLong();
+                switch (type) {
+                    case PUT -> {
+                        ToDo toDo = ToDoCodec.decode(buffer);
+                        visitor.accept(new LogRecord(lsn, type, toDo, toDo.getId()));
+                    }
+                    case DELETE -> visitor.accept(new LogRecord(lsn, type, null, buffer.getLong()));
+                    case DELETE_ALL -> visitor.accept(new LogRecord(lsn, type, null, 0));
+                }
+                buffer.position(start + FRAME_HEADER + bodyLength);
+            }
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .toList());
+            // Zero-padded LSNs sort lexicographically in log order
+            segments.sort(null);
+            return segments;
+        }
+    }
+
+    private static long firstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Mapped segment file currently receiving appends.
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        /** End of the range already forced to disk */
+        private volatile int forcedPosition;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admission gate between single-item writes and atomic steps.
+ *
+ * Each writer announces itself on a counter stripe chosen by its thread, so
+ * concurrent writers touch different cache lines and never wait for each
+ * other. An atomic step raises a flag, waits for the stripes to drain and
+ * then runs alone; writers that see the flag wait until the step is over.
+ * The step's own thread passes the gate, so its nested writes run normally.
+ *
+ * @author gupiluan
+ */
+final class AtomicStepGate {
+
+    /** Longs per stripe, so each counter sits on its own 128-byte line */
+    private static final int STRIDE = 16;
+
+    /** Returned by enter to the thread running the atomic step */
+    private static final int INSIDE_STEP = -1;
+
+    /** In-flight writers per stripe, STRIDE slots apart */
+    private final AtomicLongArray writers;
+
+    private final int stripeMask;
+
+    /** Serializes atomic steps; writers only wait on it while one runs */
+    private final ReentrantLock stepLock = new ReentrantLock();
+
+    /** Thread running the current atomic step, null when there is none */
+    private volatile Thread stepOwner;
+
+    AtomicStepGate() {
+        int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1;
+        this.writers = new AtomicLongArray(stripes * STRIDE);
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Admits a single-item write, waiting while an atomic step runs.
+     *
+     * @return token to pass to exit
+     */
+    int enter() {
+        Thread current = Thread.currentThread();
+        if (stepOwner == current) {
+            return INSIDE_STEP;
+        }
+
+        int slot = stripeOf(current) * STRIDE;
+        while (true) {
+            writers.incrementAndGet(slot);
+            if (stepOwner == null) {
+                return slot;
+            }
+            // A step started; back out and wait for it to finish
+            writers.decrementAndGet(slot);
+            stepLock.lock();
+            stepLock.unlock();
+        }
+    }
+
+    /**
+     * Ends a write admitted by enter.
+     *
+     * @param token the value enter returned
+     */
+    void exit(int token) {
+        if (token != INSIDE_STEP) {
+            writers.decrementAndGet(token);
+        }
+    }
+
+    /**
+     * Runs an action with no single-item write in flight on other threads.
+     * Nested calls on the same thread run the action directly.
+     *
+     * @param <T>    the type of the result
+     * @param action the action to run
+     * @return the result of the action
+     */
+    <T> T runAlone(Supplier<T> action) {
+        Thread current = Thread.currentThread();
+        if (stepOwner == current) {
+            return action.get();
+        }
+
+        stepLock.lock();
+        try {
+            stepOwner = current;
+            // Wait for the writes admitted before the flag was raised
+            for (int slot = 0; slot < writers.length(); slot += STRIDE) {
+                while (writers.get(slot) != 0) {
+                    Thread.onSpinWait();
+                }
+            }
+            return action.get();
+        } finally {
+            stepOwner = null;
+            stepLock.unlock();
+        }
+    }
+
+    private int stripeOf(Thread thread) {
+        long id = thread.threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & stripeMask;
+    }
+}
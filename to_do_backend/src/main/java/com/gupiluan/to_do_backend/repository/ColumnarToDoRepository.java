@@ -0,0 +1,555 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+import com.gupiluan.to_do_backend.repository.ToDoPageSelector.SlotComparator;
+
+/**
+ * Columnar in-memory implementation of the ToDo repository.
+ * Enabled with todo.repository.type=columnar.
+ *
+ * Fields are stored as parallel primitive arrays (struct of arrays): IDs,
+ * dates as epoch seconds plus nanos, priority ordinals and completion flags,
+ * with text kept in a char arena referenced by offset and length. Rows are
+ * packed densely, deletions move the last row into the freed slot, so
+ * filters and sorts scan contiguous arrays. ToDo objects are only
+ * materialized for the rows actually returned.
+ *
+ * Returned ToDo items are detached: changes become visible only through
+ * save or update. Thread-safe using ReentrantReadWriteLock.
+ *
+ * @author gupiluan
+ */
+@Repository
+@ConditionalOnProperty(name = "todo.repository.type", havingValue = "columnar")
+public class ColumnarToDoRepository implements IToDoRepository {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /** Seconds column value marking a missing date */
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    /** Priority column value marking a missing priority */
+    private static final byte NO_PRIORITY = -1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /** Row index of each ToDo ID */
+    private final LongIntHashMap slotsById = new LongIntHashMap();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] dueSeconds = new long[INITIAL_CAPACITY];
+    private int[] dueNanos = new int[INITIAL_CAPACITY];
+    private long[] doneSeconds = new long[INITIAL_CAPACITY];
+    private int[] doneNanos = new int[INITIAL_CAPACITY];
+    private long[] createdSeconds = new long[INITIAL_CAPACITY];
+    private int[] createdNanos = new int[INITIAL_CAPACITY];
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    private boolean[] doneFlags = new boolean[INITIAL_CAPACITY];
+
+    /** Original text of each row */
+    private final ToDoTextArena texts = new ToDoTextArena();
+    private int[] textOffsets = new int[INITIAL_CAPACITY];
+    private int[] textLengths = new int[INITIAL_CAPACITY];
+
+    /** Lower-cased text of each row, used by the text filter */
+    private final ToDoTextArena foldedTexts = new ToDoTextArena();
+    private int[] foldedOffsets = new int[INITIAL_CAPACITY];
+    private int[] foldedLengths = new int[INITIAL_CAPACITY];
+
+    /** Number of rows in use */
+    private int rowCount;
+
+    /** Counter for generating unique IDs */
+    private long idCounter = 1L;
+
+    /** ReadWrite lock for thread-safe data access */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public Optional<ToDo> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = id == null ? LongIntHashMap.MISSING : slotsById.get(id);
+            return slot == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ToDo save(ToDo toDo) {
+        lock.writeLock().lock();
+        try {
+            if (toDo.getId() == null) {
+                toDo.setId(idCounter++);
+                if (toDo.getCreationTime() == null) {
+                    toDo.setCreationTime(LocalDateTime.now());
+                }
+            } else if (toDo.getId() >= idCounter) {
+                idCounter = toDo.getId() + 1;
+            }
+
+            int slot = slotsById.get(toDo.getId());
+            if (slot == LongIntHashMap.MISSING) {
+                slot = appendRow();
+                slotsById.put(toDo.getId(), slot);
+            } else {
+                releaseText(slot);
+            }
+            write(slot, toDo);
+            return toDo;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(ToDo toDo) {
+        lock.writeLock().lock();
+        try {
+            int slot = toDo.getId() == null ? LongIntHashMap.MISSING : slotsById.get(toDo.getId());
+            if (slot == LongIntHashMap.MISSING) {
+                return false;
+            }
+
+            // Preserve creation time during updates
+            LocalDateTime creationTime = readDate(createdSeconds, createdNanos, slot);
+            if (creationTime != null) {
+                toDo.setCreationTime(creationTime);
+            }
+
+            releaseText(slot);
+            write(slot, toDo);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> T executeAtomically(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ToDo deleteByIdAndReturn(Long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = id == null ? LongIntHashMap.MISSING : slotsById.remove(id);
+            if (slot == LongIntHashMap.MISSING) {
+                return null;
+            }
+            ToDo removed = materialize(slot);
+            releaseText(slot);
+
+            // Keep rows dense by moving the last row into the freed slot
+            int last = --rowCount;
+            if (slot != last) {
+                moveRow(last, slot);
+                slotsById.put(ids[slot], slot);
+            }
+            compactTextIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            rowCount = 0;
+            texts.clear();
+            foldedTexts.clear();
+            idCounter = 1L; // Reset the ID counter
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findAll() {
+        lock.readLock().lock();
+        try {
+            int[] slots = scan(slot -> true);
+            return materialize(ToDoPageSelector.selectSlots(slots, slots.length, 0, slots.length,
+                    this::compareIds));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<ToDo> findWithFilters(String text, Boolean doneFlag, Priority priority, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            int[] matches = scan(filter(text, doneFlag, priority));
+
+            int[] pageSlots = ToDoPageSelector.selectSlots(matches, matches.length,
+                    (int) pageable.getOffset(), pageable.getPageSize(), comparatorFor(pageable.getSort()));
+
+            return new PageImpl<>(materialize(pageSlots), pageable, matches.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the columns once for the matching rows that sort after the
+     * cursor, keeping the first of them in a bounded slot heap, so memory
+     * stays at the page size and only the page is materialized.
+     */
+    @Override
+    public List<ToDo> findWithFiltersAfter(String text, Boolean doneFlag, Priority priority, Sort sort,
+            ToDoCursor after, int size) {
+        lock.readLock().lock();
+        try {
+            IntPredicate filter = filter(text, doneFlag, priority);
+            if (after != null) {
+                filter = filter.and(ToDoPageSelector.slotsAfter(sort, cursorComparator(after)));
+            }
+            return materialize(ToDoPageSelector.firstSlots(rowCount, filter, size,
+                    comparatorFor(ToDoPageSelector.keysetSort(sort))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findCompletedByPriority(Priority priority) {
+        lock.readLock().lock();
+        try {
+            byte wanted = priority == null ? NO_PRIORITY : (byte) priority.ordinal();
+            return materialize(scan(slot -> doneFlags[slot] && priorities[slot] == wanted));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Duration getDurationBetween(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public List<ToDo> findByDoneFlag(boolean doneFlag) {
+        lock.readLock().lock();
+        try {
+            return materialize(scan(slot -> doneFlags[slot] == doneFlag));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findByPriority(Priority priority) {
+        lock.readLock().lock();
+        try {
+            byte wanted = priority == null ? NO_PRIORITY : (byte) priority.ordinal();
+            return materialize(scan(slot -> priorities[slot] == wanted));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findByDueDateBeforeAndDoneFlagFalse(LocalDateTime date) {
+        lock.readLock().lock();
+        try {
+            return materialize(scan(overdue(date)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the columns once for the overdue rows that sort after the
+     * cursor, keeping the first of them in a bounded slot heap, so memory
+     * stays at the page size and only the page is materialized.
+     */
+    @Override
+    public List<ToDo> findOverdueAfter(LocalDateTime date, Sort sort, ToDoCursor after, int size) {
+        lock.readLock().lock();
+        try {
+            IntPredicate filter = overdue(date);
+            if (after != null) {
+                filter = filter.and(ToDoPageSelector.slotsAfter(sort, cursorComparator(after)));
+            }
+            return materialize(ToDoPageSelector.firstSlots(rowCount, filter, size,
+                    comparatorFor(ToDoPageSelector.keysetSort(sort))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Helper method to collect the rows matching a predicate in row order.
+     *
+     * @param filter predicate over row slots
+     * @return matching slots
+     */
+    private int[] scan(IntPredicate filter) {
+        int[] matches = new int[Math.min(rowCount, 64)];
+        int count = 0;
+        for (int slot = 0; slot < rowCount; slot++) {
+            if (filter.test(slot)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, matches.length * 2);
+                }
+                matches[count++] = slot;
+            }
+        }
+        return count == matches.length ? matches : Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Helper method to build the predicate over row slots for open rows due
+     * before a date.
+     */
+    private IntPredicate overdue(LocalDateTime date) {
+        long seconds = date.toEpochSecond(ZoneOffset.UTC);
+        int nanos = date.getNano();
+        return slot -> !doneFlags[slot] && dueSeconds[slot] != NO_DATE
+                && (dueSeconds[slot] < seconds || dueSeconds[slot] == seconds && dueNanos[slot] < nanos);
+    }
+
+    /**
+     * Helper method to build the predicate over row slots for the optional
+     * filters.
+     */
+    private IntPredicate filter(String text, Boolean doneFlag, Priority priority) {
+        char[] needle = text == null ? null : text.toLowerCase(Locale.ROOT).toCharArray();
+        byte wanted = priority == null ? NO_PRIORITY : (byte) priority.ordinal();
+        return slot -> (doneFlag == null || doneFlags[slot] == doneFlag)
+                && (wanted == NO_PRIORITY || priorities[slot] == wanted)
+                && (needle == null || foldedTexts.contains(foldedOffsets[slot], foldedLengths[slot], needle));
+    }
+
+    /**
+     * Helper method to compare rows with a cursor on the fields it holds.
+     */
+    private ToDoPageSelector.CursorComparator cursorComparator(ToDoCursor cursor) {
+        long seconds = cursor.getDueDate() == null ? NO_DATE : cursor.getDueDate().toEpochSecond(ZoneOffset.UTC);
+        int nanos = cursor.getDueDate() == null ? 0 : cursor.getDueDate().getNano();
+        int rank = cursor.getPriority() == null ? 0 : cursor.getPriority().getRank();
+        return (slot, field) -> switch (field) {
+            case "id" -> Long.compare(ids[slot], cursor.getId());
+            case "dueDate" -> compareDates(dueSeconds[slot], dueNanos[slot], seconds, nanos);
+            case "priority" -> Integer.compare(rank(slot), rank);
+            default -> 0;
+        };
+    }
+
+    /**
+     * Helper method to compile a Sort into a comparator over row slots.
+     * Supports the same fields as the object-based paging engine; unknown
+     * fields are ignored.
+     *
+     * @param sort the sorting specification
+     * @return comparator applying every order in sequence, null if unsorted
+     */
+    private SlotComparator comparatorFor(Sort sort) {
+        SlotComparator chain = null;
+        for (Sort.Order order : sort) {
+            SlotComparator field = comparatorFor(order.getProperty());
+            if (field == null) {
+                continue;
+            }
+            if (order.isDescending()) {
+                field = field.reversed();
+            }
+            chain = chain == null ? field : chain.thenComparing(field);
+        }
+        return chain;
+    }
+
+    /**
+     * Helper method to build the ascending comparator for a single field.
+     */
+    private SlotComparator comparatorFor(String field) {
+        switch (field) {
+            case "id":
+                return this::compareIds;
+            case "text":
+                return (a, b) -> texts.compare(textOffsets[a], textLengths[a], textOffsets[b], textLengths[b]);
+            case "dueDate":
+                // Items without due date sort after dated ones when ascending
+                return (a, b) -> compareDates(dueSeconds, dueNanos, a, b);
+            case "priority":
+                return (a, b) -> Integer.compare(rank(a), rank(b));
+            case "creationTime":
+                return (a, b) -> compareDates(createdSeconds, createdNanos, a, b);
+            case "doneFlag":
+                return (a, b) -> Boolean.compare(doneFlags[a], doneFlags[b]);
+            default:
+                return null;
+        }
+    }
+
+    private int compareIds(int a, int b) {
+        return Long.compare(ids[a], ids[b]);
+    }
+
+    private int rank(int slot) {
+        return priorities[slot] == NO_PRIORITY ? 0 : PRIORITIES[priorities[slot]].getRank();
+    }
+
+    /**
+     * Helper method to compare two date cells, missing dates last.
+     */
+    private static int compareDates(long[] seconds, int[] nanos, int a, int b) {
+        return compareDates(seconds[a], nanos[a], seconds[b], nanos[b]);
+    }
+
+    private static int compareDates(long secondsA, int nanosA, long secondsB, int nanosB) {
+        boolean missingA = secondsA == NO_DATE;
+        boolean missingB = secondsB == NO_DATE;
+        if (missingA || missingB) {
+            return Boolean.compare(missingA, missingB);
+        }
+        int result = Long.compare(secondsA, secondsB);
+        return result != 0 ? result : Integer.compare(nanosA, nanosB);
+    }
+
+    /**
+     * Helper method to build ToDo objects for the given slots.
+     */
+    private List<ToDo> materialize(int[] slots) {
+        List<ToDo> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(materialize(slot));
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to build a ToDo object from a row.
+     */
+    private ToDo materialize(int slot) {
+        ToDo toDo = new ToDo();
+        toDo.setId(ids[slot]);
+        toDo.setText(texts.read(textOffsets[slot], textLengths[slot]));
+        toDo.setDueDate(readDate(dueSeconds, dueNanos, slot));
+        toDo.setDoneFlag(doneFlags[slot]);
+        toDo.setDoneDate(readDate(doneSeconds, doneNanos, slot));
+        toDo.setPriority(priorities[slot] == NO_PRIORITY ? null : PRIORITIES[priorities[slot]]);
+        toDo.setCreationTime(readDate(createdSeconds, createdNanos, slot));
+        return toDo;
+    }
+
+    private static LocalDateTime readDate(long[] seconds, int[] nanos, int slot) {
+        return seconds[slot] == NO_DATE ? null
+                : LocalDateTime.ofEpochSecond(seconds[slot], nanos[slot], ZoneOffset.UTC);
+    }
+
+    /**
+     * Helper method to write every field of a ToDo into a row.
+     */
+    private void write(int slot, ToDo toDo) {
+        ids[slot] = toDo.getId();
+        writeDate(dueSeconds, dueNanos, slot, toDo.getDueDate());
+        writeDate(doneSeconds, doneNanos, slot, toDo.getDoneDate());
+        writeDate(createdSeconds, createdNanos, slot, toDo.getCreationTime());
+        priorities[slot] = toDo.getPriority() == null ? NO_PRIORITY : (byte) toDo.getPriority().ordinal();
+        doneFlags[slot] = toDo.isDoneFlag();
+
+        String text = toDo.getText();
+        String folded = text == null ? null : text.toLowerCase(Locale.ROOT);
+        textOffsets[slot] = texts.append(text);
+        textLengths[slot] = ToDoTextArena.lengthOf(text);
+        foldedOffsets[slot] = foldedTexts.append(folded);
+        foldedLengths[slot] = ToDoTextArena.lengthOf(folded);
+        compactTextIfNeeded();
+    }
+
+    private static void writeDate(long[] seconds, int[] nanos, int slot, LocalDateTime date) {
+        seconds[slot] = date == null ? NO_DATE : date.toEpochSecond(ZoneOffset.UTC);
+        nanos[slot] = date == null ? 0 : date.getNano();
+    }
+
+    /**
+     * Helper method to copy a row into another slot.
+     */
+    private void moveRow(int from, int to) {
+        ids[to] = ids[from];
+        dueSeconds[to] = dueSeconds[from];
+        dueNanos[to] = dueNanos[from];
+        doneSeconds[to] = doneSeconds[from];
+        doneNanos[to] = doneNanos[from];
+        createdSeconds[to] = createdSeconds[from];
+        createdNanos[to] = createdNanos[from];
+        priorities[to] = priorities[from];
+        doneFlags[to] = doneFlags[from];
+        textOffsets[to] = textOffsets[from];
+        textLengths[to] = textLengths[from];
+        foldedOffsets[to] = foldedOffsets[from];
+        foldedLengths[to] = foldedLengths[from];
+    }
+
+    private void releaseText(int slot) {
+        texts.release(textLengths[slot]);
+        foldedTexts.release(foldedLengths[slot]);
+    }
+
+    private void compactTextIfNeeded() {
+        if (texts.needsCompaction()) {
+            texts.compact(textOffsets, textLengths, rowCount);
+        }
+        if (foldedTexts.needsCompaction()) {
+            foldedTexts.compact(foldedOffsets, foldedLengths, rowCount);
+        }
+    }
+
+    /**
+     * Helper method to add an empty row, growing every column when full.
+     *
+     * @return slot of the new row
+     */
+    private int appendRow() {
+        if (rowCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            dueSeconds = Arrays.copyOf(dueSeconds, capacity);
+            dueNanos = Arrays.copyOf(dueNanos, capacity);
+            doneSeconds = Arrays.copyOf(doneSeconds, capacity);
+            doneNanos = Arrays.copyOf(doneNanos, capacity);
+            createdSeconds = Arrays.copyOf(createdSeconds, capacity);
+            createdNanos = Arrays.copyOf(createdNanos, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            doneFlags = Arrays.copyOf(doneFlags, capacity);
+            textOffsets = Arrays.copyOf(textOffsets, capacity);
+            textLengths = Arrays.copyOf(textLengths, capacity);
+            foldedOffsets = Arrays.copyOf(foldedOffsets, capacity);
+            foldedLengths = Arrays.copyOf(foldedLengths, capacity);
+        }
+        return rowCount++;
+    }
+}
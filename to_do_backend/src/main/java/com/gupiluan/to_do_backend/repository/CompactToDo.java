@@ -0,0 +1,147 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Compact stored form of a ToDo item.
+ * Dates are kept as epoch seconds plus nanos (of the UTC wall clock, so any
+ * LocalDateTime round-trips exactly), the text as Latin-1 bytes when every
+ * character fits and UTF-8 otherwise, and the priority as its ordinal. A
+ * row is one object and one byte array instead of a ToDo with its boxed ID,
+ * String and three LocalDateTime graphs.
+ *
+ * Rows are immutable; ToDo objects are materialized from them only for the
+ * items actually returned.
+ *
+ * @author gupiluan
+ */
+final class CompactToDo {
+
+    /** Seconds value marking a missing date */
+    static final long NO_DATE = Long.MIN_VALUE;
+
+    /** Priority value marking a missing priority */
+    private static final byte NO_PRIORITY = -1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final long id;
+    private final long dueSeconds;
+    private final long doneSeconds;
+    private final long createdSeconds;
+    private final int dueNanos;
+    private final int doneNanos;
+    private final int createdNanos;
+
+    /** Encoded text, null for a missing text */
+    private final byte[] text;
+
+    /** Whether text is Latin-1 rather than UTF-8 */
+    private final boolean latin1;
+
+    private final byte priority;
+    private final boolean doneFlag;
+
+    private CompactToDo(ToDo toDo) {
+        this.id = toDo.getId();
+        this.dueSeconds = seconds(toDo.getDueDate());
+        this.dueNanos = nanos(toDo.getDueDate());
+        this.doneSeconds = seconds(toDo.getDoneDate());
+        this.doneNanos = nanos(toDo.getDoneDate());
+        this.createdSeconds = seconds(toDo.getCreationTime());
+        this.createdNanos = nanos(toDo.getCreationTime());
+        this.latin1 = toDo.getText() == null || isLatin1(toDo.getText());
+        this.text = toDo.getText() == null ? null : toDo.getText().getBytes(charset(latin1));
+        this.priority = toDo.getPriority() == null ? NO_PRIORITY : (byte) toDo.getPriority().ordinal();
+        this.doneFlag = toDo.isDoneFlag();
+    }
+
+    /**
+     * Encodes a ToDo item with an ID.
+     *
+     * @param toDo the ToDo item
+     * @return its compact form
+     */
+    static CompactToDo of(ToDo toDo) {
+        return new CompactToDo(toDo);
+    }
+
+    /**
+     * @return the ToDo ID
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * @return the creation time, null if missing
+     */
+    LocalDateTime getCreationTime() {
+        return toDateTime(createdSeconds, createdNanos);
+    }
+
+    /**
+     * Materializes a new ToDo item with the stored values.
+     *
+     * @return the ToDo item
+     */
+    ToDo toToDo() {
+        ToDo toDo = new ToDo();
+        toDo.setId(id);
+        toDo.setText(text == null ? null : new String(text, charset(latin1)));
+        toDo.setDueDate(toDateTime(dueSeconds, dueNanos));
+        toDo.setDoneFlag(doneFlag);
+        toDo.setDoneDate(toDateTime(doneSeconds, doneNanos));
+        toDo.setPriority(priority == NO_PRIORITY ? null : PRIORITIES[priority]);
+        toDo.setCreationTime(toDateTime(createdSeconds, createdNanos));
+        return toDo;
+    }
+
+    /**
+     * Encodes the seconds part of a date.
+     *
+     * @param dateTime the date, or null
+     * @return epoch seconds of the UTC wall clock, NO_DATE if null
+     */
+    static long seconds(LocalDateTime dateTime) {
+        return dateTime == null ? NO_DATE : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Encodes the nanos part of a date.
+     *
+     * @param dateTime the date, or null
+     * @return nano of second, 0 if null
+     */
+    static int nanos(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.getNano();
+    }
+
+    /**
+     * Decodes a date encoded by seconds() and nanos().
+     *
+     * @return the date, null for NO_DATE
+     */
+    static LocalDateTime toDateTime(long seconds, int nanos) {
+        return seconds == NO_DATE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Charset charset(boolean latin1) {
+        return latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+    }
+}
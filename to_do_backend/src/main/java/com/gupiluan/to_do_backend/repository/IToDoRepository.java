@@ -2,14 +2,26 @@ package com.gupiluan.to_do_backend.repository;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import com.gupiluan.to_do_backend.model.CompletionHistogram;
 import com.gupiluan.to_do_backend.model.Priority;
 import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
 
 /**
  * Repository interface for ToDo entities.
@@ -43,6 +55,18 @@ public interface IToDoRepository {
      */
     ToDo save(ToDo toDo);
 
+    /**
+     * Saves a batch of ToDo items as one atomic step.
+     * Implementations that can reserve IDs and insert under a single lock
+     * override this; the default saves the items one by one.
+     * 
+     * @param toDos the ToDo items to save
+     * @return the saved ToDo items, in the order given
+     */
+    default List<ToDo> saveAll(Collection<ToDo> toDos) {
+        return executeAtomically(() -> toDos.stream().map(this::save).toList());
+    }
+
     /**
      * Updates an existing ToDo item.
      * 
@@ -76,6 +100,34 @@ public interface IToDoRepository {
      */
     Page<ToDo> findWithFilters(String text, Boolean doneFlag, Priority priority, Pageable pageable);
 
+    /**
+     * Finds the ToDo items matching the specified criteria that sort after a
+     * cursor (keyset pagination). The sort is completed with ascending ID if
+     * it does not contain it, so positions are unique.
+     * 
+     * This default filters and selects over findAll(). Implementations
+     * override it to skip to the cursor in their own storage: through sorted
+     * views or SQL where they have them, otherwise with one scan that only
+     * materializes the returned rows.
+     * 
+     * @param text     optional text filter (case-insensitive partial match)
+     * @param doneFlag optional completion status filter
+     * @param priority optional priority filter
+     * @param sort     ordering on due date, priority and ID
+     * @param after    position of the last row already returned, null for
+     *                 the first page
+     * @param size     maximum number of items to return
+     * @return the matching items after the cursor, in order
+     */
+    default List<ToDo> findWithFiltersAfter(String text, Boolean doneFlag, Priority priority, Sort sort,
+            ToDoCursor after, int size) {
+        String folded = text == null ? null : text.toLowerCase(Locale.ROOT);
+        Iterator<ToDo> matches = findAll().stream()
+                .filter(t -> matchesFilters(t, folded, doneFlag, priority))
+                .iterator();
+        return ToDoPageSelector.selectAfter(matches, after, size, ToDoPageSelector.keysetComparatorFor(sort));
+    }
+
     /**
      * Finds all completed ToDo items with specified priority for statistics.
      * 
@@ -94,6 +146,51 @@ public interface IToDoRepository {
      */
     Duration getDurationBetween(LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Calculates the average completion time of completed ToDo items for
+     * each priority. Items missing a creation or completion time count
+     * towards the average with zero minutes.
+     * 
+     * Implementations backed by a database override this with an aggregate
+     * query instead of loading the completed items.
+     * 
+     * @return Map of every priority level to its average completion time in
+     *         minutes, 0 when none are completed
+     */
+    default Map<Priority, Integer> averageCompletionMinutes() {
+        Map<Priority, Integer> averages = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            List<ToDo> completed = findCompletedByPriority(priority);
+            long totalMinutes = completed.stream()
+                    .filter(toDo -> toDo.getCreationTime() != null && toDo.getDoneDate() != null)
+                    .mapToLong(toDo -> getDurationBetween(toDo.getCreationTime(), toDo.getDoneDate()).toMinutes())
+                    .sum();
+            averages.put(priority, completed.isEmpty() ? 0 : (int) (totalMinutes / completed.size()));
+        }
+        return averages;
+    }
+
+    /**
+     * Builds histograms of completion times of completed ToDo items for each
+     * priority. Items missing a creation or completion time are recorded
+     * with zero seconds, as in averageCompletionMinutes.
+     * 
+     * @return Map of every priority level to a histogram of completion times
+     *         in seconds, owned by the caller
+     */
+    default Map<Priority, CompletionHistogram> completionHistograms() {
+        Map<Priority, CompletionHistogram> histograms = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            CompletionHistogram histogram = new CompletionHistogram();
+            for (ToDo toDo : findCompletedByPriority(priority)) {
+                histogram.record(toDo.getCreationTime() == null || toDo.getDoneDate() == null ? 0
+                        : getDurationBetween(toDo.getCreationTime(), toDo.getDoneDate()).getSeconds());
+            }
+            histograms.put(priority, histogram);
+        }
+        return histograms;
+    }
+
     /**
      * Finds ToDo items by completion status.
      * 
@@ -117,4 +214,125 @@ public interface IToDoRepository {
      * @return List of overdue ToDo items
      */
     List<ToDo> findByDueDateBeforeAndDoneFlagFalse(LocalDateTime date);
+
+    /**
+     * Finds a page of the open ToDo items with due dates before the specified
+     * date.
+     * 
+     * This default selects over findByDueDateBeforeAndDoneFlagFalse();
+     * implementations with ordered indexes override it.
+     * 
+     * @param date     the cutoff date
+     * @param pageable pagination and sorting parameters
+     * @return Page of overdue ToDo items
+     */
+    default Page<ToDo> findOverdue(LocalDateTime date, Pageable pageable) {
+        List<ToDo> overdue = findByDueDateBeforeAndDoneFlagFalse(date);
+        List<ToDo> pageContent = ToDoPageSelector.select(overdue.iterator(), overdue.size(),
+                (int) pageable.getOffset(), pageable.getPageSize(),
+                ToDoPageSelector.comparatorFor(pageable.getSort()));
+        return new PageImpl<>(pageContent, pageable, overdue.size());
+    }
+
+    /**
+     * Finds the open ToDo items with due dates before the specified date that
+     * sort after a cursor (keyset pagination). The sort is completed with
+     * ascending ID if it does not contain it, so positions are unique.
+     * 
+     * This default selects over findByDueDateBeforeAndDoneFlagFalse(), which
+     * holds every overdue item at once. Implementations override it to scan
+     * their own storage into a heap bounded by size, so streaming every
+     * overdue item in batches needs memory for one batch only.
+     * 
+     * @param date  the cutoff date
+     * @param sort  ordering on due date, priority and ID
+     * @param after position of the last row already returned, null for the
+     *              first page
+     * @param size  maximum number of items to return
+     * @return the overdue items after the cursor, in order
+     */
+    default List<ToDo> findOverdueAfter(LocalDateTime date, Sort sort, ToDoCursor after, int size) {
+        return ToDoPageSelector.selectAfter(findByDueDateBeforeAndDoneFlagFalse(date).iterator(), after, size,
+                ToDoPageSelector.keysetComparatorFor(sort));
+    }
+
+    /**
+     * Changes every ToDo item matching the filters as one atomic step.
+     * The default filters findAll() in a single pass and updates the matches
+     * one by one; implementations that can select and change their rows in
+     * place, or in the database, override it.
+     * 
+     * @param text          optional text filter (case-insensitive partial match)
+     * @param doneFlag      optional completion status filter
+     * @param priority      optional priority filter
+     * @param createdBefore optional bound, only items created before it match
+     * @param change        applied to each matching item before it is stored
+     * @return the changed items
+     */
+    default List<ToDo> updateMatching(String text, Boolean doneFlag, Priority priority, LocalDateTime createdBefore,
+            Consumer<ToDo> change) {
+        return executeAtomically(() -> {
+            List<ToDo> matches = findAllMatching(text, doneFlag, priority, createdBefore);
+            for (ToDo toDo : matches) {
+                change.accept(toDo);
+                update(toDo);
+            }
+            return matches;
+        });
+    }
+
+    /**
+     * Deletes every ToDo item matching the filters as one atomic step.
+     * 
+     * @param text          optional text filter (case-insensitive partial match)
+     * @param doneFlag      optional completion status filter
+     * @param priority      optional priority filter
+     * @param createdBefore optional bound, only items created before it match
+     * @return the deleted items
+     */
+    default List<ToDo> deleteMatching(String text, Boolean doneFlag, Priority priority, LocalDateTime createdBefore) {
+        return executeAtomically(() -> findAllMatching(text, doneFlag, priority, createdBefore).stream()
+                .map(toDo -> deleteByIdAndReturn(toDo.getId()))
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Runs a group of repository calls as one atomic step with respect to
+     * other writers. Implementations without a writer lock run the action
+     * directly and rely on the caller to serialize writes.
+     * 
+     * @param <T>    the type of the result
+     * @param action the repository calls to run
+     * @return the result of the action
+     */
+    default <T> T executeAtomically(Supplier<T> action) {
+        return action.get();
+    }
+
+    /**
+     * Helper method to read every ToDo item matching the filters, in ID
+     * order, with one scan of findAll().
+     */
+    private List<ToDo> findAllMatching(String text, Boolean doneFlag, Priority priority,
+            LocalDateTime createdBefore) {
+        String folded = text == null ? null : text.toLowerCase(Locale.ROOT);
+        return findAll().stream()
+                .filter(t -> matchesFilters(t, folded, doneFlag, priority))
+                .filter(t -> createdBefore == null
+                        || (t.getCreationTime() != null && t.getCreationTime().isBefore(createdBefore)))
+                .toList();
+    }
+
+    /**
+     * Helper method to apply the optional filters to one item.
+     *
+     * @param folded lower-cased text filter, null for none
+     */
+    private static boolean matchesFilters(ToDo toDo, String folded, Boolean doneFlag, Priority priority) {
+        return (doneFlag == null || toDo.isDoneFlag() == doneFlag)
+                && (priority == null || toDo.getPriority() == priority)
+                && (folded == null
+                        || (toDo.getText() != null && toDo.getText().toLowerCase(Locale.ROOT).contains(folded)));
+    }
 }
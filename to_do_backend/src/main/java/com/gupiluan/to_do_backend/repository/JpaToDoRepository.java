@@ -0,0 +1,505 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Database-backed implementation of the ToDo repository using JPA.
+ * Filters, sorting and statistics are pushed down into SQL so the database
+ * can answer them from the composite index on (done_flag, priority,
+ * due_date).
+ *
+ * Cursor requests are read with keyset (seek) pagination: the query
+ * continues after the cursor's sort key instead of skipping rows. Page/size
+ * requests keep plain OFFSET pagination for compatibility, so their cost
+ * grows with the page number; clients paging deeply should use cursors.
+ *
+ * IDs come from a sequence, so saves within one transaction are flushed as
+ * JDBC batches (see hibernate.jdbc.batch_size in the jpa profile).
+ *
+ * Active with the jpa profile.
+ *
+ * @author gupiluan
+ */
+@Repository
+@Profile("jpa")
+@Transactional
+public class JpaToDoRepository implements IToDoRepository {
+
+    /** Priority rank expression, so priority sorts by rank rather than name */
+    private static final String PRIORITY_RANK = "case t.priority"
+            + " when com.gupiluan.to_do_backend.model.Priority.HIGH then 3"
+            + " when com.gupiluan.to_do_backend.model.Priority.MEDIUM then 2"
+            + " else 1 end";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param transactionManager the transaction manager for atomic steps
+     */
+    public JpaToDoRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ToDo> findAll() {
+        return entityManager.createQuery("select t from ToDo t order by t.id", ToDo.class)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ToDo> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(entityManager.find(ToDo.class, id));
+    }
+
+    @Override
+    public ToDo save(ToDo toDo) {
+        if (toDo.getId() == null) {
+            // Insert is deferred to the flush, where Hibernate batches it
+            entityManager.persist(toDo);
+            return toDo;
+        }
+        return entityManager.merge(toDo);
+    }
+
+    @Override
+    public boolean update(ToDo toDo) {
+        if (toDo.getId() == null) {
+            return false;
+        }
+        ToDo existing = entityManager.find(ToDo.class, toDo.getId());
+        if (existing == null) {
+            return false;
+        }
+
+        // Preserve creation time during updates
+        toDo.setCreationTime(existing.getCreationTime());
+        entityManager.merge(toDo);
+        return true;
+    }
+
+    @Override
+    public ToDo deleteByIdAndReturn(Long id) {
+        ToDo toDo = id == null ? null : entityManager.find(ToDo.class, id);
+        if (toDo == null) {
+            return null;
+        }
+        entityManager.remove(toDo);
+        return toDo;
+    }
+
+    @Override
+    public void deleteAll() {
+        entityManager.flush();
+        entityManager.createQuery("delete from ToDo").executeUpdate();
+        entityManager.clear();
+    }
+
+    /**
+     * Runs the action in a single transaction, so its writes are flushed
+     * together and batched.
+     */
+    @Override
+    public <T> T executeAtomically(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ToDo> findWithFilters(String text, Boolean doneFlag, Priority priority, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = whereClause(text, doneFlag, priority, parameters);
+        return findPage(where, parameters, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ToDo> findWithFiltersAfter(String text, Boolean doneFlag, Priority priority, Sort sort,
+            ToDoCursor after, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = whereClause(text, doneFlag, priority, parameters);
+        ToDo boundary = after == null ? null : ToDoPageSelector.probeFor(after);
+        return seekPage(where, parameters, keysetOrders(sort), boundary, size);
+    }
+
+    /**
+     * Selects the matches with one query and changes the managed entities,
+     * which are flushed when the step commits.
+     */
+    @Override
+    public List<ToDo> updateMatching(String text, Boolean doneFlag, Priority priority, LocalDateTime createdBefore,
+            Consumer<ToDo> change) {
+        return executeAtomically(() -> {
+            List<ToDo> matches = findMatching(text, doneFlag, priority, createdBefore);
+            matches.forEach(change);
+            return matches;
+        });
+    }
+
+    /**
+     * Selects the matches with one query and removes them in the same step.
+     */
+    @Override
+    public List<ToDo> deleteMatching(String text, Boolean doneFlag, Priority priority, LocalDateTime createdBefore) {
+        return executeAtomically(() -> {
+            List<ToDo> matches = findMatching(text, doneFlag, priority, createdBefore);
+            matches.forEach(entityManager::remove);
+            return matches;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ToDo> findCompletedByPriority(Priority priority) {
+        return entityManager.createQuery(
+                "select t from ToDo t where t.doneFlag = true and t.priority = :priority order by t.id", ToDo.class)
+                .setParameter("priority", priority)
+                .getResultList();
+    }
+
+    @Override
+    public Duration getDurationBetween(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end);
+    }
+
+    /**
+     * Aggregates completion times per priority in one grouped query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Priority, Integer> averageCompletionMinutes() {
+        Map<Priority, Integer> averages = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            averages.put(priority, 0);
+        }
+
+        List<Object[]> rows = entityManager.createQuery(
+                "select t.priority, count(t), sum(((t.doneDate - t.creationTime) by second) / 60)"
+                        + " from ToDo t where t.doneFlag = true group by t.priority",
+                Object[].class)
+                .getResultList();
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            long totalMinutes = row[2] == null ? 0 : ((Number) row[2]).longValue();
+            averages.put((Priority) row[0], (int) (totalMinutes / count));
+        }
+        return averages;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ToDo> findByDoneFlag(boolean doneFlag) {
+        return entityManager.createQuery("select t from ToDo t where t.doneFlag = :doneFlag order by t.id",
+                ToDo.class)
+                .setParameter("doneFlag", doneFlag)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ToDo> findByPriority(Priority priority) {
+        return entityManager.createQuery("select t from ToDo t where t.priority = :priority order by t.id",
+                ToDo.class)
+                .setParameter("priority", priority)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ToDo> findByDueDateBeforeAndDoneFlagFalse(LocalDateTime date) {
+        return entityManager.createQuery(
+                "select t from ToDo t where t.doneFlag = false and t.dueDate < :date order by t.id", ToDo.class)
+                .setParameter("date", date)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ToDo> findOverdue(LocalDateTime date, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        return findPage(overdueClause(date, parameters), parameters, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ToDo> findOverdueAfter(LocalDateTime date, Sort sort, ToDoCursor after, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = overdueClause(date, parameters);
+        ToDo boundary = after == null ? null : ToDoPageSelector.probeFor(after);
+        return seekPage(where, parameters, keysetOrders(sort), boundary, size);
+    }
+
+    /**
+     * Helper method to read a page by offset: the total is counted, then the
+     * page is read with OFFSET and LIMIT. The database still reads past the
+     * rows before the page; cursor requests are the seek path.
+     *
+     * @param where      the filter clause
+     * @param parameters the filter parameters
+     * @param pageable   pagination and sorting parameters
+     * @return the page
+     */
+    private Page<ToDo> findPage(String where, Map<String, Object> parameters, Pageable pageable) {
+        List<Order> orders = keysetOrders(pageable.getSort());
+
+        TypedQuery<Long> countQuery = entityManager.createQuery("select count(t) from ToDo t" + where, Long.class);
+        parameters.forEach(countQuery::setParameter);
+        long total = countQuery.getSingleResult();
+        if (pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        TypedQuery<ToDo> query = entityManager.createQuery("select t from ToDo t" + where + orderByClause(orders),
+                ToDo.class);
+        parameters.forEach(query::setParameter);
+        List<ToDo> content = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Helper method to read the rows that sort after a boundary row.
+     *
+     * @param where      the filter clause
+     * @param parameters the filter parameters, extended with the key values
+     * @param orders     the orders applied
+     * @param boundary   the row preceding the page, null for the first page
+     * @param size       maximum number of rows
+     * @return the rows, in order
+     */
+    private List<ToDo> seekPage(String where, Map<String, Object> parameters, List<Order> orders, ToDo boundary,
+            int size) {
+        String condition = where;
+        if (boundary != null) {
+            String seek = seekClause(orders, boundary, parameters);
+            condition = where.isEmpty() ? " where " + seek : where + " and " + seek;
+        }
+        TypedQuery<ToDo> query = entityManager.createQuery("select t from ToDo t" + condition + orderByClause(orders),
+                ToDo.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(size).getResultList();
+    }
+
+    /**
+     * Helper method to build the WHERE clause for the optional filters.
+     *
+     * @param text       optional text filter
+     * @param doneFlag   optional completion status filter
+     * @param priority   optional priority filter
+     * @param parameters receives the query parameters
+     * @return the clause, empty when no filter is set
+     */
+    private String whereClause(String text, Boolean doneFlag, Priority priority, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (doneFlag != null) {
+            conditions.add("t.doneFlag = :doneFlag");
+            parameters.put("doneFlag", doneFlag);
+        }
+        if (priority != null) {
+            conditions.add("t.priority = :priority");
+            parameters.put("priority", priority);
+        }
+        if (text != null) {
+            conditions.add("lower(t.text) like :text escape '\\'");
+            parameters.put("text", "%" + text.toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_") + "%");
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    /**
+     * Helper method to read every item matching the filters, in ID order.
+     *
+     * @param text          optional text filter
+     * @param doneFlag      optional completion status filter
+     * @param priority      optional priority filter
+     * @param createdBefore optional bound on the creation time
+     * @return the managed matching items
+     */
+    private List<ToDo> findMatching(String text, Boolean doneFlag, Priority priority, LocalDateTime createdBefore) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = whereClause(text, doneFlag, priority, parameters);
+        if (createdBefore != null) {
+            where += (where.isEmpty() ? " where " : " and ") + "t.creationTime < :createdBefore";
+            parameters.put("createdBefore", createdBefore);
+        }
+        TypedQuery<ToDo> query = entityManager.createQuery("select t from ToDo t" + where + " order by t.id",
+                ToDo.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    /**
+     * Helper method to build the WHERE clause selecting open items due
+     * before a date.
+     *
+     * @param date       the cutoff date
+     * @param parameters receives the query parameters
+     * @return the clause
+     */
+    private static String overdueClause(LocalDateTime date, Map<String, Object> parameters) {
+        parameters.put("overdueDate", date);
+        return " where t.doneFlag = false and t.dueDate < :overdueDate";
+    }
+
+    /**
+     * Helper method to keep the supported sort orders and end them with the
+     * ID, so every row has a unique sort key to seek after.
+     *
+     * @param sort the requested sort
+     * @return the orders to apply
+     */
+    private static List<Order> keysetOrders(Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        for (Order order : sort) {
+            if (sortExpression(order.getProperty()) != null) {
+                orders.add(order);
+            }
+            if (order.getProperty().equals("id")) {
+                return orders;
+            }
+        }
+        orders.add(Order.asc("id"));
+        return orders;
+    }
+
+    /**
+     * Helper method to build the ORDER BY clause. Missing due dates sort last
+     * when ascending and first when descending, as in the in-memory
+     * repositories.
+     *
+     * @param orders the orders to apply
+     * @return the clause
+     */
+    private static String orderByClause(List<Order> orders) {
+        List<String> terms = new ArrayList<>();
+        for (Order order : orders) {
+            String term = sortExpression(order.getProperty()) + (order.isAscending() ? " asc" : " desc");
+            if (order.getProperty().equals("dueDate")) {
+                term += order.isAscending() ? " nulls last" : " nulls first";
+            }
+            terms.add(term);
+        }
+        return " order by " + String.join(", ", terms);
+    }
+
+    /**
+     * Helper method to build the condition selecting the rows that sort after
+     * the given one: (k1 after v1) or (k1 = v1 and k2 after v2) or ...
+     *
+     * @param orders     the orders applied
+     * @param boundary   the row preceding the page
+     * @param parameters receives the key values
+     * @return the condition
+     */
+    private static String seekClause(List<Order> orders, ToDo boundary, Map<String, Object> parameters) {
+        List<String> alternatives = new ArrayList<>();
+        List<String> equalities = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            String expression = sortExpression(order.getProperty());
+            String parameter = "key" + i;
+            Object value = sortValue(order.getProperty(), boundary);
+
+            String after;
+            String equal;
+            if (value == null) {
+                // Only due dates are nullable; nulls are last ascending, first descending
+                after = order.isAscending() ? null : expression + " is not null";
+                equal = expression + " is null";
+            } else {
+                parameters.put(parameter, value);
+                String comparison = expression + (order.isAscending() ? " > :" : " < :") + parameter;
+                after = order.getProperty().equals("dueDate") && order.isAscending()
+                        ? "(" + comparison + " or " + expression + " is null)"
+                        : comparison;
+                equal = expression + " = :" + parameter;
+            }
+
+            if (after != null) {
+                List<String> terms = new ArrayList<>(equalities);
+                terms.add(after);
+                alternatives.add("(" + String.join(" and ", terms) + ")");
+            }
+            equalities.add(equal);
+        }
+        return alternatives.isEmpty() ? "1 = 0" : "(" + String.join(" or ", alternatives) + ")";
+    }
+
+    /**
+     * Helper method to map a sortable property to its query expression.
+     *
+     * @param property the property name
+     * @return the expression, null if the property is not sortable
+     */
+    private static String sortExpression(String property) {
+        return switch (property) {
+            case "id" -> "t.id";
+            case "text" -> "t.text";
+            case "dueDate" -> "t.dueDate";
+            case "priority" -> PRIORITY_RANK;
+            case "creationTime" -> "t.creationTime";
+            case "doneFlag" -> "case when t.doneFlag = true then 1 else 0 end";
+            default -> null;
+        };
+    }
+
+    /**
+     * Helper method to read the value a row sorts by for a property, in the
+     * form compared by its sort expression.
+     *
+     * @param property the property name
+     * @param toDo     the row
+     * @return the value, null for a missing due date
+     */
+    private static Object sortValue(String property, ToDo toDo) {
+        return switch (property) {
+            case "id" -> toDo.getId();
+            case "text" -> toDo.getText();
+            case "dueDate" -> toDo.getDueDate();
+            case "priority" -> toDo.getPriority().getRank();
+            case "creationTime" -> toDo.getCreationTime();
+            case "doneFlag" -> toDo.isDoneFlag() ? 1 : 0;
+            default -> null;
+        };
+    }
+}
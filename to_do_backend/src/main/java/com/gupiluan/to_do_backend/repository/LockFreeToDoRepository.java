@@ -0,0 +1,258 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+
+/**
+ * Lock-free in-memory implementation of the ToDo repository.
+ * Enabled with todo.repository.type=lock-free.
+ *
+ * Backed by a ConcurrentHashMap with AtomicLong ID generation, so readers
+ * never block. Scans are weakly consistent: they reflect each item as it was
+ * at some point during the scan, but may miss or include items written
+ * concurrently. deleteAll is not atomic with concurrent writes.
+ *
+ * Items are stored and returned as copies, each carrying the version it was
+ * stored with. An update is a compare-and-set against that version, so of
+ * two writers that read the same item only the first one's update applies.
+ *
+ * Single-item writes rely on the map's per-bin atomicity alone and take no
+ * shared lock. executeAtomically waits for the writes in flight and holds
+ * new ones back until it returns, through an AtomicStepGate whose per-thread
+ * counters keep writers off each other's cache lines. Readers pass no gate
+ * and may observe an atomic step midway.
+ *
+ * @author gupiluan
+ */
+@Repository
+@ConditionalOnProperty(name = "todo.repository.type", havingValue = "lock-free")
+public class LockFreeToDoRepository implements IToDoRepository {
+
+    /** Concurrent in-memory storage for ToDo items */
+    private final Map<Long, ToDo> toDos = new ConcurrentHashMap<>();
+
+    /** Counter for generating unique IDs */
+    private final AtomicLong idCounter = new AtomicLong(1L);
+
+    /** Holds single-item writes back while an atomic step runs */
+    private final AtomicStepGate gate = new AtomicStepGate();
+
+    @Override
+    public Optional<ToDo> findById(Long id) {
+        return Optional.ofNullable(id == null ? null : toDos.get(id)).map(ToDo::copy);
+    }
+
+    @Override
+    public ToDo save(ToDo toDo) {
+        int token = gate.enter();
+        try {
+            if (toDo.getId() == null) {
+                toDo.setId(idCounter.getAndIncrement());
+                if (toDo.getCreationTime() == null) {
+                    toDo.setCreationTime(LocalDateTime.now());
+                }
+            }
+            ToDo stored = toDos.merge(toDo.getId(), stamp(toDo, 1L),
+                    (existing, saved) -> stamp(toDo, existing.getVersion() + 1));
+            toDo.setVersion(stored.getVersion());
+            return toDo;
+        } finally {
+            gate.exit(token);
+        }
+    }
+
+    @Override
+    public boolean update(ToDo toDo) {
+        if (toDo.getId() == null) {
+            return false;
+        }
+
+        int token = gate.enter();
+        try {
+            ToDo[] applied = new ToDo[1];
+            toDos.computeIfPresent(toDo.getId(), (id, existing) -> {
+                // Reject updates based on a version that is no longer stored
+                if (existing.getVersion() != toDo.getVersion()) {
+                    return existing;
+                }
+                // Preserve creation time during updates
+                if (existing.getCreationTime() != null) {
+                    toDo.setCreationTime(existing.getCreationTime());
+                }
+                applied[0] = stamp(toDo, existing.getVersion() + 1);
+                return applied[0];
+            });
+            if (applied[0] == null) {
+                return false;
+            }
+            toDo.setVersion(applied[0].getVersion());
+            return true;
+        } finally {
+            gate.exit(token);
+        }
+    }
+
+    @Override
+    public <T> T executeAtomically(Supplier<T> action) {
+        return gate.runAlone(action);
+    }
+
+    @Override
+    public ToDo deleteByIdAndReturn(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        int token = gate.enter();
+        try {
+            return toDos.remove(id);
+        } finally {
+            gate.exit(token);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        int token = gate.enter();
+        try {
+            toDos.clear();
+            idCounter.set(1L); // Reset the ID counter
+        } finally {
+            gate.exit(token);
+        }
+    }
+
+    @Override
+    public List<ToDo> findAll() {
+        return toDos.values().stream()
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .map(ToDo::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Page<ToDo> findWithFilters(String text, Boolean doneFlag, Priority priority, Pageable pageable) {
+        List<ToDo> filtered = matching(text, doneFlag, priority).collect(Collectors.toList());
+
+        List<ToDo> pageContent = ToDoPageSelector.select(filtered.iterator(), filtered.size(),
+                (int) pageable.getOffset(), pageable.getPageSize(),
+                ToDoPageSelector.comparatorFor(pageable.getSort()));
+
+        return new PageImpl<>(pageContent.stream().map(ToDo::copy).toList(), pageable, filtered.size());
+    }
+
+    /**
+     * Filters the stored items in one pass and selects the rows after the
+     * cursor with a bounded heap, copying only the page.
+     */
+    @Override
+    public List<ToDo> findWithFiltersAfter(String text, Boolean doneFlag, Priority priority, Sort sort,
+            ToDoCursor after, int size) {
+        return ToDoPageSelector.selectAfter(matching(text, doneFlag, priority).iterator(), after, size,
+                ToDoPageSelector.keysetComparatorFor(sort))
+                .stream()
+                .map(ToDo::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ToDo> findCompletedByPriority(Priority priority) {
+        return toDos.values().stream()
+                .filter(t -> t.isDoneFlag() && t.getPriority() == priority)
+                .map(ToDo::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Duration getDurationBetween(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public List<ToDo> findByDoneFlag(boolean doneFlag) {
+        return toDos.values().stream()
+                .filter(t -> t.isDoneFlag() == doneFlag)
+                .map(ToDo::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ToDo> findByPriority(Priority priority) {
+        return toDos.values().stream()
+                .filter(t -> t.getPriority() == priority)
+                .map(ToDo::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ToDo> findByDueDateBeforeAndDoneFlagFalse(LocalDateTime date) {
+        return toDos.values().stream()
+                .filter(t -> isOverdue(t, date))
+                .map(ToDo::copy)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the stored items past the cutoff into a bounded heap, so memory
+     * stays at the page size, and copies only the page.
+     */
+    @Override
+    public List<ToDo> findOverdueAfter(LocalDateTime date, Sort sort, ToDoCursor after, int size) {
+        Iterator<ToDo> overdue = toDos.values().stream()
+                .filter(t -> isOverdue(t, date))
+                .iterator();
+        return ToDoPageSelector.selectAfter(overdue, after, size, ToDoPageSelector.keysetComparatorFor(sort))
+                .stream()
+                .map(ToDo::copy)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Helper method to stream the stored items matching the optional filters.
+     */
+    private Stream<ToDo> matching(String text, Boolean doneFlag, Priority priority) {
+        String folded = text == null ? null : text.toLowerCase(Locale.ROOT);
+        return toDos.values().stream()
+                .filter(t -> doneFlag == null || t.isDoneFlag() == doneFlag)
+                .filter(t -> priority == null || t.getPriority() == priority)
+                .filter(t -> folded == null
+                        || (t.getText() != null && t.getText().toLowerCase(Locale.ROOT).contains(folded)));
+    }
+
+    /**
+     * Helper method to test whether an item is open and due before a date.
+     */
+    private static boolean isOverdue(ToDo toDo, LocalDateTime date) {
+        return !toDo.isDoneFlag() && toDo.getDueDate() != null && toDo.getDueDate().isBefore(date);
+    }
+
+    /**
+     * Helper method to build the stored copy of an item with its version.
+     */
+    private static ToDo stamp(ToDo toDo, long version) {
+        ToDo stored = toDo.copy();
+        stored.setVersion(version);
+        return stored;
+    }
+}
@@ -0,0 +1,170 @@
+package com.gupiluan.to_do_backend.repository;
+
+/**
+ * Open-addressing hash map from primitive long keys to int values.
+ * Uses linear probing with backward-shift deletion, so there are no
+ * tombstones and no boxing; each entry costs twelve bytes of array storage.
+ * Key 0 is kept outside the table since it marks empty buckets.
+ *
+ * Not thread-safe; callers serialize writes.
+ *
+ * @author gupiluan
+ */
+final class LongIntHashMap {
+
+    /** Value returned for absent keys */
+    static final int MISSING = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+
+    /** Number of entries in the table, excluding key 0 */
+    private int tableSize;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * @return number of entries
+     */
+    int size() {
+        return tableSize + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Looks up the value mapped to a key.
+     *
+     * @param key the key
+     * @return the mapped value, MISSING if absent
+     */
+    int get(long key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : MISSING;
+        }
+        for (int i = bucket(key);; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            if (keys[i] == 0) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @param key   the key
+     * @param value the value, not MISSING
+     * @return the previous value, MISSING if absent
+     */
+    int put(long key, int value) {
+        if (key == 0) {
+            int previous = hasZeroKey ? zeroValue : MISSING;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+
+        int i = bucket(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++tableSize > keys.length * 2 / 3) {
+            resize(keys.length * 2);
+        }
+        return MISSING;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return the removed value, MISSING if absent
+     */
+    int remove(long key) {
+        if (key == 0) {
+            int previous = hasZeroKey ? zeroValue : MISSING;
+            hasZeroKey = false;
+            return previous;
+        }
+
+        int i = bucket(key);
+        while (keys[i] != key) {
+            if (keys[i] == 0) {
+                return MISSING;
+            }
+            i = (i + 1) & mask;
+        }
+        int previous = values[i];
+        shiftBack(i);
+        tableSize--;
+        return previous;
+    }
+
+    /**
+     * Removes every entry and releases the table.
+     */
+    void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+        tableSize = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Closes the gap at a removed bucket by moving back later entries of the
+     * same probe run.
+     */
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == 0) {
+                break;
+            }
+            int home = bucket(keys[i]);
+            // Move the entry if its home bucket is not between the gap and it
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private int bucket(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int j = bucket(oldKeys[i]);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
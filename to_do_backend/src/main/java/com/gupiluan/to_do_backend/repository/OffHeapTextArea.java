@@ -0,0 +1,139 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Off-heap allocator for variable-length text blocks.
+ * Blocks come from a direct buffer in power-of-two size classes starting at
+ * 16 bytes. Freed blocks go to a per-class free list and are reused before
+ * the bump pointer advances, so churn does not fragment the area.
+ *
+ * Not thread-safe; callers serialize writes. Reads go through absolute
+ * accessors on buffer(), which never move a position.
+ *
+ * @author gupiluan
+ */
+final class OffHeapTextArea {
+
+    private static final int MIN_BLOCK_SHIFT = 4;
+
+    /** Size classes cover blocks up to 1 GiB */
+    private static final int CLASS_COUNT = 31 - MIN_BLOCK_SHIFT;
+
+    private final int initialCapacity;
+
+    private ByteBuffer buffer;
+
+    /** Next never-used address */
+    private int top;
+
+    /** Freed block addresses for each size class */
+    private final int[][] freeBlocks = new int[CLASS_COUNT][];
+    private final int[] freeCounts = new int[CLASS_COUNT];
+
+    /** Bytes held by allocated blocks */
+    private long allocatedBytes;
+
+    /**
+     * @param initialCapacity initial size of the direct buffer in bytes
+     */
+    OffHeapTextArea(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+        clear();
+    }
+
+    /**
+     * @return the backing buffer; replaced when the area grows
+     */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Allocates a block able to hold the given number of bytes.
+     *
+     * @param length number of bytes needed
+     * @return address of the block
+     */
+    int allocate(int length) {
+        int sizeClass = sizeClass(length);
+        allocatedBytes += blockSize(sizeClass);
+        if (freeCounts[sizeClass] > 0) {
+            return freeBlocks[sizeClass][--freeCounts[sizeClass]];
+        }
+
+        int size = blockSize(sizeClass);
+        ensureCapacity((long) top + size);
+        int address = top;
+        top += size;
+        return address;
+    }
+
+    /**
+     * Returns a block to its free list.
+     *
+     * @param address address of the block
+     * @param length  number of bytes the block was allocated for
+     */
+    void free(int address, int length) {
+        int sizeClass = sizeClass(length);
+        allocatedBytes -= blockSize(sizeClass);
+        int[] blocks = freeBlocks[sizeClass];
+        if (freeCounts[sizeClass] == blocks.length) {
+            blocks = Arrays.copyOf(blocks, Math.max(16, blocks.length * 2));
+            freeBlocks[sizeClass] = blocks;
+        }
+        blocks[freeCounts[sizeClass]++] = address;
+    }
+
+    /**
+     * @return bytes held by allocated blocks
+     */
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return reserved bytes not held by allocated blocks
+     */
+    long freeBytes() {
+        return buffer.capacity() - allocatedBytes;
+    }
+
+    /**
+     * Frees every block and shrinks the buffer to its initial capacity.
+     */
+    void clear() {
+        buffer = ByteBuffer.allocateDirect(initialCapacity).order(ByteOrder.nativeOrder());
+        top = 0;
+        allocatedBytes = 0;
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            freeBlocks[i] = new int[0];
+            freeCounts[i] = 0;
+        }
+    }
+
+    private static int sizeClass(int length) {
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(length, 1) - 1);
+        return Math.max(bits, MIN_BLOCK_SHIFT) - MIN_BLOCK_SHIFT;
+    }
+
+    private static int blockSize(int sizeClass) {
+        return 1 << (sizeClass + MIN_BLOCK_SHIFT);
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Off-heap text area is full");
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, buffer.capacity() * 2L));
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        grown.put(0, buffer, 0, top);
+        buffer = grown;
+    }
+}
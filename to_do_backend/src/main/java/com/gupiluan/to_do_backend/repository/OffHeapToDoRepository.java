@@ -0,0 +1,632 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+import com.gupiluan.to_do_backend.repository.ToDoPageSelector.SlotComparator;
+
+/**
+ * Off-heap implementation of the ToDo repository for very large lists.
+ * Enabled with todo.repository.type=off-heap.
+ *
+ * Records live in fixed 64-byte slots inside a direct buffer, and their text
+ * (original and lower-cased UTF-8) in an off-heap area allocated in size
+ * classes. The only on-heap structures are a primitive ID-to-slot map and the
+ * free slot stack, so the item count does not grow the GC object graph.
+ * Freed slots and text blocks are reused by later saves.
+ *
+ * Returned ToDo items are detached: changes become visible only through
+ * save or update. Thread-safe using ReentrantReadWriteLock.
+ *
+ * @author gupiluan
+ */
+@Repository
+@ConditionalOnProperty(name = "todo.repository.type", havingValue = "off-heap")
+public class OffHeapToDoRepository implements IToDoRepository {
+
+    /** Record layout, longs first so every field is naturally aligned */
+    private static final int ID = 0;
+    private static final int DUE_SECONDS = 8;
+    private static final int DONE_SECONDS = 16;
+    private static final int CREATED_SECONDS = 24;
+    private static final int DUE_NANOS = 32;
+    private static final int DONE_NANOS = 36;
+    private static final int CREATED_NANOS = 40;
+    private static final int TEXT_ADDRESS = 44;
+    private static final int TEXT_LENGTH = 48;
+    private static final int FOLDED_LENGTH = 52;
+    private static final int PRIORITY = 56;
+    private static final int DONE = 57;
+    private static final int LIVE = 58;
+    private static final int RECORD_SIZE = 64;
+
+    private static final int INITIAL_RECORDS = 1024;
+    private static final int INITIAL_TEXT_BYTES = 64 * 1024;
+
+    /** Largest record count addressable by one buffer */
+    private static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+
+    /** Seconds value marking a missing date */
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    /** Text length marking a missing text */
+    private static final int NULL_TEXT = -1;
+
+    /** Priority value marking a missing priority */
+    private static final byte NO_PRIORITY = -1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /** Order of decoded texts, missing texts first */
+    private static final Comparator<String> TEXT_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    /** Fixed-size records, indexed by slot */
+    private ByteBuffer records = allocateRecords(INITIAL_RECORDS);
+
+    /** Text blocks referenced by the records */
+    private final OffHeapTextArea textArea = new OffHeapTextArea(INITIAL_TEXT_BYTES);
+
+    /** Slot of each ToDo ID */
+    private final LongIntHashMap slotsById = new LongIntHashMap();
+
+    /** Slots released by deletions, reused by subsequent saves */
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    /** Number of slots ever handed out; slots above are untouched */
+    private int highWater;
+
+    /** Counter for generating unique IDs */
+    private long idCounter = 1L;
+
+    /** ReadWrite lock for thread-safe data access */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Reports the off-heap bytes holding live data: occupied record slots and
+     * allocated text blocks.
+     *
+     * @return live off-heap bytes
+     */
+    public long liveBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) slotsById.size() * RECORD_SIZE + textArea.allocatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reports the reserved off-heap bytes available for new data: free and
+     * never used record slots plus free text space.
+     *
+     * @return free off-heap bytes
+     */
+    public long freeBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) records.capacity() - (long) slotsById.size() * RECORD_SIZE + textArea.freeBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<ToDo> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = id == null ? LongIntHashMap.MISSING : slotsById.get(id);
+            return slot == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ToDo save(ToDo toDo) {
+        lock.writeLock().lock();
+        try {
+            if (toDo.getId() == null) {
+                toDo.setId(idCounter++);
+                if (toDo.getCreationTime() == null) {
+                    toDo.setCreationTime(LocalDateTime.now());
+                }
+            } else if (toDo.getId() >= idCounter) {
+                idCounter = toDo.getId() + 1;
+            }
+
+            int slot = slotsById.get(toDo.getId());
+            if (slot == LongIntHashMap.MISSING) {
+                slot = allocateSlot();
+                slotsById.put(toDo.getId(), slot);
+            } else {
+                freeText(slot);
+            }
+            write(slot, toDo);
+            return toDo;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(ToDo toDo) {
+        lock.writeLock().lock();
+        try {
+            int slot = toDo.getId() == null ? LongIntHashMap.MISSING : slotsById.get(toDo.getId());
+            if (slot == LongIntHashMap.MISSING) {
+                return false;
+            }
+
+            // Preserve creation time during updates
+            LocalDateTime creationTime = readDate(slot, CREATED_SECONDS, CREATED_NANOS);
+            if (creationTime != null) {
+                toDo.setCreationTime(creationTime);
+            }
+
+            freeText(slot);
+            write(slot, toDo);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> T executeAtomically(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ToDo deleteByIdAndReturn(Long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = id == null ? LongIntHashMap.MISSING : slotsById.remove(id);
+            if (slot == LongIntHashMap.MISSING) {
+                return null;
+            }
+            ToDo removed = materialize(slot);
+            freeText(slot);
+            records.put(base(slot) + LIVE, (byte) 0);
+
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+            }
+            freeSlots[freeSlotCount++] = slot;
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        lock.writeLock().lock();
+        try {
+            records = allocateRecords(INITIAL_RECORDS);
+            textArea.clear();
+            slotsById.clear();
+            freeSlots = new int[16];
+            freeSlotCount = 0;
+            highWater = 0;
+            idCounter = 1L; // Reset the ID counter
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findAll() {
+        lock.readLock().lock();
+        try {
+            int[] slots = scan(slot -> true);
+            return materialize(ToDoPageSelector.selectSlots(slots, slots.length, 0, slots.length,
+                    this::compareIds));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<ToDo> findWithFilters(String text, Boolean doneFlag, Priority priority, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            int[] matches = scan(filter(text, doneFlag, priority));
+
+            int[] pageSlots = ToDoPageSelector.selectSlots(matches, matches.length,
+                    (int) pageable.getOffset(), pageable.getPageSize(), comparatorFor(pageable.getSort()));
+
+            return new PageImpl<>(materialize(pageSlots), pageable, matches.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the records once for the matching rows that sort after the
+     * cursor, keeping the first of them in a bounded slot heap, so memory
+     * stays at the page size and only the page is decoded.
+     */
+    @Override
+    public List<ToDo> findWithFiltersAfter(String text, Boolean doneFlag, Priority priority, Sort sort,
+            ToDoCursor after, int size) {
+        lock.readLock().lock();
+        try {
+            IntPredicate filter = filter(text, doneFlag, priority);
+            if (after != null) {
+                filter = filter.and(ToDoPageSelector.slotsAfter(sort, cursorComparator(after)));
+            }
+            IntPredicate live = slot -> records.get(base(slot) + LIVE) != 0;
+            return materialize(ToDoPageSelector.firstSlots(highWater, live.and(filter), size,
+                    comparatorFor(ToDoPageSelector.keysetSort(sort))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findCompletedByPriority(Priority priority) {
+        lock.readLock().lock();
+        try {
+            byte wanted = priority == null ? NO_PRIORITY : (byte) priority.ordinal();
+            return materialize(scan(slot -> isDone(slot) && records.get(base(slot) + PRIORITY) == wanted));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Duration getDurationBetween(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public List<ToDo> findByDoneFlag(boolean doneFlag) {
+        lock.readLock().lock();
+        try {
+            return materialize(scan(slot -> isDone(slot) == doneFlag));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findByPriority(Priority priority) {
+        lock.readLock().lock();
+        try {
+            byte wanted = priority == null ? NO_PRIORITY : (byte) priority.ordinal();
+            return materialize(scan(slot -> records.get(base(slot) + PRIORITY) == wanted));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findByDueDateBeforeAndDoneFlagFalse(LocalDateTime date) {
+        lock.readLock().lock();
+        try {
+            return materialize(scan(overdue(date)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the records once for the overdue rows that sort after the
+     * cursor, keeping the first of them in a bounded slot heap, so memory
+     * stays at the page size and only the page is decoded.
+     */
+    @Override
+    public List<ToDo> findOverdueAfter(LocalDateTime date, Sort sort, ToDoCursor after, int size) {
+        lock.readLock().lock();
+        try {
+            IntPredicate filter = overdue(date);
+            if (after != null) {
+                filter = filter.and(ToDoPageSelector.slotsAfter(sort, cursorComparator(after)));
+            }
+            IntPredicate live = slot -> records.get(base(slot) + LIVE) != 0;
+            return materialize(ToDoPageSelector.firstSlots(highWater, live.and(filter), size,
+                    comparatorFor(ToDoPageSelector.keysetSort(sort))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Helper method to collect the live slots matching a predicate.
+     *
+     * @param filter predicate over live slots
+     * @return matching slots in slot order
+     */
+    private int[] scan(IntPredicate filter) {
+        int[] matches = new int[Math.min(slotsById.size(), 64)];
+        int count = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (records.get(base(slot) + LIVE) != 0 && filter.test(slot)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, Math.max(16, matches.length * 2));
+                }
+                matches[count++] = slot;
+            }
+        }
+        return count == matches.length ? matches : Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Helper method to search the lower-cased text of a slot without
+     * decoding it.
+     */
+    private boolean foldedTextContains(int slot, byte[] needle) {
+        int base = base(slot);
+        int length = records.getInt(base + TEXT_LENGTH);
+        if (length == NULL_TEXT) {
+            return false;
+        }
+        int start = records.getInt(base + TEXT_ADDRESS) + length;
+        int last = start + records.getInt(base + FOLDED_LENGTH) - needle.length;
+        ByteBuffer text = textArea.buffer();
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < needle.length && text.get(i + j) == needle[j]) {
+                j++;
+            }
+            if (j == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method to build the predicate over live slots for open rows due
+     * before a date.
+     */
+    private IntPredicate overdue(LocalDateTime date) {
+        long seconds = date.toEpochSecond(ZoneOffset.UTC);
+        int nanos = date.getNano();
+        return slot -> {
+            long due = records.getLong(base(slot) + DUE_SECONDS);
+            return !isDone(slot) && due != NO_DATE
+                    && (due < seconds || due == seconds && records.getInt(base(slot) + DUE_NANOS) < nanos);
+        };
+    }
+
+    /**
+     * Helper method to build the predicate over live slots for the optional
+     * filters.
+     */
+    private IntPredicate filter(String text, Boolean doneFlag, Priority priority) {
+        byte[] needle = text == null ? null : text.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        byte wanted = priority == null ? NO_PRIORITY : (byte) priority.ordinal();
+        return slot -> (doneFlag == null || isDone(slot) == doneFlag)
+                && (wanted == NO_PRIORITY || records.get(base(slot) + PRIORITY) == wanted)
+                && (needle == null || foldedTextContains(slot, needle));
+    }
+
+    /**
+     * Helper method to compare records with a cursor on the fields it holds.
+     */
+    private ToDoPageSelector.CursorComparator cursorComparator(ToDoCursor cursor) {
+        long seconds = cursor.getDueDate() == null ? NO_DATE : cursor.getDueDate().toEpochSecond(ZoneOffset.UTC);
+        int nanos = cursor.getDueDate() == null ? 0 : cursor.getDueDate().getNano();
+        int rank = cursor.getPriority() == null ? 0 : cursor.getPriority().getRank();
+        return (slot, field) -> switch (field) {
+            case "id" -> Long.compare(records.getLong(base(slot) + ID), cursor.getId());
+            case "dueDate" -> compareDates(records.getLong(base(slot) + DUE_SECONDS),
+                    records.getInt(base(slot) + DUE_NANOS), seconds, nanos);
+            case "priority" -> Integer.compare(rank(slot), rank);
+            default -> 0;
+        };
+    }
+
+    /**
+     * Helper method to compile a Sort into a comparator over record slots.
+     * Unknown fields are ignored.
+     */
+    private SlotComparator comparatorFor(Sort sort) {
+        SlotComparator chain = null;
+        for (Sort.Order order : sort) {
+            SlotComparator field = comparatorFor(order.getProperty());
+            if (field == null) {
+                continue;
+            }
+            if (order.isDescending()) {
+                field = field.reversed();
+            }
+            chain = chain == null ? field : chain.thenComparing(field);
+        }
+        return chain;
+    }
+
+    /**
+     * Helper method to build the ascending comparator for a single field.
+     */
+    private SlotComparator comparatorFor(String field) {
+        switch (field) {
+            case "id":
+                return this::compareIds;
+            case "text":
+                return (a, b) -> TEXT_ORDER.compare(readText(a), readText(b));
+            case "dueDate":
+                // Items without due date sort after dated ones when ascending
+                return (a, b) -> compareDates(a, b, DUE_SECONDS, DUE_NANOS);
+            case "priority":
+                return (a, b) -> Integer.compare(rank(a), rank(b));
+            case "creationTime":
+                return (a, b) -> compareDates(a, b, CREATED_SECONDS, CREATED_NANOS);
+            case "doneFlag":
+                return (a, b) -> Boolean.compare(isDone(a), isDone(b));
+            default:
+                return null;
+        }
+    }
+
+    private int compareIds(int a, int b) {
+        return Long.compare(records.getLong(base(a) + ID), records.getLong(base(b) + ID));
+    }
+
+    private int rank(int slot) {
+        byte priority = records.get(base(slot) + PRIORITY);
+        return priority == NO_PRIORITY ? 0 : PRIORITIES[priority].getRank();
+    }
+
+    private int compareDates(int a, int b, int secondsField, int nanosField) {
+        return compareDates(records.getLong(base(a) + secondsField), records.getInt(base(a) + nanosField),
+                records.getLong(base(b) + secondsField), records.getInt(base(b) + nanosField));
+    }
+
+    private static int compareDates(long secondsA, int nanosA, long secondsB, int nanosB) {
+        if (secondsA == NO_DATE || secondsB == NO_DATE) {
+            return Boolean.compare(secondsA == NO_DATE, secondsB == NO_DATE);
+        }
+        int result = Long.compare(secondsA, secondsB);
+        return result != 0 ? result : Integer.compare(nanosA, nanosB);
+    }
+
+    private boolean isDone(int slot) {
+        return records.get(base(slot) + DONE) != 0;
+    }
+
+    private static int base(int slot) {
+        return slot * RECORD_SIZE;
+    }
+
+    /**
+     * Helper method to build ToDo objects for the given slots.
+     */
+    private List<ToDo> materialize(int[] slots) {
+        List<ToDo> result = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            result.add(materialize(slot));
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to build a ToDo object from a record.
+     */
+    private ToDo materialize(int slot) {
+        int base = base(slot);
+        byte priority = records.get(base + PRIORITY);
+
+        ToDo toDo = new ToDo();
+        toDo.setId(records.getLong(base + ID));
+        toDo.setText(readText(slot));
+        toDo.setDueDate(readDate(slot, DUE_SECONDS, DUE_NANOS));
+        toDo.setDoneFlag(isDone(slot));
+        toDo.setDoneDate(readDate(slot, DONE_SECONDS, DONE_NANOS));
+        toDo.setPriority(priority == NO_PRIORITY ? null : PRIORITIES[priority]);
+        toDo.setCreationTime(readDate(slot, CREATED_SECONDS, CREATED_NANOS));
+        return toDo;
+    }
+
+    private String readText(int slot) {
+        int base = base(slot);
+        int length = records.getInt(base + TEXT_LENGTH);
+        if (length == NULL_TEXT) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        textArea.buffer().get(records.getInt(base + TEXT_ADDRESS), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private LocalDateTime readDate(int slot, int secondsField, int nanosField) {
+        long seconds = records.getLong(base(slot) + secondsField);
+        return seconds == NO_DATE ? null
+                : LocalDateTime.ofEpochSecond(seconds, records.getInt(base(slot) + nanosField), ZoneOffset.UTC);
+    }
+
+    /**
+     * Helper method to write every field of a ToDo into a record, allocating a
+     * text block for its original and lower-cased text.
+     */
+    private void write(int slot, ToDo toDo) {
+        String text = toDo.getText();
+        byte[] original = text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+        byte[] folded = text == null ? new byte[0] : text.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        int address = textArea.allocate(original.length + folded.length);
+        ByteBuffer textBuffer = textArea.buffer();
+        textBuffer.put(address, original);
+        textBuffer.put(address + original.length, folded);
+
+        int base = base(slot);
+        records.putLong(base + ID, toDo.getId());
+        writeDate(base, DUE_SECONDS, DUE_NANOS, toDo.getDueDate());
+        writeDate(base, DONE_SECONDS, DONE_NANOS, toDo.getDoneDate());
+        writeDate(base, CREATED_SECONDS, CREATED_NANOS, toDo.getCreationTime());
+        records.putInt(base + TEXT_ADDRESS, address);
+        records.putInt(base + TEXT_LENGTH, text == null ? NULL_TEXT : original.length);
+        records.putInt(base + FOLDED_LENGTH, folded.length);
+        records.put(base + PRIORITY,
+                toDo.getPriority() == null ? NO_PRIORITY : (byte) toDo.getPriority().ordinal());
+        records.put(base + DONE, (byte) (toDo.isDoneFlag() ? 1 : 0));
+        records.put(base + LIVE, (byte) 1);
+    }
+
+    private void writeDate(int base, int secondsField, int nanosField, LocalDateTime date) {
+        records.putLong(base + secondsField, date == null ? NO_DATE : date.toEpochSecond(ZoneOffset.UTC));
+        records.putInt(base + nanosField, date == null ? 0 : date.getNano());
+    }
+
+    private void freeText(int slot) {
+        int base = base(slot);
+        textArea.free(records.getInt(base + TEXT_ADDRESS),
+                Math.max(records.getInt(base + TEXT_LENGTH), 0) + records.getInt(base + FOLDED_LENGTH));
+    }
+
+    /**
+     * Helper method to take a free record slot, reusing deleted slots first
+     * and growing the record buffer when full.
+     *
+     * @return index of an empty slot
+     */
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (base(highWater) == records.capacity()) {
+            int count = (int) Math.min(2L * highWater, MAX_RECORDS);
+            if (count == highWater) {
+                throw new IllegalStateException("Off-heap record area is full");
+            }
+            ByteBuffer grown = allocateRecords(count);
+            grown.put(0, records, 0, base(highWater));
+            records = grown;
+        }
+        return highWater++;
+    }
+
+    private static ByteBuffer allocateRecords(int count) {
+        return ByteBuffer.allocateDirect(count * RECORD_SIZE).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,316 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable hash array mapped trie keyed by primitive longs.
+ * Every update returns a new map that shares all untouched nodes with the
+ * previous one, so old versions stay valid and cheap to keep around.
+ * Keys are consumed five bits at a time from the least significant end,
+ * which spreads sequential IDs evenly across branches.
+ *
+ * @param <V> the type of mapped values
+ * @author gupiluan
+ */
+final class PersistentLongMap<V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** Most node levels on a path, one per five bits of a key */
+    private static final int MAX_DEPTH = (Long.SIZE + BITS - 1) / BITS + 1;
+
+    private static final PersistentLongMap<?> EMPTY = new PersistentLongMap<>(Node.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentLongMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <V> the type of mapped values
+     * @return shared empty instance
+     */
+    @SuppressWarnings("unchecked")
+    static <V> PersistentLongMap<V> empty() {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    /**
+     * @return number of entries in the map
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Looks up the value mapped to a key.
+     *
+     * @param key the key
+     * @return the mapped value, null if absent
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Node node = root;
+        for (int shift = 0;; shift += BITS) {
+            int bit = 1 << index(key, shift);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object entry = node.entries[node.position(bit)];
+            if (entry instanceof Leaf leaf) {
+                return leaf.key == key ? (V) leaf.value : null;
+            }
+            node = (Node) entry;
+        }
+    }
+
+    /**
+     * Returns a map with the given key mapped to the value.
+     *
+     * @param key   the key
+     * @param value the value, not null
+     * @return updated map sharing structure with this one
+     */
+    PersistentLongMap<V> put(long key, V value) {
+        boolean[] added = new boolean[1];
+        Node updated = put(root, new Leaf(key, value), 0, added);
+        return updated == root ? this : new PersistentLongMap<>(updated, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the given key.
+     *
+     * @param key the key
+     * @return updated map sharing structure with this one
+     */
+    PersistentLongMap<V> remove(long key) {
+        Node updated = remove(root, key, 0);
+        if (updated == root) {
+            return this;
+        }
+        return updated == null ? empty() : new PersistentLongMap<>(updated, size - 1);
+    }
+
+    /**
+     * Visits every value in unspecified order.
+     *
+     * @param action receives each value
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super V> action) {
+        forEach(root, leaf -> action.accept((V) leaf.value));
+    }
+
+    /**
+     * Iterates over every value in the order forEach visits them. Holds one
+     * position per trie level, so memory does not grow with the map.
+     *
+     * @return iterator over the values
+     */
+    Iterator<V> iterator() {
+        return new Iterator<>() {
+
+            private final Node[] nodes = new Node[MAX_DEPTH];
+            private final int[] positions = new int[MAX_DEPTH];
+            private int depth;
+            private Leaf next;
+
+            {
+                nodes[0] = root;
+                advance();
+            }
+
+            private void advance() {
+                next = null;
+                while (depth >= 0) {
+                    Node node = nodes[depth];
+                    if (positions[depth] == node.entries.length) {
+                        depth--;
+                        continue;
+                    }
+                    Object entry = node.entries[positions[depth]++];
+                    if (entry instanceof Leaf leaf) {
+                        next = leaf;
+                        return;
+                    }
+                    depth++;
+                    nodes[depth] = (Node) entry;
+                    positions[depth] = 0;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                V value = (V) next.value;
+                advance();
+                return value;
+            }
+        };
+    }
+
+    /**
+     * @return lazy sequential stream over the values, in iterator order
+     */
+    Stream<V> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size, Spliterator.NONNULL), false);
+    }
+
+    private static void forEach(Node node, Consumer<Leaf> action) {
+        for (Object entry : node.entries) {
+            if (entry instanceof Leaf leaf) {
+                action.accept(leaf);
+            } else {
+                forEach((Node) entry, action);
+            }
+        }
+    }
+
+    private static int index(long key, int shift) {
+        return (int) (key >>> shift) & MASK;
+    }
+
+    private static Node put(Node node, Leaf leaf, int shift, boolean[] added) {
+        int bit = 1 << index(leaf.key, shift);
+        int position = node.position(bit);
+
+        if ((node.bitmap & bit) == 0) {
+            added[0] = true;
+            return node.insert(bit, position, leaf);
+        }
+
+        Object entry = node.entries[position];
+        if (entry instanceof Leaf existing) {
+            if (existing.key == leaf.key) {
+                return existing.value == leaf.value ? node : node.replace(position, leaf);
+            }
+            added[0] = true;
+            return node.replace(position, merge(existing, leaf, shift + BITS));
+        }
+
+        Node child = (Node) entry;
+        Node updated = put(child, leaf, shift + BITS, added);
+        return updated == child ? node : node.replace(position, updated);
+    }
+
+    private static Node merge(Leaf first, Leaf second, int shift) {
+        int firstIndex = index(first.key, shift);
+        int secondIndex = index(second.key, shift);
+        if (firstIndex == secondIndex) {
+            return new Node(1 << firstIndex, new Object[] { merge(first, second, shift + BITS) });
+        }
+        Object[] entries = firstIndex < secondIndex
+                ? new Object[] { first, second }
+                : new Object[] { second, first };
+        return new Node((1 << firstIndex) | (1 << secondIndex), entries);
+    }
+
+    /**
+     * @return the updated node, the same node if the key is absent, or null
+     *         if the node became empty
+     */
+    private static Node remove(Node node, long key, int shift) {
+        int bit = 1 << index(key, shift);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+
+        int position = node.position(bit);
+        Object entry = node.entries[position];
+        if (entry instanceof Leaf leaf) {
+            return leaf.key == key ? node.delete(bit, position) : node;
+        }
+
+        Node child = (Node) entry;
+        Node updated = remove(child, key, shift + BITS);
+        if (updated == child) {
+            return node;
+        }
+        if (updated == null) {
+            return node.delete(bit, position);
+        }
+        // Pull a lone leaf up so the trie stays as shallow as possible
+        if (updated.entries.length == 1 && updated.entries[0] instanceof Leaf) {
+            return node.replace(position, updated.entries[0]);
+        }
+        return node.replace(position, updated);
+    }
+
+    /**
+     * Key-value entry stored in the trie.
+     */
+    private static final class Leaf {
+
+        private final long key;
+        private final Object value;
+
+        private Leaf(long key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bitmap-compressed trie node holding leaves and child nodes.
+     */
+    private static final class Node {
+
+        private static final Node EMPTY = new Node(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] entries;
+
+        private Node(int bitmap, Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+
+        private int position(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private Node insert(int bit, int position, Object entry) {
+            Object[] copy = new Object[entries.length + 1];
+            System.arraycopy(entries, 0, copy, 0, position);
+            copy[position] = entry;
+            System.arraycopy(entries, position, copy, position + 1, entries.length - position);
+            return new Node(bitmap | bit, copy);
+        }
+
+        private Node replace(int position, Object entry) {
+            Object[] copy = entries.clone();
+            copy[position] = entry;
+            return new Node(bitmap, copy);
+        }
+
+        private Node delete(int bit, int position) {
+            if (entries.length == 1) {
+                return null;
+            }
+            Object[] copy = new Object[entries.length - 1];
+            System.arraycopy(entries, 0, copy, 0, position);
+            System.arraycopy(entries, position + 1, copy, position, entries.length - position - 1);
+            return new Node(bitmap & ~bit, copy);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+
+/**
+ * Copy-on-write in-memory implementation of the ToDo repository for
+ * read-heavy workloads.
+ * Enabled with todo.repository.type=snapshot.
+ *
+ * All data lives in an immutable Snapshot (persistent hash tries for the
+ * items and their priority and status indexes) published through a volatile
+ * reference. Readers never lock and always see a consistent point-in-time
+ * view. Writers are serialized and publish a new snapshot that shares every
+ * untouched trie node with the previous one.
+ *
+ * An atomic step builds its snapshots in a working copy that only the
+ * step's thread reads, and publishes the result once when the action
+ * returns, so readers never see a step half-applied. An action that throws
+ * publishes nothing.
+ *
+ * Stored items are private copies: reads return copies and writes store
+ * copies, so callers mutating a returned ToDo cannot alter a published
+ * snapshot.
+ *
+ * @author gupiluan
+ */
+@Repository
+@ConditionalOnProperty(name = "todo.repository.type", havingValue = "snapshot")
+public class SnapshotToDoRepository implements IToDoRepository {
+
+    /** Latest published snapshot */
+    private volatile Snapshot current = Snapshot.EMPTY;
+
+    /** Serializes writers; readers never take it */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Unpublished snapshot of the running atomic step, null outside one.
+     * Only the thread holding writeLock reads or writes it.
+     */
+    private Snapshot working;
+
+    /**
+     * Returns the latest published snapshot.
+     * Callers paging through several requests can hold on to it to get a
+     * stable view unaffected by later writes.
+     *
+     * @return immutable point-in-time view of the repository
+     */
+    public Snapshot currentSnapshot() {
+        return current;
+    }
+
+    @Override
+    public Optional<ToDo> findById(Long id) {
+        return view().findById(id);
+    }
+
+    @Override
+    public ToDo save(ToDo toDo) {
+        writeLock.lock();
+        try {
+            Snapshot snapshot = view();
+            if (toDo.getId() == null) {
+                toDo.setId(snapshot.nextId);
+                if (toDo.getCreationTime() == null) {
+                    toDo.setCreationTime(LocalDateTime.now());
+                }
+            }
+            publish(snapshot.with(toDo.copy()));
+            return toDo;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean update(ToDo toDo) {
+        writeLock.lock();
+        try {
+            Snapshot snapshot = view();
+            ToDo existing = toDo.getId() == null ? null : snapshot.items.get(toDo.getId());
+            if (existing == null) {
+                return false;
+            }
+
+            // Preserve creation time during updates
+            if (existing.getCreationTime() != null) {
+                toDo.setCreationTime(existing.getCreationTime());
+            }
+
+            publish(snapshot.with(toDo.copy()));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action against a working copy and publishes it once the
+     * action returns. Nested steps join the outer one.
+     */
+    @Override
+    public <T> T executeAtomically(Supplier<T> action) {
+        writeLock.lock();
+        try {
+            if (working != null) {
+                return action.get();
+            }
+            working = current;
+            try {
+                T result = action.get();
+                current = working;
+                return result;
+            } finally {
+                working = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public ToDo deleteByIdAndReturn(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        writeLock.lock();
+        try {
+            Snapshot snapshot = view();
+            ToDo existing = snapshot.items.get(id);
+            if (existing == null) {
+                return null;
+            }
+            publish(snapshot.without(existing));
+            return existing.copy();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        writeLock.lock();
+        try {
+            publish(new Snapshot(view().version + 1, 1L, PersistentLongMap.empty(), PersistentLongMap.empty(),
+                    Snapshot.EMPTY.byPriority));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findAll() {
+        return view().findAll();
+    }
+
+    @Override
+    public Page<ToDo> findWithFilters(String text, Boolean doneFlag, Priority priority, Pageable pageable) {
+        return view().findWithFilters(text, doneFlag, priority, pageable);
+    }
+
+    @Override
+    public List<ToDo> findWithFiltersAfter(String text, Boolean doneFlag, Priority priority, Sort sort,
+            ToDoCursor after, int size) {
+        return view().findWithFiltersAfter(text, doneFlag, priority, sort, after, size);
+    }
+
+    @Override
+    public List<ToDo> findCompletedByPriority(Priority priority) {
+        Snapshot snapshot = view();
+        return snapshot.collect(snapshot.done, t -> t.getPriority() == priority);
+    }
+
+    @Override
+    public Duration getDurationBetween(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public List<ToDo> findByDoneFlag(boolean doneFlag) {
+        Snapshot snapshot = view();
+        return doneFlag
+                ? snapshot.collect(snapshot.done, t -> true)
+                : snapshot.collect(snapshot.items, t -> !t.isDoneFlag());
+    }
+
+    @Override
+    public List<ToDo> findByPriority(Priority priority) {
+        Snapshot snapshot = view();
+        return snapshot.collect(snapshot.byPriority.get(priority), t -> true);
+    }
+
+    @Override
+    public List<ToDo> findByDueDateBeforeAndDoneFlagFalse(LocalDateTime date) {
+        Snapshot snapshot = view();
+        return snapshot.collect(snapshot.items, t -> isOverdue(t, date));
+    }
+
+    /**
+     * Iterates the snapshot lazily into a bounded heap, so memory
+     * stays at the page size, and copies only the page.
+     */
+    @Override
+    public List<ToDo> findOverdueAfter(LocalDateTime date, Sort sort, ToDoCursor after, int size) {
+        Iterator<ToDo> overdue = view().items.stream()
+                .filter(t -> isOverdue(t, date))
+                .iterator();
+        return ToDoPageSelector.selectAfter(overdue, after, size, ToDoPageSelector.keysetComparatorFor(sort))
+                .stream()
+                .map(ToDo::copy)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Helper method to pick the snapshot a call sees: the working copy for
+     * the thread running an atomic step, the published one otherwise.
+     */
+    private Snapshot view() {
+        return writeLock.isHeldByCurrentThread() && working != null ? working : current;
+    }
+
+    /**
+     * Helper method to make a new snapshot visible: to the running atomic
+     * step only, or to every reader outside one. Callers hold writeLock.
+     */
+    private void publish(Snapshot snapshot) {
+        if (working != null) {
+            working = snapshot;
+        } else {
+            current = snapshot;
+        }
+    }
+
+    /**
+     * Helper method to test whether an item is open and due before a date.
+     */
+    private static boolean isOverdue(ToDo toDo, LocalDateTime date) {
+        return !toDo.isDoneFlag() && toDo.getDueDate() != null && toDo.getDueDate().isBefore(date);
+    }
+
+    /**
+     * Immutable point-in-time view of the repository.
+     * Holds the items keyed by ID plus per-priority and completed-item
+     * indexes, all as persistent tries sharing structure across versions.
+     */
+    public static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(0L, 1L, PersistentLongMap.empty(),
+                PersistentLongMap.empty(), emptyPriorityIndex());
+
+        /** Monotonic version, incremented on every write */
+        private final long version;
+
+        /** Next ID to assign */
+        private final long nextId;
+
+        /** All items keyed by ID */
+        private final PersistentLongMap<ToDo> items;
+
+        /** Completed items keyed by ID */
+        private final PersistentLongMap<ToDo> done;
+
+        /** Items keyed by ID for each priority level */
+        private final Map<Priority, PersistentLongMap<ToDo>> byPriority;
+
+        private Snapshot(long version, long nextId, PersistentLongMap<ToDo> items, PersistentLongMap<ToDo> done,
+                Map<Priority, PersistentLongMap<ToDo>> byPriority) {
+            this.version = version;
+            this.nextId = nextId;
+            this.items = items;
+            this.done = done;
+            this.byPriority = byPriority;
+        }
+
+        private static Map<Priority, PersistentLongMap<ToDo>> emptyPriorityIndex() {
+            Map<Priority, PersistentLongMap<ToDo>> index = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                index.put(priority, PersistentLongMap.empty());
+            }
+            return index;
+        }
+
+        /**
+         * @return version of this snapshot, incremented on every write
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return number of items in this snapshot
+         */
+        public int size() {
+            return items.size();
+        }
+
+        /**
+         * Retrieves a copy of the ToDo item with the given ID.
+         *
+         * @param id the ID of the ToDo item
+         * @return Optional containing a copy of the ToDo if found
+         */
+        public Optional<ToDo> findById(Long id) {
+            return Optional.ofNullable(items.get(id)).map(ToDo::copy);
+        }
+
+        /**
+         * Retrieves copies of all ToDo items ordered by ID.
+         *
+         * @return List of all ToDo items
+         */
+        public List<ToDo> findAll() {
+            return collect(items, t -> true).stream()
+                    .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Finds ToDo items matching the specified criteria with pagination.
+         *
+         * @param text     optional text filter (case-insensitive partial match)
+         * @param doneFlag optional completion status filter
+         * @param priority optional priority filter
+         * @param pageable pagination and sorting parameters
+         * @return Page of copies of the filtered ToDo items
+         */
+        public Page<ToDo> findWithFilters(String text, Boolean doneFlag, Priority priority, Pageable pageable) {
+            List<ToDo> matches = matching(text, doneFlag, priority);
+
+            List<ToDo> pageContent = ToDoPageSelector.select(matches.iterator(), matches.size(),
+                    (int) pageable.getOffset(), pageable.getPageSize(),
+                    ToDoPageSelector.comparatorFor(pageable.getSort()))
+                    .stream()
+                    .map(ToDo::copy)
+                    .collect(Collectors.toList());
+
+            return new PageImpl<>(pageContent, pageable, matches.size());
+        }
+
+        /**
+         * Finds the ToDo items matching the specified criteria that sort
+         * after a cursor. The index is iterated lazily into the bounded
+         * heap, and only the rows of the page are copied.
+         *
+         * @param text     optional text filter (case-insensitive partial match)
+         * @param doneFlag optional completion status filter
+         * @param priority optional priority filter
+         * @param sort     ordering on due date, priority and ID
+         * @param after    position of the last row already returned, null
+         *                 for the first page
+         * @param size     maximum number of items to return
+         * @return copies of the matching items after the cursor, in order
+         */
+        public List<ToDo> findWithFiltersAfter(String text, Boolean doneFlag, Priority priority, Sort sort,
+                ToDoCursor after, int size) {
+            Iterator<ToDo> matches = source(doneFlag, priority).stream()
+                    .filter(filter(text, doneFlag))
+                    .iterator();
+            return ToDoPageSelector.selectAfter(matches, after, size,
+                    ToDoPageSelector.keysetComparatorFor(sort))
+                    .stream()
+                    .map(ToDo::copy)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Collects the stored items matching the filters, starting from the
+         * smallest index that covers them.
+         */
+        private List<ToDo> matching(String text, Boolean doneFlag, Priority priority) {
+            Predicate<ToDo> filter = filter(text, doneFlag);
+            List<ToDo> matches = new ArrayList<>();
+            source(doneFlag, priority).forEach(t -> {
+                if (filter.test(t)) {
+                    matches.add(t);
+                }
+            });
+            return matches;
+        }
+
+        /**
+         * Picks the smallest index that covers the priority and status
+         * filters.
+         */
+        private PersistentLongMap<ToDo> source(Boolean doneFlag, Priority priority) {
+            return priority != null ? byPriority.get(priority)
+                    : Boolean.TRUE.equals(doneFlag) ? done : items;
+        }
+
+        /**
+         * Builds the test for the text and status filters; the priority
+         * filter is applied by the source index.
+         */
+        private static Predicate<ToDo> filter(String text, Boolean doneFlag) {
+            String folded = text == null ? null : text.toLowerCase(Locale.ROOT);
+            return t -> (doneFlag == null || t.isDoneFlag() == doneFlag)
+                    && (folded == null
+                            || (t.getText() != null && t.getText().toLowerCase(Locale.ROOT).contains(folded)));
+        }
+
+        private List<ToDo> collect(PersistentLongMap<ToDo> source, Predicate<ToDo> filter) {
+            List<ToDo> result = new ArrayList<>();
+            source.forEach(t -> {
+                if (filter.test(t)) {
+                    result.add(t.copy());
+                }
+            });
+            return result;
+        }
+
+        /**
+         * Returns a snapshot with the given stored copy added or replaced.
+         */
+        private Snapshot with(ToDo stored) {
+            ToDo existing = items.get(stored.getId());
+            Snapshot base = existing == null ? this : without(existing);
+
+            Map<Priority, PersistentLongMap<ToDo>> priorities = base.byPriority;
+            if (stored.getPriority() != null) {
+                priorities = new EnumMap<>(base.byPriority);
+                priorities.put(stored.getPriority(),
+                        priorities.get(stored.getPriority()).put(stored.getId(), stored));
+            }
+
+            return new Snapshot(version + 1,
+                    Math.max(nextId, stored.getId() + 1),
+                    base.items.put(stored.getId(), stored),
+                    stored.isDoneFlag() ? base.done.put(stored.getId(), stored) : base.done,
+                    priorities);
+        }
+
+        /**
+         * Returns a snapshot without the given stored item.
+         */
+        private Snapshot without(ToDo existing) {
+            Map<Priority, PersistentLongMap<ToDo>> priorities = byPriority;
+            if (existing.getPriority() != null) {
+                priorities = new EnumMap<>(byPriority);
+                priorities.put(existing.getPriority(),
+                        priorities.get(existing.getPriority()).remove(existing.getId()));
+            }
+
+            return new Snapshot(version + 1, nextId,
+                    items.remove(existing.getId()),
+                    done.remove(existing.getId()),
+                    priorities);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Secondary bitmap indexes over repository slots.
+ * Keeps one bitset per priority level and one for completed items so that
+ * status and priority filters are answered by bitmap intersection instead of
+ * scanning every stored ToDo.
+ *
+ * This class is not thread-safe; callers must hold the repository lock.
+ *
+ * @author gupiluan
+ */
+final class ToDoBitmapIndex {
+
+    /** Slots currently holding a ToDo item */
+    private final BitSet live = new BitSet();
+
+    /** Slots holding a completed ToDo item */
+    private final BitSet done = new BitSet();
+
+    /** Slots grouped by priority level */
+    private final Map<Priority, BitSet> byPriority = new EnumMap<>(Priority.class);
+
+    ToDoBitmapIndex() {
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new BitSet());
+        }
+    }
+
+    /**
+     * Indexes the given ToDo at the specified slot, replacing any previous entry.
+     *
+     * @param slot the storage slot of the ToDo
+     * @param toDo the ToDo item to index
+     */
+    void put(int slot, ToDo toDo) {
+        remove(slot);
+        live.set(slot);
+        done.set(slot, toDo.isDoneFlag());
+        if (toDo.getPriority() != null) {
+            byPriority.get(toDo.getPriority()).set(slot);
+        }
+    }
+
+    /**
+     * Removes the specified slot from every index.
+     * Does not rely on the previous ToDo state, which callers may have mutated
+     * in place before calling update.
+     *
+     * @param slot the storage slot to clear
+     */
+    void remove(int slot) {
+        live.clear(slot);
+        done.clear(slot);
+        for (BitSet slots : byPriority.values()) {
+            slots.clear(slot);
+        }
+    }
+
+    /**
+     * Clears every index.
+     */
+    void clear() {
+        live.clear();
+        done.clear();
+        byPriority.values().forEach(BitSet::clear);
+    }
+
+    /**
+     * Computes the slots matching the given optional filters.
+     *
+     * @param doneFlag optional completion status filter
+     * @param priority optional priority filter
+     * @return new bitset with the matching slots
+     */
+    BitSet select(Boolean doneFlag, Priority priority) {
+        BitSet result = (BitSet) (priority == null ? live : byPriority.get(priority)).clone();
+        if (doneFlag != null) {
+            if (doneFlag) {
+                result.and(done);
+            } else {
+                result.andNot(done);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,175 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.gupiluan.to_do_backend.model.CompletionHistogram;
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Running completion statistics per priority: the number of completed items,
+ * the sum of their completion times in minutes and a histogram of their
+ * completion times in seconds.
+ * Each slot's contribution is remembered at write time, so a ToDo mutated in
+ * place before its update is still subtracted with the values it was counted
+ * with.
+ *
+ * Not thread-safe; callers serialize writes.
+ *
+ * @author gupiluan
+ */
+final class ToDoCompletionStats {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /** Marks a slot that does not count towards any priority */
+    private static final byte NOT_COUNTED = -1;
+
+    private final long[] counts = new long[PRIORITIES.length];
+    private final long[] minuteSums = new long[PRIORITIES.length];
+    private final CompletionHistogram[] histograms = new CompletionHistogram[PRIORITIES.length];
+
+    /** Priority ordinal each slot is counted under, NOT_COUNTED if none */
+    private byte[] priorityBySlot = new byte[0];
+
+    /** Completion seconds each slot contributes */
+    private long[] secondsBySlot = new long[0];
+
+    ToDoCompletionStats() {
+        for (int priority = 0; priority < histograms.length; priority++) {
+            histograms[priority] = new CompletionHistogram();
+        }
+    }
+
+    /**
+     * Counts the ToDo stored at the given slot, replacing its previous
+     * contribution.
+     *
+     * @param slot the storage slot
+     * @param toDo the stored ToDo item
+     */
+    void put(int slot, ToDo toDo) {
+        remove(slot);
+        if (!toDo.isDoneFlag() || toDo.getPriority() == null) {
+            return;
+        }
+
+        int priority = toDo.getPriority().ordinal();
+        long seconds = completionSeconds(toDo);
+        priorityBySlot[slot] = (byte) priority;
+        secondsBySlot[slot] = seconds;
+        counts[priority]++;
+        minuteSums[priority] += seconds / 60;
+        histograms[priority].record(seconds);
+    }
+
+    /**
+     * Removes the contribution of the given slot.
+     *
+     * @param slot the storage slot
+     */
+    void remove(int slot) {
+        ensureCapacity(slot + 1);
+        int priority = priorityBySlot[slot];
+        if (priority == NOT_COUNTED) {
+            return;
+        }
+        long seconds = secondsBySlot[slot];
+        counts[priority]--;
+        minuteSums[priority] -= seconds / 60;
+        histograms[priority].remove(seconds);
+        priorityBySlot[slot] = NOT_COUNTED;
+        secondsBySlot[slot] = 0;
+    }
+
+    /**
+     * Resets every counter.
+     */
+    void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(minuteSums, 0);
+        for (CompletionHistogram histogram : histograms) {
+            histogram.clear();
+        }
+        priorityBySlot = new byte[0];
+        secondsBySlot = new long[0];
+    }
+
+    /**
+     * @return average completion minutes for every priority, 0 when none
+     *         are completed
+     */
+    Map<Priority, Integer> averageMinutes() {
+        Map<Priority, Integer> averages = new EnumMap<>(Priority.class);
+        for (Priority priority : PRIORITIES) {
+            long count = counts[priority.ordinal()];
+            averages.put(priority, count == 0 ? 0 : (int) (minuteSums[priority.ordinal()] / count));
+        }
+        return averages;
+    }
+
+    /**
+     * @return copies of the completion time histograms for every priority
+     */
+    Map<Priority, CompletionHistogram> histograms() {
+        Map<Priority, CompletionHistogram> copies = new EnumMap<>(Priority.class);
+        for (Priority priority : PRIORITIES) {
+            copies.put(priority, histograms[priority.ordinal()].copy());
+        }
+        return copies;
+    }
+
+    /**
+     * Recomputes the statistics from scratch, for verifying the running
+     * counters.
+     *
+     * @param toDos every stored ToDo item
+     * @return statistics holding the same totals the counters should have
+     */
+    static ToDoCompletionStats recompute(Iterable<ToDo> toDos) {
+        ToDoCompletionStats stats = new ToDoCompletionStats();
+        int slot = 0;
+        for (ToDo toDo : toDos) {
+            stats.put(slot++, toDo);
+        }
+        return stats;
+    }
+
+    /**
+     * Checks that two statistics hold the same totals.
+     *
+     * @param other statistics to compare with
+     * @return true if counts, minute sums and histograms match for every
+     *         priority
+     */
+    boolean sameTotals(ToDoCompletionStats other) {
+        return Arrays.equals(counts, other.counts) && Arrays.equals(minuteSums, other.minuteSums)
+                && Arrays.equals(histograms, other.histograms);
+    }
+
+    /**
+     * Completion time as counted by the statistics: items missing a creation
+     * or completion time count with zero seconds. Whole minutes are derived
+     * from the seconds the same way Duration.toMinutes() does.
+     */
+    private static long completionSeconds(ToDo toDo) {
+        if (toDo.getCreationTime() == null || toDo.getDoneDate() == null) {
+            return 0;
+        }
+        return Duration.between(toDo.getCreationTime(), toDo.getDoneDate()).getSeconds();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (priorityBySlot.length >= capacity) {
+            return;
+        }
+        int grown = Math.max(capacity, Math.max(16, priorityBySlot.length * 2));
+        int previous = priorityBySlot.length;
+        priorityBySlot = Arrays.copyOf(priorityBySlot, grown);
+        Arrays.fill(priorityBySlot, previous, grown, NOT_COUNTED);
+        secondsBySlot = Arrays.copyOf(secondsBySlot, grown);
+    }
+}
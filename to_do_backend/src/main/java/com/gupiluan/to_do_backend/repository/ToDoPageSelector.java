@@ -0,0 +1,408 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+
+/**
+ * Paging engine for in-memory repositories.
+ * Compiles a Sort specification into a Comparator chain once per query and
+ * selects only the rows needed for the requested page using a bounded heap,
+ * instead of sorting every matching item.
+ *
+ * @author gupiluan
+ */
+final class ToDoPageSelector {
+
+    /**
+     * Above this fraction of the input, a full sort is cheaper than a heap
+     */
+    private static final int FULL_SORT_DIVISOR = 4;
+
+    /** Initial heap capacity cap, so large page sizes do not preallocate */
+    private static final int MAX_INITIAL_HEAP = 1024;
+
+    private ToDoPageSelector() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Compiles a Sort specification into a Comparator chain.
+     * Unknown properties are ignored, matching previous behaviour.
+     *
+     * @param sort the sorting specification
+     * @return comparator applying every order in sequence, null if unsorted
+     */
+    static Comparator<ToDo> comparatorFor(Sort sort) {
+        Comparator<ToDo> chain = null;
+        for (Order order : sort) {
+            Comparator<ToDo> field = comparatorFor(order.getProperty());
+            if (field == null) {
+                continue;
+            }
+            if (order.isDescending()) {
+                field = field.reversed();
+            }
+            chain = chain == null ? field : chain.thenComparing(field);
+        }
+        return chain;
+    }
+
+    /**
+     * Compiles a Sort specification into a Comparator chain ending with the
+     * ID, so every row has a unique position a cursor can point at.
+     *
+     * @param sort the sorting specification
+     * @return comparator applying every order, then ascending ID if absent
+     */
+    static Comparator<ToDo> keysetComparatorFor(Sort sort) {
+        return comparatorFor(keysetSort(sort));
+    }
+
+    /**
+     * Completes a Sort specification with ascending ID if it does not
+     * contain it, so every row has a unique position.
+     *
+     * @param sort the sorting specification
+     * @return the completed specification
+     */
+    static Sort keysetSort(Sort sort) {
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+    }
+
+    /**
+     * Builds the test for rows that sort after a cursor.
+     * Counterpart of the cursor skip in selectAfter for storage engines that
+     * compare rows in place instead of materializing ToDo objects.
+     *
+     * @param sort   the sorting specification
+     * @param cursor comparison of a slot with the cursor, field by field
+     * @return predicate accepting the slots after the cursor
+     */
+    static IntPredicate slotsAfter(Sort sort, CursorComparator cursor) {
+        List<Order> orders = keysetSort(sort).toList();
+        return slot -> {
+            for (Order order : orders) {
+                int result = cursor.compare(slot, order.getProperty());
+                if (result != 0) {
+                    return order.isAscending() ? result > 0 : result < 0;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Selects the first rows that sort after a cursor.
+     * Rows up to the cursor are skipped by comparing keys rather than
+     * counting, so the result stays stable under concurrent inserts and
+     * deletes before the cursor. The rest go through a bounded max-heap of
+     * size rows, so memory does not grow with the number of items.
+     *
+     * @param items      iterator over all matching items
+     * @param after      position of the last row already returned, null to
+     *                   start from the first row
+     * @param size       maximum number of rows
+     * @param comparator sort order from keysetComparatorFor
+     * @return the rows after the cursor, in order
+     */
+    static List<ToDo> selectAfter(Iterator<ToDo> items, ToDoCursor after, int size, Comparator<ToDo> comparator) {
+        if (size <= 0) {
+            return List.of();
+        }
+        return smallest(items, size, comparator, after == null ? null : probeFor(after));
+    }
+
+    /**
+     * Creates a ToDo carrying only the sort key of a cursor, for comparisons.
+     *
+     * @param cursor the cursor
+     * @return ToDo with the cursor's due date, priority and ID
+     */
+    static ToDo probeFor(ToDoCursor cursor) {
+        ToDo probe = new ToDo();
+        probe.setDueDate(cursor.getDueDate());
+        probe.setPriority(cursor.getPriority());
+        probe.setId(cursor.getId());
+        return probe;
+    }
+
+    /**
+     * Selects the rows for a page from the matching items.
+     *
+     * @param items      iterator over all matching items
+     * @param total      number of matching items
+     * @param offset     index of the first row of the page
+     * @param size       maximum number of rows in the page
+     * @param comparator sort order, null to keep iteration order
+     * @return the rows of the page, in order
+     */
+    static List<ToDo> select(Iterator<ToDo> items, int total, int offset, int size, Comparator<ToDo> comparator) {
+        if (offset >= total) {
+            return List.of();
+        }
+        int end = (int) Math.min((long) offset + size, total);
+
+        if (comparator == null) {
+            List<ToDo> page = new ArrayList<>(end - offset);
+            for (int i = 0; i < end && items.hasNext(); i++) {
+                ToDo toDo = items.next();
+                if (i >= offset) {
+                    page.add(toDo);
+                }
+            }
+            return page;
+        }
+
+        List<ToDo> firstRows = end > total / FULL_SORT_DIVISOR
+                ? sortAll(items, total, comparator)
+                : smallest(items, end, comparator, null);
+        return firstRows.subList(offset, Math.min(end, firstRows.size()));
+    }
+
+    /**
+     * Sorts every item; used when the page reaches deep into the result.
+     */
+    private static List<ToDo> sortAll(Iterator<ToDo> items, int total, Comparator<ToDo> comparator) {
+        List<ToDo> all = new ArrayList<>(total);
+        items.forEachRemaining(all::add);
+        all.sort(comparator);
+        return all;
+    }
+
+    /**
+     * Keeps the k smallest items in a bounded max-heap and returns them sorted.
+     * Items not after the probe, if there is one, are dropped as they are read.
+     */
+    private static List<ToDo> smallest(Iterator<ToDo> items, int k, Comparator<ToDo> comparator, ToDo probe) {
+        Comparator<ToDo> reversed = comparator.reversed();
+        PriorityQueue<ToDo> heap = new PriorityQueue<>(Math.min(k, MAX_INITIAL_HEAP) + 1, reversed);
+
+        while (items.hasNext()) {
+            ToDo toDo = items.next();
+            if (probe != null && comparator.compare(toDo, probe) <= 0) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(toDo);
+            } else if (comparator.compare(toDo, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(toDo);
+            }
+        }
+
+        List<ToDo> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+
+    /**
+     * Selects the slots for a page from matching row slots.
+     * Counterpart of select for storage engines that compare rows in place
+     * instead of materializing ToDo objects.
+     *
+     * @param slots      matching slots, reordered in place
+     * @param total      number of matching slots at the start of the array
+     * @param offset     index of the first row of the page
+     * @param size       maximum number of rows in the page
+     * @param comparator slot order, null to keep the given order
+     * @return the slots of the page, in order
+     */
+    static int[] selectSlots(int[] slots, int total, int offset, int size, SlotComparator comparator) {
+        if (offset >= total) {
+            return new int[0];
+        }
+        int end = (int) Math.min((long) offset + size, total);
+
+        if (comparator != null) {
+            smallestSlots(slots, total, end, comparator);
+        }
+        return Arrays.copyOfRange(slots, offset, end);
+    }
+
+    /**
+     * Selects the first slots accepted by a filter, keeping them in a bounded
+     * max-heap while the slots are visited instead of collecting every match.
+     * Counterpart of selectAfter for storage engines that compare rows in
+     * place instead of materializing ToDo objects.
+     *
+     * @param slotCount  number of slots to visit, from slot 0
+     * @param filter     accepts the matching slots
+     * @param size       maximum number of slots
+     * @param comparator slot order
+     * @return the first matching slots, in order
+     */
+    static int[] firstSlots(int slotCount, IntPredicate filter, int size, SlotComparator comparator) {
+        if (size <= 0) {
+            return new int[0];
+        }
+        int[] heap = new int[Math.min(size, MAX_INITIAL_HEAP)];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!filter.test(slot)) {
+                continue;
+            }
+            if (count < size) {
+                if (count == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min(2L * heap.length, size));
+                }
+                heap[count] = slot;
+                siftUp(heap, count++, comparator);
+            } else if (comparator.compare(slot, heap[0]) < 0) {
+                heap[0] = slot;
+                siftDown(heap, 0, count, comparator);
+            }
+        }
+        sortHeap(heap, count, comparator);
+        return count == heap.length ? heap : Arrays.copyOf(heap, count);
+    }
+
+    /**
+     * Moves the k smallest slots to the front of the array, sorted.
+     * Keeps them in a bounded max-heap at the front, then heap-sorts it.
+     */
+    private static void smallestSlots(int[] slots, int total, int k, SlotComparator comparator) {
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            siftDown(slots, i, k, comparator);
+        }
+        for (int i = k; i < total; i++) {
+            if (comparator.compare(slots[i], slots[0]) < 0) {
+                slots[0] = slots[i];
+                siftDown(slots, 0, k, comparator);
+            }
+        }
+        sortHeap(slots, k, comparator);
+    }
+
+    /**
+     * Sorts a max-heap of slots in place into ascending order.
+     */
+    private static void sortHeap(int[] heap, int size, SlotComparator comparator) {
+        for (int last = size - 1; last > 0; last--) {
+            int largest = heap[0];
+            heap[0] = heap[last];
+            heap[last] = largest;
+            siftDown(heap, 0, last, comparator);
+        }
+    }
+
+    private static void siftUp(int[] heap, int index, SlotComparator comparator) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (comparator.compare(heap[parent], slot) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private static void siftDown(int[] heap, int index, int size, SlotComparator comparator) {
+        int slot = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && comparator.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(heap[child], slot) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+
+    /**
+     * Builds the ascending comparator for a single ToDo field.
+     */
+    private static Comparator<ToDo> comparatorFor(String field) {
+        switch (field) {
+            case "id":
+                return Comparator.comparing(ToDo::getId);
+            case "text":
+                return Comparator.comparing(ToDo::getText);
+            case "dueDate":
+                // Items without due date sort after dated ones when ascending
+                return (a, b) -> {
+                    if (a.getDueDate() == null && b.getDueDate() == null)
+                        return 0;
+                    if (a.getDueDate() == null)
+                        return 1;
+                    if (b.getDueDate() == null)
+                        return -1;
+                    return a.getDueDate().compareTo(b.getDueDate());
+                };
+            case "priority":
+                return (a, b) -> Priority.BY_RANK_ASC.compare(a.getPriority(), b.getPriority());
+            case "creationTime":
+                return Comparator.comparing(ToDo::getCreationTime);
+            case "doneFlag":
+                return (a, b) -> Boolean.compare(a.isDoneFlag(), b.isDoneFlag());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Comparison of storage slots with the row a cursor points at.
+     */
+    @FunctionalInterface
+    interface CursorComparator {
+
+        /**
+         * @param slot  the slot to compare
+         * @param field the sort property
+         * @return negative, zero or positive as the slot's value sorts before,
+         *         equal to or after the cursor's, ascending; zero for fields
+         *         a cursor does not hold
+         */
+        int compare(int slot, String field);
+    }
+
+    /**
+     * Ordering of storage slots, compared through their column values.
+     */
+    @FunctionalInterface
+    interface SlotComparator {
+
+        /**
+         * @return negative, zero or positive as slot a sorts before, equal to
+         *         or after slot b
+         */
+        int compare(int a, int b);
+
+        /**
+         * @return this ordering reversed
+         */
+        default SlotComparator reversed() {
+            return (a, b) -> compare(b, a);
+        }
+
+        /**
+         * @return this ordering, ties broken by the next one
+         */
+        default SlotComparator thenComparing(SlotComparator next) {
+            return (a, b) -> {
+                int result = compare(a, b);
+                return result != 0 ? result : next.compare(a, b);
+            };
+        }
+    }
+}
@@ -2,40 +2,96 @@ package com.gupiluan.to_do_backend.repository;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Order;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import com.gupiluan.to_do_backend.model.CompletionHistogram;
 import com.gupiluan.to_do_backend.model.Priority;
 import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+import com.gupiluan.to_do_backend.persistence.LogRecord;
+import com.gupiluan.to_do_backend.persistence.SnapshotStore;
+import com.gupiluan.to_do_backend.persistence.WriteAheadLog;
 
 /**
  * In-memory implementation of the ToDo repository.
- * Provides efficient data access operations using HashMap storage.
+ * Provides efficient data access operations using slot-based storage of
+ * compact rows (see CompactToDo) with secondary bitmap indexes on priority and completion status, a trigram
+ * index for text search, sorted views for the common orderings and running
+ * completion statistics.
  * Includes pagination and filtering capabilities similar to JPA repositories.
  * 
+ * Returned ToDo items are materialized from the rows and detached: changes
+ * become visible only through save or update.
+ * 
  * This implementation is thread-safe using ReentrantReadWriteLock:
  * - Multiple readers can access data concurrently
  * - Writers have exclusive access, blocking all readers and other writers
  * - Ensures data consistency and prevents race conditions
  * 
+ * When a WriteAheadLog bean is present, every change is appended to it under
+ * the write lock and awaited after the lock is released, so concurrent
+ * writers can share one disk sync. With a SnapshotStore, the full state can
+ * be snapshotted in the background so recovery only replays the log tail.
+ * 
+ * This is the default implementation (todo.repository.type=rw-lock).
+ * 
  * @author gupiluan
  */
 @Repository
+@ConditionalOnProperty(name = "todo.repository.type", havingValue = "rw-lock", matchIfMissing = true)
 public class ToDoRepository implements IToDoRepository {
 
-    /** In-memory storage for ToDo items */
-    private final Map<Long, ToDo> toDos = new HashMap<>();
+    /** Number of slots copied into a snapshot per read lock acquisition */
+    private static final int SNAPSHOT_CHUNK_SLOTS = 8192;
+
+    /**
+     * Storage slot assigned to each ToDo ID. Primitive keys and values, so
+     * lookups neither box the ID nor follow a node per entry.
+     */
+    private final LongIntHashMap slotsById = new LongIntHashMap();
+
+    /** Compact stored ToDo items, indexed by slot (null when free) */
+    private final List<CompactToDo> rows = new ArrayList<>();
+
+    /** Slots released by deletions, reused by subsequent saves */
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    /** Bitmap indexes on priority and completion status */
+    private final ToDoBitmapIndex index = new ToDoBitmapIndex();
+
+    /** Trigram index for case-insensitive text search */
+    private final ToDoTrigramIndex textIndex = new ToDoTrigramIndex();
+
+    /** Sorted views for due date, priority and ID orderings */
+    private final ToDoSortedViews sortedViews = new ToDoSortedViews();
+
+    /** Running completion statistics per priority */
+    private final ToDoCompletionStats completionStats = new ToDoCompletionStats();
 
     /** Counter for generating unique IDs */
     private Long idCounter = 1L;
@@ -43,11 +99,18 @@ public class ToDoRepository implements IToDoRepository {
     /** ReadWrite lock for thread-safe data access */
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /** Optional change log making writes durable */
+    private WriteAheadLog writeAheadLog;
+
+    /** Optional snapshot store bounding the log replayed on recovery */
+    private SnapshotStore snapshotStore;
+
     @Override
     public Optional<ToDo> findById(Long id) {
         lock.readLock().lock();
         try {
-            return Optional.ofNullable(toDos.get(id));
+            int slot = id == null ? LongIntHashMap.MISSING : slotsById.get(id);
+            return slot == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(rows.get(slot).toToDo());
         } finally {
             lock.readLock().unlock();
         }
@@ -55,69 +118,296 @@ public class ToDoRepository implements IToDoRepository {
 
     @Override
     public ToDo save(ToDo toDo) {
+        long lsn;
         lock.writeLock().lock();
         try {
             if (toDo.getId() == null) {
-                toDo.setId(idCounter++);
+                toDo.setId(idCounter);
                 if (toDo.getCreationTime() == null) {
                     toDo.setCreationTime(LocalDateTime.now());
                 }
             }
-            toDos.put(toDo.getId(), toDo);
-            return toDo;
+            put(toDo);
+            lsn = writeAheadLog == null ? 0 : writeAheadLog.appendPut(toDo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(lsn);
+        return toDo;
+    }
+
+    @Override
+    public List<ToDo> saveAll(Collection<ToDo> toDos) {
+        long lsn = 0;
+        lock.writeLock().lock();
+        try {
+            // Move past the explicit IDs first, then reserve one range for the new items
+            long newItems = 0;
+            for (ToDo toDo : toDos) {
+                if (toDo.getId() == null) {
+                    newItems++;
+                } else if (toDo.getId() >= idCounter) {
+                    idCounter = toDo.getId() + 1;
+                }
+            }
+            long nextId = idCounter;
+            idCounter += newItems;
+
+            LocalDateTime now = LocalDateTime.now();
+            for (ToDo toDo : toDos) {
+                if (toDo.getId() == null) {
+                    toDo.setId(nextId++);
+                    if (toDo.getCreationTime() == null) {
+                        toDo.setCreationTime(now);
+                    }
+                }
+                put(toDo);
+                if (writeAheadLog != null) {
+                    lsn = writeAheadLog.appendPut(toDo);
+                }
+            }
         } finally {
             lock.writeLock().unlock();
         }
+        awaitDurable(lsn);
+        return new ArrayList<>(toDos);
     }
 
     @Override
     public boolean update(ToDo toDo) {
+        long lsn;
         lock.writeLock().lock();
         try {
-            if (toDo.getId() == null || !toDos.containsKey(toDo.getId())) {
+            int slot = toDo.getId() == null ? LongIntHashMap.MISSING : slotsById.get(toDo.getId());
+            if (slot == LongIntHashMap.MISSING) {
                 return false;
             }
 
-            ToDo existing = toDos.get(toDo.getId());
+            CompactToDo existing = rows.get(slot);
             // Preserve creation time during updates
             if (existing.getCreationTime() != null) {
                 toDo.setCreationTime(existing.getCreationTime());
             }
 
-            toDos.put(toDo.getId(), toDo);
-            return true;
+            store(slot, toDo);
+            lsn = writeAheadLog == null ? 0 : writeAheadLog.appendPut(toDo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(lsn);
+        return true;
+    }
+
+    /**
+     * Changes the matching rows in one pass over the bitmap index, under one
+     * write lock acquisition.
+     */
+    @Override
+    public List<ToDo> updateMatching(String text, Boolean doneFlag, Priority priority, LocalDateTime createdBefore,
+            Consumer<ToDo> change) {
+        List<ToDo> changed = new ArrayList<>();
+        long lsn = 0;
+        lock.writeLock().lock();
+        try {
+            BitSet matches = matching(text, doneFlag, priority);
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                CompactToDo row = rows.get(slot);
+                if (!isCreatedBefore(row, createdBefore)) {
+                    continue;
+                }
+                ToDo toDo = row.toToDo();
+                change.accept(toDo);
+                // Preserve identity and creation time, as update does
+                toDo.setId(row.getId());
+                toDo.setCreationTime(row.getCreationTime());
+                store(slot, toDo);
+                changed.add(toDo);
+                if (writeAheadLog != null) {
+                    lsn = writeAheadLog.appendPut(toDo);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(lsn);
+        return changed;
+    }
+
+    /**
+     * Deletes the matching rows in one pass over the bitmap index, under one
+     * write lock acquisition.
+     */
+    @Override
+    public List<ToDo> deleteMatching(String text, Boolean doneFlag, Priority priority, LocalDateTime createdBefore) {
+        List<ToDo> deleted = new ArrayList<>();
+        long lsn = 0;
+        lock.writeLock().lock();
+        try {
+            BitSet matches = matching(text, doneFlag, priority);
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                CompactToDo row = rows.get(slot);
+                if (!isCreatedBefore(row, createdBefore)) {
+                    continue;
+                }
+                deleted.add(remove(row.getId()));
+                if (writeAheadLog != null) {
+                    lsn = writeAheadLog.appendDelete(row.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(lsn);
+        return deleted;
+    }
+
+    @Override
+    public <T> T executeAtomically(Supplier<T> action) {
+        T result;
+        long lsn;
+        lock.writeLock().lock();
+        try {
+            result = action.get();
+            lsn = writeAheadLog == null ? 0 : writeAheadLog.lastLsn();
         } finally {
             lock.writeLock().unlock();
         }
+        // One durability wait for every write made by the action
+        awaitDurable(lsn);
+        return result;
     }
 
     @Override
     public ToDo deleteByIdAndReturn(Long id) {
+        ToDo removed;
+        long lsn;
         lock.writeLock().lock();
         try {
-            return toDos.remove(id);
+            removed = remove(id);
+            if (removed == null) {
+                return null;
+            }
+            lsn = writeAheadLog == null ? 0 : writeAheadLog.appendDelete(id);
         } finally {
             lock.writeLock().unlock();
         }
+        awaitDurable(lsn);
+        return removed;
     }
 
     @Override
     public void deleteAll() {
+        long lsn;
         lock.writeLock().lock();
         try {
-            toDos.clear();
-            idCounter = 1L; // Reset the ID counter
+            clear();
+            lsn = writeAheadLog == null ? 0 : writeAheadLog.appendDeleteAll();
         } finally {
             lock.writeLock().unlock();
         }
+        awaitDurable(lsn);
+    }
+
+    /**
+     * Makes every change durable through a write-ahead log.
+     * Replays the existing log first so the repository starts from the
+     * state it had before shutdown.
+     * 
+     * @param writeAheadLog the log to recover from and append to
+     */
+    public void setWriteAheadLog(WriteAheadLog writeAheadLog) {
+        recover(writeAheadLog, null);
+    }
+
+    /**
+     * Makes every change durable through a write-ahead log, recovering the
+     * previous state first. The latest snapshot is loaded when a store is
+     * given, and only the log records after it are replayed.
+     * 
+     * @param writeAheadLog the log to recover from and append to
+     * @param snapshotStore the store holding snapshots, or null
+     */
+    @Autowired(required = false)
+    public void recover(WriteAheadLog writeAheadLog, @Nullable SnapshotStore snapshotStore) {
+        lock.writeLock().lock();
+        try {
+            long lsn = 0;
+            Optional<SnapshotStore.Snapshot> snapshot = snapshotStore == null
+                    ? Optional.empty()
+                    : snapshotStore.load();
+            if (snapshot.isPresent()) {
+                clear();
+                snapshot.get().forEach(this::put);
+                idCounter = Math.max(idCounter, snapshot.get().getNextId());
+                lsn = snapshot.get().getLsn();
+            }
+            writeAheadLog.replay(lsn, this::apply);
+            this.writeAheadLog = writeAheadLog;
+            this.snapshotStore = snapshotStore;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the full state and drops the log segments it
+     * covers. Rows are copied a chunk of slots at a time under the read
+     * lock, so writers are only held off for one chunk. Changes made while
+     * the snapshot runs may or may not be included; recovery replays them
+     * from the log either way.
+     * 
+     * @return LSN of the last log record covered by the snapshot
+     * @throws IllegalStateException if no log and snapshot store are attached
+     */
+    public long snapshot() {
+        if (writeAheadLog == null || snapshotStore == null) {
+            throw new IllegalStateException("Snapshots require a write-ahead log and a snapshot store");
+        }
+
+        long lsn;
+        long nextId;
+        int slotCount;
+        lock.readLock().lock();
+        try {
+            lsn = writeAheadLog.lastLsn();
+            nextId = idCounter;
+            slotCount = rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try (SnapshotStore.Writer writer = snapshotStore.begin(lsn, nextId)) {
+            for (int from = 0; from < slotCount; from += SNAPSHOT_CHUNK_SLOTS) {
+                lock.readLock().lock();
+                try {
+                    int to = Math.min(from + SNAPSHOT_CHUNK_SLOTS, rows.size());
+                    for (int slot = from; slot < to; slot++) {
+                        CompactToDo row = rows.get(slot);
+                        if (row != null) {
+                            writer.add(row.toToDo());
+                        }
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                writer.flush();
+            }
+            // Changes the snapshot may have picked up must survive in the log too
+            writeAheadLog.sync();
+            writer.commit();
+        }
+        writeAheadLog.truncateUpTo(lsn);
+        return lsn;
     }
 
     @Override
     public List<ToDo> findAll() {
         lock.readLock().lock();
         try {
-            return toDos.values().stream()
-                    .sorted((a, b) -> a.getId().compareTo(b.getId()))
+            return rows.stream()
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingLong(CompactToDo::getId))
+                    .map(CompactToDo::toToDo)
                     .collect(Collectors.toList());
         } finally {
             lock.readLock().unlock();
@@ -128,13 +418,27 @@ public class ToDoRepository implements IToDoRepository {
     public Page<ToDo> findWithFilters(String text, Boolean doneFlag, Priority priority, Pageable pageable) {
         lock.readLock().lock();
         try {
-            List<ToDo> filtered = toDos.values().stream()
-                    .filter(t -> text == null || t.getText().toLowerCase().contains(text.toLowerCase()))
-                    .filter(t -> doneFlag == null || t.isDoneFlag() == doneFlag)
-                    .filter(t -> priority == null || t.getPriority() == priority)
-                    .collect(Collectors.toList());
+            BitSet matches = matching(text, doneFlag, priority);
 
-            return createPage(filtered, pageable);
+            return createPage(matches, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Seeks to the cursor through the sorted views when the ordering is
+     * maintained by them and the matches are dense enough; otherwise selects
+     * the rows after the cursor from the matching slots.
+     */
+    @Override
+    public List<ToDo> findWithFiltersAfter(String text, Boolean doneFlag, Priority priority, Sort sort,
+            ToDoCursor after, int size) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matching(text, doneFlag, priority);
+
+            return pageAfter(matches, sort, after, size);
         } finally {
             lock.readLock().unlock();
         }
@@ -144,14 +448,57 @@ public class ToDoRepository implements IToDoRepository {
     public List<ToDo> findCompletedByPriority(Priority priority) {
         lock.readLock().lock();
         try {
-            return toDos.values().stream()
-                    .filter(t -> t.isDoneFlag() && t.getPriority() == priority)
+            return rowsAt(index.select(true, priority))
                     .collect(Collectors.toList());
         } finally {
             lock.readLock().unlock();
         }
     }
 
+    /**
+     * Reads the running completion statistics, which every write keeps up to
+     * date, instead of scanning the completed items.
+     */
+    @Override
+    public Map<Priority, Integer> averageCompletionMinutes() {
+        lock.readLock().lock();
+        try {
+            return completionStats.averageMinutes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the running completion time histograms instead of scanning the
+     * completed items.
+     */
+    @Override
+    public Map<Priority, CompletionHistogram> completionHistograms() {
+        lock.readLock().lock();
+        try {
+            return completionStats.histograms();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recomputes the completion statistics from the stored items and compares
+     * them with the running counters.
+     * 
+     * @return true if the running counters match a full recount
+     */
+    boolean isCompletionStatsConsistent() {
+        lock.readLock().lock();
+        try {
+            List<ToDo> stored = rows.stream().filter(Objects::nonNull).map(CompactToDo::toToDo).toList();
+            return completionStats.sameTotals(ToDoCompletionStats.recompute(stored));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public Duration getDurationBetween(LocalDateTime start, LocalDateTime end) {
         return Duration.between(start, end);
@@ -161,8 +508,7 @@ public class ToDoRepository implements IToDoRepository {
     public List<ToDo> findByDoneFlag(boolean doneFlag) {
         lock.readLock().lock();
         try {
-            return toDos.values().stream()
-                    .filter(t -> t.isDoneFlag() == doneFlag)
+            return rowsAt(index.select(doneFlag, null))
                     .collect(Collectors.toList());
         } finally {
             lock.readLock().unlock();
@@ -173,8 +519,7 @@ public class ToDoRepository implements IToDoRepository {
     public List<ToDo> findByPriority(Priority priority) {
         lock.readLock().lock();
         try {
-            return toDos.values().stream()
-                    .filter(t -> t.getPriority() == priority)
+            return rowsAt(index.select(null, priority))
                     .collect(Collectors.toList());
         } finally {
             lock.readLock().unlock();
@@ -185,94 +530,287 @@ public class ToDoRepository implements IToDoRepository {
     public List<ToDo> findByDueDateBeforeAndDoneFlagFalse(LocalDateTime date) {
         lock.readLock().lock();
         try {
-            return toDos.values().stream()
-                    .filter(t -> !t.isDoneFlag())
-                    .filter(t -> t.getDueDate() != null && t.getDueDate().isBefore(date))
+            return rowsAt(sortedViews.openDueBefore(date))
                     .collect(Collectors.toList());
         } finally {
             lock.readLock().unlock();
         }
     }
 
+    @Override
+    public Page<ToDo> findOverdue(LocalDateTime date, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            return createPage(sortedViews.openDueBefore(date), pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ToDo> findOverdueAfter(LocalDateTime date, Sort sort, ToDoCursor after, int size) {
+        lock.readLock().lock();
+        try {
+            return pageAfter(sortedViews.openDueBefore(date), sort, after, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /**
-     * Helper method to create a page from a list of items.
-     * Applies sorting and pagination as specified in the Pageable parameter.
+     * Helper method to apply a logged change during recovery.
      * 
-     * @param items    the list of items to paginate
-     * @param pageable pagination and sorting specification
-     * @return Page containing the requested subset of items
+     * @param record the change to apply
+     */
+    private void apply(LogRecord record) {
+        switch (record.getType()) {
+            case PUT -> put(record.getToDo());
+            case DELETE -> remove(record.getId());
+            case DELETE_ALL -> clear();
+        }
+    }
+
+    /**
+     * Helper method to insert or replace a ToDo that already has an ID.
+     * Explicit IDs move the counter past them so generated IDs never collide.
+     * 
+     * @param toDo the ToDo item to store
+     */
+    private void put(ToDo toDo) {
+        if (toDo.getId() >= idCounter) {
+            idCounter = toDo.getId() + 1;
+        }
+        int slot = slotsById.get(toDo.getId());
+        if (slot == LongIntHashMap.MISSING) {
+            slot = allocateSlot();
+            slotsById.put(toDo.getId(), slot);
+        }
+        store(slot, toDo);
+    }
+
+    /**
+     * Helper method to remove a ToDo and release its slot.
+     * 
+     * @param id the ID of the ToDo to remove
+     * @return the removed ToDo, null if not found
      */
-    private Page<ToDo> createPage(List<ToDo> items, Pageable pageable) {
-        if (pageable.getSort().isSorted()) {
-            items = applySorting(items, pageable.getSort());
+    private ToDo remove(Long id) {
+        int slot = id == null ? LongIntHashMap.MISSING : slotsById.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return null;
         }
+        CompactToDo removed = rows.set(slot, null);
+        index.remove(slot);
+        textIndex.remove(slot);
+        sortedViews.remove(slot);
+        completionStats.remove(slot);
+        freeSlots.push(slot);
+        return removed.toToDo();
+    }
 
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), items.size());
+    /**
+     * Helper method to drop every ToDo and reset the ID counter.
+     */
+    private void clear() {
+        slotsById.clear();
+        rows.clear();
+        freeSlots.clear();
+        index.clear();
+        textIndex.clear();
+        sortedViews.clear();
+        completionStats.clear();
+        idCounter = 1L; // Reset the ID counter
+    }
 
-        List<ToDo> pageContent = start > items.size() ? List.of() : items.subList(start, end);
+    /**
+     * Helper method to wait for a logged change to become durable.
+     * Calls nested in executeAtomically leave the wait to the outer call, so
+     * the write lock is never held while waiting.
+     * 
+     * @param lsn LSN of the change, 0 if nothing was logged
+     */
+    private void awaitDurable(long lsn) {
+        if (lsn > 0 && !lock.isWriteLockedByCurrentThread()) {
+            writeAheadLog.awaitDurable(lsn);
+        }
+    }
 
-        return new PageImpl<>(pageContent, pageable, items.size());
+    /**
+     * Helper method to take a free storage slot, reusing deleted slots first.
+     * 
+     * @return index of an empty slot in the row storage
+     */
+    private int allocateSlot() {
+        Integer slot = freeSlots.poll();
+        if (slot != null) {
+            return slot;
+        }
+        rows.add(null);
+        return rows.size() - 1;
     }
 
     /**
-     * Helper method to apply sorting to a list of ToDo items.
-     * Supports sorting by common ToDo fields.
+     * Helper method to store a ToDo at the given slot and refresh its indexes.
      * 
-     * @param items the list of items to sort
-     * @param sort  the sorting specification
-     * @return sorted list of items
+     * @param slot the storage slot
+     * @param toDo the ToDo item to store
      */
-    private List<ToDo> applySorting(List<ToDo> items, Sort sort) {
-        return items.stream()
-                .sorted((a, b) -> {
-                    for (Order order : sort) {
-                        String property = order.getProperty();
-                        boolean ascending = order.isAscending();
-                        int comparison = compareByField(a, b, property);
-
-                        if (comparison != 0) {
-                            return ascending ? comparison : -comparison;
-                        }
-                    }
-                    return 0;
-                })
-                .collect(Collectors.toList());
+    private void store(int slot, ToDo toDo) {
+        rows.set(slot, CompactToDo.of(toDo));
+        index.put(slot, toDo);
+        textIndex.put(slot, toDo.getText());
+        sortedViews.put(slot, toDo);
+        completionStats.put(slot, toDo);
+    }
+
+    /**
+     * Helper method to select the slots matching the filters from the
+     * bitmap and text indexes. Callers hold the lock.
+     * 
+     * @return a new bitmap of the matching slots
+     */
+    private BitSet matching(String text, Boolean doneFlag, Priority priority) {
+        BitSet matches = index.select(doneFlag, priority);
+        if (text != null) {
+            textIndex.retainMatching(text, matches);
+        }
+        return matches;
+    }
 
+    /**
+     * Helper method to check a row against an optional creation time bound.
+     * Rows without a creation time never match a bound.
+     */
+    private static boolean isCreatedBefore(CompactToDo row, LocalDateTime createdBefore) {
+        if (createdBefore == null) {
+            return true;
+        }
+        LocalDateTime creationTime = row.getCreationTime();
+        return creationTime != null && creationTime.isBefore(createdBefore);
     }
 
     /**
-     * Helper method to compare ToDo items by field name.
-     * Supports comparison for all major ToDo fields.
+     * Helper method to stream the ToDo items stored at the given slots.
      * 
-     * @param a     first ToDo item
-     * @param b     second ToDo item
-     * @param field the field name to compare by
-     * @return comparison result (-1, 0, or 1)
+     * @param slots bitmap of matching slots
+     * @return stream of the ToDo items in slot order
      */
-    private int compareByField(ToDo a, ToDo b, String field) {
-        switch (field) {
-            case "id":
-                return a.getId().compareTo(b.getId());
-            case "text":
-                return a.getText().compareTo(b.getText());
-            case "dueDate":
-                if (a.getDueDate() == null && b.getDueDate() == null)
-                    return 0;
-                if (a.getDueDate() == null)
-                    return 1;
-                if (b.getDueDate() == null)
-                    return -1;
-                return a.getDueDate().compareTo(b.getDueDate());
-            case "priority":
-                return Priority.BY_RANK_ASC.compare(a.getPriority(), b.getPriority());
-            case "creationTime":
-                return a.getCreationTime().compareTo(b.getCreationTime());
-            case "doneFlag":
-                return Boolean.compare(a.isDoneFlag(), b.isDoneFlag());
-            default:
-                return 0;
+    private Stream<ToDo> rowsAt(BitSet slots) {
+        return slots.stream().mapToObj(slot -> rows.get(slot).toToDo());
+    }
+
+    /**
+     * Helper method to select the matching rows after a cursor. Seeks to the
+     * cursor through the sorted views when the ordering is maintained by them
+     * and the matches are dense enough. Callers hold the read lock.
+     * 
+     * @param matches slots of the matching rows
+     * @param sort    ordering on due date, priority and ID
+     * @param after   position of the last row already returned, or null
+     * @param size    maximum number of rows
+     * @return the matching rows after the cursor, in order
+     */
+    private List<ToDo> pageAfter(BitSet matches, Sort sort, ToDoCursor after, int size) {
+        ToDoSortKey start = after == null ? null
+                : ToDoSortKey.probe(after.getDueDate(),
+                        after.getPriority() == null ? 0 : after.getPriority().getRank(), after.getId());
+        ToDoSortedViews.Plan plan = ToDoSortedViews.planFor(sort);
+        if (plan != null && isWalkCheaper(matches.cardinality(), size)) {
+            List<ToDo> page = new ArrayList<>(size);
+            sortedViews.walk(plan, start, key -> {
+                if (matches.get(key.slot)) {
+                    page.add(rows.get(key.slot).toToDo());
+                }
+                return page.size() < size;
+            });
+            return page;
+        }
+
+        // Skip the slots up to the cursor by their sort keys, so only the rows
+        // after it are decoded, one at a time, into the bounded heap
+        IntPredicate afterCursor = start == null ? slot -> true
+                : ToDoPageSelector.slotsAfter(sort, (slot, field) -> {
+                    ToDoSortKey key = sortedViews.keyAt(slot);
+                    return switch (field) {
+                        case "id" -> Long.compare(key.id, start.id);
+                        case "dueDate" -> key.dueSeconds != start.dueSeconds
+                                ? Long.compare(key.dueSeconds, start.dueSeconds)
+                                : Integer.compare(key.dueNanos, start.dueNanos);
+                        case "priority" -> Integer.compare(key.rank, start.rank);
+                        default -> 0;
+                    };
+                });
+        Iterator<ToDo> rowsAfter = matches.stream()
+                .filter(afterCursor)
+                .mapToObj(slot -> rows.get(slot).toToDo())
+                .iterator();
+        return ToDoPageSelector.selectAfter(rowsAfter, null, size, ToDoPageSelector.keysetComparatorFor(sort));
+    }
+
+    /**
+     * Helper method to create a page from the matching slots.
+     * Orderings kept by the sorted views are answered by an ordered walk that
+     * stops after the page is filled, when the matches are dense enough for
+     * the walk to be cheaper. Other orderings use the paging engine's bounded
+     * heap selection.
+     * 
+     * @param matches  bitmap of matching slots
+     * @param pageable pagination and sorting specification
+     * @return Page containing the requested subset of items
+     */
+    private Page<ToDo> createPage(BitSet matches, Pageable pageable) {
+        int total = matches.cardinality();
+        int offset = (int) pageable.getOffset();
+        int size = pageable.getPageSize();
+
+        ToDoSortedViews.Plan plan = ToDoSortedViews.planFor(pageable.getSort());
+        if (plan != null && offset < total && isWalkCheaper(total, offset + size)) {
+            return new PageImpl<>(walkPage(plan, matches, offset, size), pageable, total);
         }
+
+        List<ToDo> pageContent = ToDoPageSelector.select(rowsAt(matches).iterator(), total, offset, size,
+                ToDoPageSelector.comparatorFor(pageable.getSort()));
+
+        return new PageImpl<>(pageContent, pageable, total);
+    }
+
+    /**
+     * Helper method to estimate whether walking a sorted view beats a heap
+     * selection. The walk visits about end * live / total keys to find end
+     * matches, while the heap visits every match once.
+     * 
+     * @param total number of matching items
+     * @param end   number of matching rows the walk must reach
+     * @return true if the walk is expected to visit fewer items
+     */
+    private boolean isWalkCheaper(int total, int end) {
+        return (long) end * slotsById.size() <= (long) total * total;
+    }
+
+    /**
+     * Helper method to collect a page by walking a sorted view.
+     * 
+     * @param plan    the walk plan for the requested ordering
+     * @param matches bitmap of matching slots
+     * @param offset  number of matching rows to skip
+     * @param size    maximum number of rows to collect
+     * @return the rows of the page, in order
+     */
+    private List<ToDo> walkPage(ToDoSortedViews.Plan plan, BitSet matches, int offset, int size) {
+        List<ToDo> page = new ArrayList<>(size);
+        int[] skipped = { 0 };
+        sortedViews.walk(plan, key -> {
+            if (!matches.get(key.slot)) {
+                return true;
+            }
+            if (skipped[0] < offset) {
+                skipped[0]++;
+                return true;
+            }
+            page.add(rows.get(key.slot).toToDo());
+            return page.size() < size;
+        });
+        return page;
     }
 
 }
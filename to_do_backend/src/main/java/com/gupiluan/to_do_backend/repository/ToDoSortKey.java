@@ -0,0 +1,102 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Immutable composite sort key of a stored ToDo item.
+ * Captures the due date, priority rank and ID at write time, together with
+ * the storage slot, so sorted views never depend on mutable ToDo state.
+ * The due date is kept as epoch seconds and nanos (see CompactToDo), so
+ * comparisons read primitives instead of LocalDateTime graphs.
+ *
+ * @author gupiluan
+ */
+final class ToDoSortKey {
+
+    /** Rank below every priority, used for range probes */
+    static final int MIN_RANK = Integer.MIN_VALUE;
+
+    /** Rank above every priority, used for range probes */
+    static final int MAX_RANK = Integer.MAX_VALUE;
+
+    /** Seconds value of a missing due date, above every real date */
+    private static final long NO_DUE_DATE = Long.MAX_VALUE;
+
+    /** Orders by due date (missing last), then priority rank, then ID */
+    static final Comparator<ToDoSortKey> BY_DUE_DATE = Comparator
+            .comparingLong((ToDoSortKey key) -> key.dueSeconds)
+            .thenComparingInt(key -> key.dueNanos)
+            .thenComparingInt(key -> key.rank)
+            .thenComparingLong(key -> key.id);
+
+    /** Orders by priority rank, then ID */
+    static final Comparator<ToDoSortKey> BY_PRIORITY = Comparator
+            .comparingInt((ToDoSortKey key) -> key.rank)
+            .thenComparingLong(key -> key.id);
+
+    final long dueSeconds;
+    final int dueNanos;
+    final int rank;
+    final long id;
+    final int slot;
+
+    private ToDoSortKey(long dueSeconds, int dueNanos, int rank, long id, int slot) {
+        this.dueSeconds = dueSeconds;
+        this.dueNanos = dueNanos;
+        this.rank = rank;
+        this.id = id;
+        this.slot = slot;
+    }
+
+    /**
+     * Captures the sort key of a ToDo stored at the given slot.
+     *
+     * @param toDo the stored ToDo item
+     * @param slot its storage slot
+     * @return the sort key
+     */
+    static ToDoSortKey of(ToDo toDo, int slot) {
+        int rank = toDo.getPriority() == null ? 0 : toDo.getPriority().getRank();
+        return new ToDoSortKey(dueSeconds(toDo.getDueDate()), CompactToDo.nanos(toDo.getDueDate()), rank,
+                toDo.getId(), slot);
+    }
+
+    /**
+     * @param other another key
+     * @return whether both keys have the same due date, or both none
+     */
+    boolean hasSameDueDate(ToDoSortKey other) {
+        return dueSeconds == other.dueSeconds && dueNanos == other.dueNanos;
+    }
+
+    /**
+     * Creates a probe key for navigating sorted views.
+     *
+     * @param dueDate due date, null for items without one
+     * @param rank    priority rank or one of the range sentinels
+     * @param id      ID or Long.MIN_VALUE / Long.MAX_VALUE
+     * @return key that does not refer to any slot
+     */
+    static ToDoSortKey probe(LocalDateTime dueDate, int rank, long id) {
+        return new ToDoSortKey(dueSeconds(dueDate), CompactToDo.nanos(dueDate), rank, id, -1);
+    }
+
+    /**
+     * Creates a probe key with the due date of another key.
+     *
+     * @param dueDateOf key whose due date is used
+     * @param rank      priority rank or one of the range sentinels
+     * @param id        ID or Long.MIN_VALUE / Long.MAX_VALUE
+     * @return key that does not refer to any slot
+     */
+    static ToDoSortKey probeAt(ToDoSortKey dueDateOf, int rank, long id) {
+        return new ToDoSortKey(dueDateOf.dueSeconds, dueDateOf.dueNanos, rank, id, -1);
+    }
+
+    private static long dueSeconds(LocalDateTime dueDate) {
+        return dueDate == null ? NO_DUE_DATE : CompactToDo.seconds(dueDate);
+    }
+}
@@ -0,0 +1,306 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Incrementally maintained sorted views over stored ToDo items.
+ * Supports the orderings built by the service layer: optional due date,
+ * optional priority, then ascending ID, each in either direction. A sorted
+ * page becomes an ordered walk over a navigable index that stops as soon as
+ * enough matching rows were visited. Open items with a due date are also
+ * kept in due date order on their own, so overdue items are a range read.
+ *
+ * Views are concurrent skip lists; writes must still be serialized by the
+ * caller since the per-slot key table is not thread-safe.
+ *
+ * @author gupiluan
+ */
+final class ToDoSortedViews {
+
+    /** Priority ranks in ascending order */
+    private static final int[] RANKS_ASC = Arrays.stream(Priority.values())
+            .mapToInt(Priority::getRank)
+            .sorted()
+            .toArray();
+
+    /** Keys ordered by due date, priority and ID */
+    private final NavigableSet<ToDoSortKey> byDueDate = new ConcurrentSkipListSet<>(ToDoSortKey.BY_DUE_DATE);
+
+    /** Keys of open items with a due date, ordered by due date */
+    private final NavigableSet<ToDoSortKey> openByDueDate = new ConcurrentSkipListSet<>(ToDoSortKey.BY_DUE_DATE);
+
+    /** Keys ordered by priority and ID */
+    private final NavigableSet<ToDoSortKey> byPriority = new ConcurrentSkipListSet<>(ToDoSortKey.BY_PRIORITY);
+
+    /** Current key of each slot, used to remove stale entries */
+    private final List<ToDoSortKey> keysBySlot = new ArrayList<>();
+
+    /**
+     * Indexes the ToDo stored at the given slot, replacing its previous key.
+     *
+     * @param slot the storage slot
+     * @param toDo the stored ToDo item
+     */
+    void put(int slot, ToDo toDo) {
+        remove(slot);
+        while (keysBySlot.size() <= slot) {
+            keysBySlot.add(null);
+        }
+        ToDoSortKey key = ToDoSortKey.of(toDo, slot);
+        keysBySlot.set(slot, key);
+        byDueDate.add(key);
+        byPriority.add(key);
+        if (!toDo.isDoneFlag() && toDo.getDueDate() != null) {
+            openByDueDate.add(key);
+        }
+    }
+
+    /**
+     * Removes the given slot from every view.
+     *
+     * @param slot the storage slot
+     */
+    void remove(int slot) {
+        if (slot >= keysBySlot.size()) {
+            return;
+        }
+        ToDoSortKey key = keysBySlot.set(slot, null);
+        if (key != null) {
+            byDueDate.remove(key);
+            byPriority.remove(key);
+            openByDueDate.remove(key);
+        }
+    }
+
+    /**
+     * Clears every view.
+     */
+    void clear() {
+        keysBySlot.clear();
+        byDueDate.clear();
+        byPriority.clear();
+        openByDueDate.clear();
+    }
+
+    /**
+     * @param slot a storage slot
+     * @return the key of the item stored there, null if the slot is empty
+     */
+    ToDoSortKey keyAt(int slot) {
+        return slot < keysBySlot.size() ? keysBySlot.get(slot) : null;
+    }
+
+    /**
+     * Finds the open items due before the given date.
+     *
+     * @param date exclusive upper bound of the due date
+     * @return bitmap of the matching slots
+     */
+    BitSet openDueBefore(LocalDateTime date) {
+        BitSet slots = new BitSet();
+        openByDueDate.headSet(ToDoSortKey.probe(date, ToDoSortKey.MIN_RANK, Long.MIN_VALUE), false)
+                .forEach(key -> slots.set(key.slot));
+        return slots;
+    }
+
+    /**
+     * Compiles a Sort into a walk plan over these views.
+     *
+     * @param sort the sorting specification
+     * @return the plan, or null if the ordering is not maintained
+     */
+    static Plan planFor(Sort sort) {
+        List<Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return null;
+        }
+
+        Order last = orders.get(orders.size() - 1);
+        if (!"id".equals(last.getProperty()) || !last.isAscending()) {
+            return null;
+        }
+
+        Sort.Direction dueDate = null;
+        Sort.Direction priority = null;
+        int index = 0;
+        if (index < orders.size() - 1 && "dueDate".equals(orders.get(index).getProperty())) {
+            dueDate = orders.get(index++).getDirection();
+        }
+        if (index < orders.size() - 1 && "priority".equals(orders.get(index).getProperty())) {
+            priority = orders.get(index++).getDirection();
+        }
+        return index == orders.size() - 1 ? new Plan(dueDate, priority) : null;
+    }
+
+    /**
+     * Visits keys in the order described by the plan until the visitor
+     * returns false.
+     *
+     * @param plan    the walk plan
+     * @param visitor receives each key in order, returns false to stop
+     */
+    void walk(Plan plan, Predicate<ToDoSortKey> visitor) {
+        walk(plan, null, visitor);
+    }
+
+    /**
+     * Visits the keys that come after a position in the order described by
+     * the plan, until the visitor returns false. The walk seeks to the
+     * position through the views instead of skipping the keys before it.
+     *
+     * @param plan    the walk plan
+     * @param after   probe key of the last position already visited, null to
+     *                start from the first key
+     * @param visitor receives each key in order, returns false to stop
+     */
+    void walk(Plan plan, ToDoSortKey after, Predicate<ToDoSortKey> visitor) {
+        if (plan.dueDate == null) {
+            walkGroup(plan.priority, after, visitor, rank -> byPriority.subSet(
+                    ToDoSortKey.probe(null, rank, Long.MIN_VALUE), true,
+                    ToDoSortKey.probe(null, rank, Long.MAX_VALUE), true));
+            return;
+        }
+
+        boolean ascending = plan.dueDate.isAscending();
+        ToDoSortKey cursor;
+        if (after == null) {
+            cursor = ascending ? first(byDueDate) : last(byDueDate);
+        } else if (ascending) {
+            cursor = byDueDate.ceiling(ToDoSortKey.probeAt(after, ToDoSortKey.MIN_RANK, Long.MIN_VALUE));
+        } else {
+            cursor = byDueDate.floor(ToDoSortKey.probeAt(after, ToDoSortKey.MAX_RANK, Long.MAX_VALUE));
+        }
+        while (cursor != null) {
+            ToDoSortKey low = ToDoSortKey.probeAt(cursor, ToDoSortKey.MIN_RANK, Long.MIN_VALUE);
+            ToDoSortKey high = ToDoSortKey.probeAt(cursor, ToDoSortKey.MAX_RANK, Long.MAX_VALUE);
+            NavigableSet<ToDoSortKey> group = byDueDate.subSet(low, true, high, true);
+            final ToDoSortKey groupKey = cursor;
+            // Only the group holding the position is partially visited
+            ToDoSortKey groupAfter = after != null && after.hasSameDueDate(cursor) ? after : null;
+
+            boolean more = walkGroup(plan.priority, groupAfter, visitor, rank -> group.subSet(
+                    ToDoSortKey.probeAt(groupKey, rank, Long.MIN_VALUE), true,
+                    ToDoSortKey.probeAt(groupKey, rank, Long.MAX_VALUE), true));
+            if (!more) {
+                return;
+            }
+            cursor = ascending ? byDueDate.higher(high) : byDueDate.lower(low);
+        }
+    }
+
+    /**
+     * Visits a group of keys sharing the leading sort fields, ordered by
+     * priority in the given direction (or not at all) and then by ascending
+     * ID. When a position is given, only the keys after it are visited.
+     *
+     * @return false if the visitor stopped the walk
+     */
+    private static boolean walkGroup(Sort.Direction priority, ToDoSortKey after, Predicate<ToDoSortKey> visitor,
+            IntFunction<NavigableSet<ToDoSortKey>> byRank) {
+        if (priority == null) {
+            // Merge the per-priority runs, each already in ascending ID order
+            List<Iterator<ToDoSortKey>> runs = new ArrayList<>();
+            for (int rank : RANKS_ASC) {
+                runs.add(idsAfter(byRank.apply(rank), after, rank).iterator());
+            }
+            return mergeById(runs, visitor);
+        }
+
+        for (int i = 0; i < RANKS_ASC.length; i++) {
+            int rank = priority.isAscending() ? RANKS_ASC[i] : RANKS_ASC[RANKS_ASC.length - 1 - i];
+            NavigableSet<ToDoSortKey> run = byRank.apply(rank);
+            if (after != null) {
+                int order = Integer.compare(rank, after.rank);
+                if (priority.isAscending() ? order < 0 : order > 0) {
+                    continue;
+                }
+                if (order == 0) {
+                    run = idsAfter(run, after, rank);
+                }
+            }
+            for (ToDoSortKey key : run) {
+                if (!visitor.test(key)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Restricts a run of keys sharing due date and priority to the IDs after
+     * the position, or returns it whole if there is no position.
+     */
+    private static NavigableSet<ToDoSortKey> idsAfter(NavigableSet<ToDoSortKey> run, ToDoSortKey after, int rank) {
+        return after == null ? run : run.tailSet(ToDoSortKey.probeAt(after, rank, after.id), false);
+    }
+
+    /**
+     * Visits the union of ID-ordered runs in ascending ID order.
+     *
+     * @return false if the visitor stopped the walk
+     */
+    private static boolean mergeById(List<Iterator<ToDoSortKey>> runs, Predicate<ToDoSortKey> visitor) {
+        ToDoSortKey[] heads = new ToDoSortKey[runs.size()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = runs.get(i).hasNext() ? runs.get(i).next() : null;
+        }
+
+        while (true) {
+            int smallest = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (smallest < 0 || heads[i].id < heads[smallest].id)) {
+                    smallest = i;
+                }
+            }
+            if (smallest < 0) {
+                return true;
+            }
+            if (!visitor.test(heads[smallest])) {
+                return false;
+            }
+            Iterator<ToDoSortKey> run = runs.get(smallest);
+            heads[smallest] = run.hasNext() ? run.next() : null;
+        }
+    }
+
+    private static ToDoSortKey first(NavigableSet<ToDoSortKey> view) {
+        Iterator<ToDoSortKey> keys = view.iterator();
+        return keys.hasNext() ? keys.next() : null;
+    }
+
+    private static ToDoSortKey last(NavigableSet<ToDoSortKey> view) {
+        Iterator<ToDoSortKey> keys = view.descendingIterator();
+        return keys.hasNext() ? keys.next() : null;
+    }
+
+    /**
+     * Walk plan for an ordering maintained by the sorted views.
+     * A null direction means the field is not part of the ordering.
+     */
+    static final class Plan {
+
+        private final Sort.Direction dueDate;
+        private final Sort.Direction priority;
+
+        private Plan(Sort.Direction dueDate, Sort.Direction priority) {
+            this.dueDate = dueDate;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.util.Arrays;
+
+/**
+ * Append-only character arena holding the text of columnar rows.
+ * Rows reference their text by offset and length instead of owning a String,
+ * so text scans run over one contiguous array. Replaced or deleted text
+ * becomes garbage that is reclaimed by compaction. A missing text is stored
+ * as an empty range with length NULL_LENGTH, so it reads back as null.
+ *
+ * Not thread-safe; callers serialize writes.
+ *
+ * @author gupiluan
+ */
+final class ToDoTextArena {
+
+    /** Length of a range standing for a null text */
+    static final int NULL_LENGTH = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private char[] chars = new char[INITIAL_CAPACITY];
+
+    /** Number of chars written, live or garbage */
+    private int used;
+
+    /** Number of chars no longer referenced by any row */
+    private int garbage;
+
+    /**
+     * Appends text to the arena.
+     *
+     * @param text the text to append, may be null
+     * @return offset of the first char
+     */
+    int append(String text) {
+        int length = text == null ? 0 : text.length();
+        ensureCapacity(used + length);
+        if (text != null) {
+            text.getChars(0, length, chars, used);
+        }
+        int offset = used;
+        used += length;
+        return offset;
+    }
+
+    /**
+     * @param text the text to store, may be null
+     * @return length to record for the text, NULL_LENGTH when missing
+     */
+    static int lengthOf(String text) {
+        return text == null ? NULL_LENGTH : text.length();
+    }
+
+    /**
+     * Marks a range as no longer referenced.
+     *
+     * @param length number of chars released
+     */
+    void release(int length) {
+        garbage += size(length);
+    }
+
+    /**
+     * Reads a range back into a String.
+     *
+     * @param offset offset of the first char
+     * @param length number of chars
+     * @return the text, or null for a NULL_LENGTH range
+     */
+    String read(int offset, int length) {
+        return length == NULL_LENGTH ? null : new String(chars, offset, length);
+    }
+
+    /**
+     * Checks whether a range contains the given chars.
+     *
+     * @param offset offset of the first char
+     * @param length number of chars
+     * @param needle chars to look for
+     * @return true if the needle occurs in the range
+     */
+    boolean contains(int offset, int length, char[] needle) {
+        if (needle.length == 0) {
+            return true;
+        }
+        if (length == NULL_LENGTH) {
+            return false;
+        }
+        int last = offset + length - needle.length;
+        char first = needle[0];
+        for (int i = offset; i <= last; i++) {
+            if (chars[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < needle.length && chars[i + j] == needle[j]) {
+                j++;
+            }
+            if (j == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares two ranges lexicographically, like String.compareTo, with
+     * null texts first.
+     *
+     * @return negative, zero or positive as the first range sorts before,
+     *         equal to or after the second
+     */
+    int compare(int offsetA, int lengthA, int offsetB, int lengthB) {
+        if (lengthA == NULL_LENGTH || lengthB == NULL_LENGTH) {
+            return Boolean.compare(lengthA != NULL_LENGTH, lengthB != NULL_LENGTH);
+        }
+        return Arrays.compare(chars, offsetA, offsetA + lengthA, chars, offsetB, offsetB + lengthB);
+    }
+
+    /**
+     * @return true if garbage makes up more than half of a non-trivial arena
+     */
+    boolean needsCompaction() {
+        return used > INITIAL_CAPACITY && garbage > used / 2;
+    }
+
+    /**
+     * Rewrites the live ranges contiguously and updates their offsets.
+     *
+     * @param offsets offset of each row, rewritten in place
+     * @param lengths length of each row
+     * @param rows    number of rows in use
+     */
+    void compact(int[] offsets, int[] lengths, int rows) {
+        char[] compacted = new char[Math.max(INITIAL_CAPACITY, (used - garbage) * 2)];
+        int position = 0;
+        for (int row = 0; row < rows; row++) {
+            int length = size(lengths[row]);
+            System.arraycopy(chars, offsets[row], compacted, position, length);
+            offsets[row] = position;
+            position += length;
+        }
+        chars = compacted;
+        used = position;
+        garbage = 0;
+    }
+
+    /**
+     * Drops every range.
+     */
+    void clear() {
+        chars = new char[INITIAL_CAPACITY];
+        used = 0;
+        garbage = 0;
+    }
+
+    /**
+     * Helper method to get the number of chars a range occupies.
+     */
+    private static int size(int length) {
+        return Math.max(length, 0);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(required, chars.length * 2));
+        }
+    }
+}
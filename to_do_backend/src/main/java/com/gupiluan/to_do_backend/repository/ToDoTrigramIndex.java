@@ -0,0 +1,239 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-folded trigram inverted index over ToDo text, keyed by repository slot.
+ * Substring queries of three or more characters only verify slots containing
+ * every trigram of the query. Shorter queries fall back to scanning the
+ * precomputed lowercased text column.
+ *
+ * This class is not thread-safe; callers must hold the repository lock.
+ *
+ * @author gupiluan
+ */
+final class ToDoTrigramIndex {
+
+    /** Number of characters per indexed gram */
+    private static final int GRAM_LENGTH = 3;
+
+    /** Lowercased text for each slot, null for free slots */
+    private final List<String> foldedText = new ArrayList<>();
+
+    /** Posting lists of slots for each packed trigram */
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Indexes the text stored at the given slot, replacing any previous entry.
+     *
+     * @param slot the storage slot
+     * @param text the ToDo text, may be null
+     */
+    void put(int slot, String text) {
+        remove(slot);
+        while (foldedText.size() <= slot) {
+            foldedText.add(null);
+        }
+        if (text == null) {
+            return;
+        }
+
+        String folded = fold(text);
+        foldedText.set(slot, folded);
+        for (long gram : trigrams(folded)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(slot);
+        }
+    }
+
+    /**
+     * Removes the given slot from the index.
+     * Uses the stored lowercased text, so it does not depend on the current
+     * state of the ToDo object.
+     *
+     * @param slot the storage slot
+     */
+    void remove(int slot) {
+        if (slot >= foldedText.size() || foldedText.get(slot) == null) {
+            return;
+        }
+
+        String folded = foldedText.set(slot, null);
+        for (long gram : trigrams(folded)) {
+            Postings slots = postings.get(gram);
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Clears the index.
+     */
+    void clear() {
+        foldedText.clear();
+        postings.clear();
+    }
+
+    /**
+     * Restricts the candidate slots to those whose text contains the query,
+     * ignoring case.
+     *
+     * @param query      the substring to search for
+     * @param candidates slots to filter, modified in place
+     */
+    void retainMatching(String query, BitSet candidates) {
+        String folded = fold(query);
+
+        if (folded.length() >= GRAM_LENGTH) {
+            List<Postings> lists = new ArrayList<>();
+            for (long gram : trigrams(folded)) {
+                Postings slots = postings.get(gram);
+                if (slots == null) {
+                    candidates.clear();
+                    return;
+                }
+                lists.add(slots);
+            }
+
+            // Intersect the most selective lists first
+            lists.sort(Comparator.comparingInt(Postings::size));
+            for (Postings slots : lists) {
+                slots.retainIn(candidates);
+                if (candidates.isEmpty()) {
+                    return;
+                }
+            }
+        }
+
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            String text = slot < foldedText.size() ? foldedText.get(slot) : null;
+            if (text == null || !text.contains(folded)) {
+                candidates.clear(slot);
+            }
+        }
+    }
+
+    /**
+     * Case-folds text for indexing and querying.
+     */
+    private static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Extracts the distinct packed trigrams of already folded text.
+     */
+    private static long[] trigrams(String folded) {
+        int count = folded.length() - GRAM_LENGTH + 1;
+        if (count <= 0) {
+            return new long[0];
+        }
+
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) folded.charAt(i) << 32)
+                    | ((long) folded.charAt(i + 1) << 16)
+                    | folded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Posting list of slots for a single trigram.
+     * Stored as a sorted int array while sparse and switched to a bitset once
+     * the array would take more memory than the bitset.
+     */
+    private static final class Postings {
+
+        /** Minimum cardinality before switching to a bitset */
+        private static final int MIN_DENSE_SIZE = 64;
+
+        private int[] sparse = new int[4];
+        private BitSet dense;
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int slot) {
+            if (dense != null) {
+                if (!dense.get(slot)) {
+                    dense.set(slot);
+                    size++;
+                }
+                return;
+            }
+
+            int position = Arrays.binarySearch(sparse, 0, size, slot);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == sparse.length) {
+                sparse = Arrays.copyOf(sparse, size * 2);
+            }
+            System.arraycopy(sparse, position, sparse, position + 1, size - position);
+            sparse[position] = slot;
+            size++;
+
+            // A bitset costs one bit per slot up to the highest one
+            if (size >= MIN_DENSE_SIZE && size > (sparse[size - 1] >>> 5)) {
+                dense = new BitSet(sparse[size - 1] + 1);
+                for (int i = 0; i < size; i++) {
+                    dense.set(sparse[i]);
+                }
+                sparse = null;
+            }
+        }
+
+        void remove(int slot) {
+            if (dense != null) {
+                if (dense.get(slot)) {
+                    dense.clear(slot);
+                    size--;
+                }
+                return;
+            }
+
+            int position = Arrays.binarySearch(sparse, 0, size, slot);
+            if (position >= 0) {
+                System.arraycopy(sparse, position + 1, sparse, position, size - position - 1);
+                size--;
+            }
+        }
+
+        void retainIn(BitSet candidates) {
+            if (dense != null) {
+                candidates.and(dense);
+                return;
+            }
+
+            BitSet slots = new BitSet();
+            for (int i = 0; i < size; i++) {
+                slots.set(sparse[i]);
+            }
+            candidates.and(slots);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.gupiluan.to_do_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding values until their deadline passes.
+ *
+ * Each wheel is a ring of buckets, one per tick. Deadlines beyond the ring go
+ * to an overflow wheel whose tick is the whole ring of the wheel below, and
+ * so on; overflow wheels are created on demand. When the wheel below starts
+ * a new rotation, the overflow bucket for that rotation is spread over its
+ * buckets. Adding a value and expiring it are O(1) however far away the
+ * deadline is.
+ *
+ * Values expire at most one tick after their deadline. Not thread-safe;
+ * callers serialize access.
+ *
+ * @param <T> the type of the scheduled values
+ * @author gupiluan
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+
+    /** Time covered by one rotation of this wheel */
+    private final long intervalMillis;
+
+    private final List<List<Entry<T>>> buckets;
+
+    /** Start of the tick in progress */
+    private long currentTime;
+
+    /** Wheel for deadlines beyond this wheel's rotation, null until needed */
+    private TimingWheel<T> overflow;
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickMillis length of a tick in milliseconds
+     * @param wheelSize  number of buckets
+     * @param startMillis current time in epoch milliseconds
+     */
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.intervalMillis = tickMillis * wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules a value. Deadlines already passed expire on the next tick.
+     *
+     * @param deadlineMillis deadline in epoch milliseconds
+     * @param value          the value
+     */
+    void add(long deadlineMillis, T value) {
+        add(new Entry<>(Math.max(deadlineMillis, currentTime), value));
+    }
+
+    /**
+     * Moves the wheel forward to the given time, expiring every value whose
+     * deadline has passed.
+     *
+     * @param nowMillis current time in epoch milliseconds
+     * @param expired   receives the expired values
+     */
+    void advance(long nowMillis, Consumer<T> expired) {
+        while (currentTime + tickMillis <= nowMillis) {
+            List<Entry<T>> due = bucketOf(currentTime);
+            if (!due.isEmpty()) {
+                buckets.set(indexOf(currentTime), new ArrayList<>());
+                due.forEach(entry -> expired.accept(entry.value));
+            }
+            currentTime += tickMillis;
+            if (overflow != null && currentTime % intervalMillis == 0) {
+                overflow.cascadeInto(this);
+            }
+        }
+    }
+
+    private void add(Entry<T> entry) {
+        if (entry.deadline < currentTime + intervalMillis) {
+            bucketOf(entry.deadline).add(entry);
+            return;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel<>(intervalMillis, wheelSize, currentTime);
+        }
+        overflow.add(entry);
+    }
+
+    /**
+     * Moves this overflow wheel to the rotation the wheel below has just
+     * started and hands it the values of that rotation.
+     */
+    private void cascadeInto(TimingWheel<T> lower) {
+        currentTime = lower.currentTime;
+        if (overflow != null && currentTime % intervalMillis == 0) {
+            overflow.cascadeInto(this);
+        }
+        List<Entry<T>> due = bucketOf(currentTime);
+        if (!due.isEmpty()) {
+            buckets.set(indexOf(currentTime), new ArrayList<>());
+            due.forEach(lower::add);
+        }
+    }
+
+    private List<Entry<T>> bucketOf(long time) {
+        return buckets.get(indexOf(time));
+    }
+
+    private int indexOf(long time) {
+        return (int) Math.floorMod(Math.floorDiv(time, tickMillis), (long) wheelSize);
+    }
+
+    private static final class Entry<T> {
+
+        private final long deadline;
+        private final T value;
+
+        private Entry(long deadline, T value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.gupiluan.to_do_backend.service;
+
+import java.time.LocalDateTime;
+
+import com.gupiluan.to_do_backend.model.Priority;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Notification that an open ToDo item has passed its due date.
+ *
+ * @author gupiluan
+ */
+@Data
+@AllArgsConstructor
+public class ToDoOverdueEvent {
+
+    /**
+     * ID of the overdue ToDo item.
+     */
+    private Long id;
+
+    /**
+     * Text content of the ToDo item.
+     */
+    private String text;
+
+    /**
+     * Priority level of the ToDo item.
+     */
+    private Priority priority;
+
+    /**
+     * Due date that has passed.
+     */
+    private LocalDateTime dueDate;
+}
@@ -0,0 +1,21 @@
+package com.gupiluan.to_do_backend.service;
+
+/**
+ * Receives ToDo items as they become overdue.
+ * Every bean implementing this interface is notified by the overdue
+ * scheduler, on its thread, shortly after an open ToDo's due date passes.
+ * Implementations should return quickly and hand slow work off to another
+ * thread.
+ *
+ * @author gupiluan
+ */
+@FunctionalInterface
+public interface ToDoOverdueListener {
+
+    /**
+     * Called once when an open ToDo item becomes overdue.
+     *
+     * @param event the overdue ToDo item
+     */
+    void onOverdue(ToDoOverdueEvent event);
+}
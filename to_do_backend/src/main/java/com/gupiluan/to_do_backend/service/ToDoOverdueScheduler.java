@@ -0,0 +1,200 @@
+package com.gupiluan.to_do_backend.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.repository.IToDoRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emits an event to every ToDoOverdueListener when an open ToDo item passes
+ * its due date.
+ * Enabled unless todo.overdue.events.enabled=false.
+ *
+ * Due dates are kept in a hierarchical timing wheel advanced once per tick
+ * by a background thread, so scheduling and firing cost O(1) and nothing is
+ * polled. The service schedules items as they are created or changed and
+ * cancels them when they are completed or deleted. Cancelling only forgets
+ * the due date; a stale wheel entry is skipped when it fires, and every
+ * event is checked against the repository before it is sent.
+ *
+ * @author gupiluan
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.overdue.events.enabled", havingValue = "true", matchIfMissing = true)
+public class ToDoOverdueScheduler {
+
+    /** Buckets per wheel level: seconds, minutes, hours with a 1s tick */
+    private static final int WHEEL_SIZE = 60;
+
+    private final IToDoRepository toDoRepository;
+    private final List<ToDoOverdueListener> listeners;
+    private final Clock clock;
+    private final long tickMillis;
+
+    /** Pending ToDo IDs with the due date they were scheduled for */
+    private final TimingWheel<Map.Entry<Long, LocalDateTime>> wheel;
+
+    /** Due date each pending ToDo was last scheduled with */
+    private final Map<Long, LocalDateTime> dueDates = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates the scheduler.
+     *
+     * @param toDoRepository the repository events are checked against
+     * @param listeners      the listeners to notify
+     * @param tickMillis     resolution of the timing wheel
+     */
+    @Autowired
+    public ToDoOverdueScheduler(IToDoRepository toDoRepository, ObjectProvider<ToDoOverdueListener> listeners,
+            @Value("${todo.overdue.tick-ms:1000}") long tickMillis) {
+        this(toDoRepository, listeners.orderedStream().toList(), tickMillis, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a scheduler that is advanced by calling fireDue().
+     *
+     * @param toDoRepository the repository events are checked against
+     * @param listeners      the listeners to notify
+     * @param tickMillis     resolution of the timing wheel
+     * @param clock          source of the current time
+     */
+    ToDoOverdueScheduler(IToDoRepository toDoRepository, List<ToDoOverdueListener> listeners, long tickMillis,
+            Clock clock) {
+        this.toDoRepository = toDoRepository;
+        this.listeners = listeners;
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, clock.millis());
+    }
+
+    /**
+     * Schedules the open items already stored that are not yet overdue and
+     * starts the background thread.
+     */
+    @PostConstruct
+    public void start() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        toDoRepository.findByDoneFlag(false).stream()
+                .filter(toDo -> toDo.getDueDate() != null && toDo.getDueDate().isAfter(now))
+                .forEach(this::schedule);
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "todo-overdue");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                fireDue();
+            } catch (RuntimeException e) {
+                // Keep ticking; the failed items are not retried
+                log.warn("Overdue check failed", e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules an event for the ToDo's due date, replacing any earlier one.
+     * Items that are done or have no due date are cancelled instead.
+     *
+     * @param toDo the created or changed ToDo item
+     */
+    public synchronized void schedule(ToDo toDo) {
+        if (toDo.isDoneFlag() || toDo.getDueDate() == null) {
+            cancel(toDo.getId());
+            return;
+        }
+        if (toDo.getDueDate().equals(dueDates.put(toDo.getId(), toDo.getDueDate()))) {
+            return;
+        }
+        wheel.add(toDo.getDueDate().atZone(clock.getZone()).toInstant().toEpochMilli(),
+                Map.entry(toDo.getId(), toDo.getDueDate()));
+    }
+
+    /**
+     * Cancels the pending event of a ToDo item.
+     *
+     * @param id the ToDo ID
+     */
+    public synchronized void cancel(Long id) {
+        dueDates.remove(id);
+    }
+
+    /**
+     * Advances the timing wheel to the current time and notifies the
+     * listeners of every item that became overdue.
+     *
+     * @return number of events sent
+     */
+    public int fireDue() {
+        List<Map.Entry<Long, LocalDateTime>> expired = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(clock.millis(), entry -> {
+                // Entries of cancelled or rescheduled items are stale
+                if (dueDates.remove(entry.getKey(), entry.getValue())) {
+                    expired.add(entry);
+                }
+            });
+        }
+
+        int sent = 0;
+        for (Map.Entry<Long, LocalDateTime> entry : expired) {
+            Optional<ToDo> current = toDoRepository.findById(entry.getKey());
+            if (current.isEmpty() || current.get().isDoneFlag()) {
+                continue;
+            }
+            ToDo toDo = current.get();
+            if (!Objects.equals(toDo.getDueDate(), entry.getValue())) {
+                // Changed without being rescheduled, e.g. by racing updates
+                schedule(toDo);
+                continue;
+            }
+            notifyListeners(new ToDoOverdueEvent(toDo.getId(), toDo.getText(), toDo.getPriority(), toDo.getDueDate()));
+            sent++;
+        }
+        return sent;
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void notifyListeners(ToDoOverdueEvent event) {
+        for (ToDoOverdueListener listener : listeners) {
+            try {
+                listener.onOverdue(event);
+            } catch (RuntimeException e) {
+                log.warn("Overdue listener failed for ToDo {}", event.getId(), e);
+            }
+        }
+    }
+}
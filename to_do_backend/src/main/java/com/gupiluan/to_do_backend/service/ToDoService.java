@@ -1,9 +1,25 @@
 package com.gupiluan.to_do_backend.service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,11 +28,25 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.gupiluan.to_do_backend.dto.CompletionLatencyResponse;
+import com.gupiluan.to_do_backend.dto.ThroughputBucketResponse;
 import com.gupiluan.to_do_backend.dto.ToDoCreateRequest;
+import com.gupiluan.to_do_backend.dto.ToDoImportError;
+import com.gupiluan.to_do_backend.dto.ToDoImportResponse;
+import com.gupiluan.to_do_backend.dto.ToDoOperation;
+import com.gupiluan.to_do_backend.dto.ToDoOperationResult;
 import com.gupiluan.to_do_backend.dto.ToDoResponse;
 import com.gupiluan.to_do_backend.dto.ToDoUpdateRequest;
+import com.gupiluan.to_do_backend.exception.ToDoConflictException;
 import com.gupiluan.to_do_backend.exception.ToDoException;
 import com.gupiluan.to_do_backend.exception.ToDoNotFoundException;
 import com.gupiluan.to_do_backend.exception.ToDoValidationException;
@@ -24,6 +54,8 @@ import com.gupiluan.to_do_backend.mapper.ToDoMapper;
 import com.gupiluan.to_do_backend.model.Pagination;
 import com.gupiluan.to_do_backend.model.Priority;
 import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+import com.gupiluan.to_do_backend.model.ToDoExportFormat;
 import com.gupiluan.to_do_backend.repository.IToDoRepository;
 
 /**
@@ -37,16 +69,84 @@ import com.gupiluan.to_do_backend.repository.IToDoRepository;
 @Transactional
 public class ToDoService {
 
+    /** Items read per batch when streaming */
+    static final int STREAM_BATCH_SIZE = 500;
+
+    /** Batch size from which requests are validated and mapped in parallel */
+    static final int PARALLEL_BATCH_THRESHOLD = 2048;
+
+    /** Items read and flushed per batch when exporting */
+    static final int EXPORT_BATCH_SIZE = 1000;
+
+    /** Header row of CSV exports */
+    static final String CSV_HEADER = "id,text,dueDate,doneFlag,doneDate,priority,creationTime";
+
+    /** Most operations accepted by one multi-operation request */
+    static final int MAX_OPERATIONS = 1000;
+
+    /** Attempts of a read-modify-write before a conflict is reported */
+    static final int MAX_UPDATE_ATTEMPTS = 3;
+
+    /** Items saved per atomic step when importing */
+    static final int IMPORT_CHUNK_SIZE = 1000;
+
+    /** Longest import line read, far above any valid creation request */
+    static final int MAX_IMPORT_LINE_LENGTH = 4096;
+
+    /** Failed import lines listed in the response */
+    static final int MAX_REPORTED_IMPORT_ERRORS = 100;
+
+    private static final int EOF = -1;
+    private static final int TOO_LONG = -2;
+
     private final IToDoRepository toDoRepository;
 
+    /** Single-writer pipeline, null when writes go straight to the repository */
+    private ToDoWriteQueue writeQueue;
+
+    /** Overdue event scheduler, null when overdue events are disabled */
+    private ToDoOverdueScheduler overdueScheduler;
+
+    /** Creations, completions and deletions per minute over the last week */
+    private final ToDoThroughputCounters throughputCounters = new ToDoThroughputCounters();
+
+    /** Reads creation requests from import lines */
+    private final ObjectReader importReader;
+
+    /** Writes the rows of NDJSON streams and exports */
+    private final ObjectWriter ndjsonWriter;
+
     /**
      * Constructor with dependency injection.
      * 
      * @param toDoRepository the repository for data access
+     * @param objectMapper   the JSON mapper for imports and NDJSON responses
      */
     @Autowired
-    public ToDoService(IToDoRepository toDoRepository) {
+    public ToDoService(IToDoRepository toDoRepository, ObjectMapper objectMapper) {
         this.toDoRepository = toDoRepository;
+        this.importReader = objectMapper.readerFor(ToDoCreateRequest.class);
+        this.ndjsonWriter = objectMapper.writerFor(ToDoResponse.class);
+    }
+
+    /**
+     * Routes mutations through the single-writer pipeline when it is enabled.
+     * 
+     * @param writeQueue the write queue
+     */
+    @Autowired(required = false)
+    public void setWriteQueue(ToDoWriteQueue writeQueue) {
+        this.writeQueue = writeQueue;
+    }
+
+    /**
+     * Keeps the overdue event scheduler informed of due date changes.
+     * 
+     * @param overdueScheduler the overdue event scheduler
+     */
+    @Autowired(required = false)
+    public void setOverdueScheduler(ToDoOverdueScheduler overdueScheduler) {
+        this.overdueScheduler = overdueScheduler;
     }
 
     /**
@@ -77,42 +177,127 @@ public class ToDoService {
         validateCreateRequest(request);
 
         ToDo toDo = ToDoMapper.toEntity(request);
-        ToDo saved = toDoRepository.save(toDo);
+        ToDo saved = write(effects -> applyCreate(toDo, effects));
 
         return ToDoMapper.toResponse(saved);
     }
 
     /**
      * Creates multiple ToDo items in batch.
+     * Requests are validated and mapped first, on the common fork-join pool
+     * for batches of PARALLEL_BATCH_THRESHOLD or more, with rejections
+     * collected as values instead of exceptions. The valid items are then
+     * saved with one saveAll call.
+     * 
+     * Rejected items are reported like failed import lines, by their 1-based
+     * position in the batch, up to MAX_REPORTED_IMPORT_ERRORS of them.
      * 
      * @param requests list of creation requests
-     * @return Map containing creation results with counts of successful and failed
-     *         operations
+     * @return counts of created and failed items, with the first rejections
+     * @throws ToDoValidationException if the list is empty
      */
-    public Map<String, Integer> createToDos(List<ToDoCreateRequest> requests) {
+    public ToDoImportResponse createToDos(List<ToDoCreateRequest> requests) {
         if (requests == null || requests.isEmpty()) {
             throw new ToDoValidationException("Request list cannot be empty");
         }
 
-        int successful = 0;
-        int failed = 0;
+        int count = requests.size();
+        ToDo[] mapped = new ToDo[count];
+        String[] rejections = new String[count];
+        IntStream indexes = count >= PARALLEL_BATCH_THRESHOLD
+                ? IntStream.range(0, count).parallel()
+                : IntStream.range(0, count);
+        // Each index writes only its own slots
+        indexes.forEach(i -> {
+            ToDoCreateRequest request = requests.get(i);
+            String error = createRequestError(request);
+            if (error == null) {
+                mapped[i] = ToDoMapper.toEntity(request);
+            } else {
+                rejections[i] = error;
+            }
+        });
+
+        List<ToDo> valid = new ArrayList<>(count);
+        List<ToDoImportError> errors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (mapped[i] != null) {
+                valid.add(mapped[i]);
+            } else if (errors.size() < MAX_REPORTED_IMPORT_ERRORS) {
+                errors.add(new ToDoImportError(i + 1, ToDoValidationException.PREFIX + rejections[i]));
+            }
+        }
+
+        int successful = saveChunk(valid);
+        int failed = count - successful;
+
+        return new ToDoImportResponse(successful, failed, errors, failed > errors.size());
+    }
+
+    /**
+     * Imports ToDo items from newline-delimited JSON, one creation request
+     * per line. The body is read incrementally and valid items are saved in
+     * chunks of IMPORT_CHUNK_SIZE, each in one atomic repository step, so
+     * memory stays bounded however large the body is and a chunk costs one
+     * lock acquisition (or one transaction) instead of one per item.
+     * 
+     * Invalid lines are skipped and reported; blank lines are ignored. Runs
+     * outside a transaction so each chunk commits on its own.
+     * 
+     * @param ndjson the request body
+     * @return counts of created and failed lines, with the first failures
+     * @throws ToDoValidationException if the body has no items
+     * @throws IOException             if the body cannot be read
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ToDoImportResponse importToDos(InputStream ndjson) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder();
+        List<ToDo> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<ToDoImportError> errors = new ArrayList<>();
+        long successful = 0;
+        long failed = 0;
+        long lines = 0;
+        boolean empty = true;
+
+        for (int end = readLine(reader, line); end != EOF || line.length() > 0; end = readLine(reader, line)) {
+            lines++;
+            // A cut line only holds its first characters, which may all be blank
+            if (end != TOO_LONG && StringUtils.isBlank(line)) {
+                continue;
+            }
+            empty = false;
 
-        for (ToDoCreateRequest request : requests) {
             try {
+                if (end == TOO_LONG) {
+                    throw new ToDoValidationException(
+                            "Line exceeds " + MAX_IMPORT_LINE_LENGTH + " characters");
+                }
+                ToDoCreateRequest request = parseImportLine(line.toString());
                 validateCreateRequest(request);
-                ToDo toDo = ToDoMapper.toEntity(request);
-                toDoRepository.save(toDo);
-                successful++;
-            } catch (Exception e) {
+                chunk.add(ToDoMapper.toEntity(request));
+            } catch (ToDoValidationException e) {
                 failed++;
+                if (errors.size() < MAX_REPORTED_IMPORT_ERRORS) {
+                    errors.add(new ToDoImportError(lines, e.getMessage()));
+                }
             }
-        }
 
-        Map<String, Integer> result = new HashMap<>();
-        result.put("successful", successful);
-        result.put("failed", failed);
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                int saved = saveChunk(chunk);
+                successful += saved;
+                failed += chunk.size() - saved;
+                chunk.clear();
+            }
+        }
+        if (empty) {
+            throw new ToDoValidationException("Import cannot be empty");
+        }
+        int saved = saveChunk(chunk);
+        successful += saved;
+        failed += chunk.size() - saved;
 
-        return result;
+        return new ToDoImportResponse(successful, failed, errors, failed > errors.size());
     }
 
     /**
@@ -145,7 +330,49 @@ public class ToDoService {
         // Convert to response DTOs
         List<ToDoResponse> responses = ToDoMapper.toResponseList(todoPage.getContent());
 
-        return Pagination.of(responses, page, size, (int) todoPage.getTotalElements());
+        Pagination<List<ToDoResponse>> pagination = Pagination.of(responses, page, size,
+                (int) todoPage.getTotalElements());
+        // Lets clients continue with cursors from any page
+        if (todoPage.hasNext() && todoPage.hasContent()) {
+            List<ToDo> content = todoPage.getContent();
+            pagination.setNextCursor(ToDoCursor.of(content.get(content.size() - 1)).encode());
+        }
+        return pagination;
+    }
+
+    /**
+     * Retrieves the ToDo items after a cursor, with filtering and sorting
+     * (keyset pagination). Each call costs the same however deep the client
+     * has scrolled and is not shifted by inserts or deletes before the
+     * cursor.
+     * 
+     * @param cursor         cursor from a previous page, blank for the first
+     * @param size           number of items per page
+     * @param name           optional text filter for ToDo content
+     * @param complete       optional completion status filter ("done" or "pending")
+     * @param priority       optional priority filter
+     * @param sortByDueDate  optional sort direction for due date ("asc" or "desc")
+     * @param sortByPriority optional sort direction for priority ("asc" or "desc")
+     * @return Pagination wrapper with the items and the next cursor
+     * @throws ToDoValidationException if the cursor or size is invalid
+     */
+    @Transactional(readOnly = true)
+    public Pagination<List<ToDoResponse>> getToDosAfter(String cursor, int size, String name,
+            String complete, Priority priority, String sortByDueDate, String sortByPriority) {
+
+        validatePaginationParams(0, size);
+        ToDoCursor after = parseCursor(cursor);
+
+        Sort sort = buildSortSpecification(sortByDueDate, sortByPriority);
+        Boolean doneFlag = parseCompletionFilter(complete);
+
+        // One extra row tells whether another page follows
+        List<ToDo> rows = toDoRepository.findWithFiltersAfter(name, doneFlag, priority, sort, after, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ToDo> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext ? ToDoCursor.of(content.get(content.size() - 1)).encode() : null;
+        return Pagination.ofCursor(ToDoMapper.toResponseList(content), size, content.isEmpty(), nextCursor);
     }
 
     /**
@@ -158,10 +385,7 @@ public class ToDoService {
     public ToDoResponse deleteToDo(Long id) {
         validateId(id);
 
-        ToDo deleted = toDoRepository.deleteByIdAndReturn(id);
-        if (deleted == null) {
-            throw new ToDoNotFoundException(id);
-        }
+        ToDo deleted = write(effects -> applyDelete(id, effects));
 
         return ToDoMapper.toResponse(deleted);
     }
@@ -173,27 +397,42 @@ public class ToDoService {
      */
     @Transactional(readOnly = true)
     public Map<Priority, Integer> getCompletionStatistics() {
-        Map<Priority, Integer> statistics = new HashMap<>();
-
-        for (Priority priority : Priority.values()) {
-            List<ToDo> completedTodos = toDoRepository.findCompletedByPriority(priority);
-
-            if (completedTodos.isEmpty()) {
-                statistics.put(priority, 0);
-                continue;
-            }
+        return new HashMap<>(toDoRepository.averageCompletionMinutes());
+    }
 
-            long totalMinutes = completedTodos.stream()
-                    .filter(todo -> todo.getCreationTime() != null && todo.getDoneDate() != null)
-                    .mapToLong(todo -> toDoRepository.getDurationBetween(
-                            todo.getCreationTime(), todo.getDoneDate()).toMinutes())
-                    .sum();
+    /**
+     * Calculates completion time percentiles by priority.
+     * 
+     * @return Map of priority levels to completion time percentiles in seconds
+     */
+    @Transactional(readOnly = true)
+    public Map<Priority, CompletionLatencyResponse> getCompletionLatency() {
+        Map<Priority, CompletionLatencyResponse> latency = new EnumMap<>(Priority.class);
+        toDoRepository.completionHistograms().forEach((priority, histogram) -> latency.put(priority,
+                new CompletionLatencyResponse(histogram.getTotalCount(), histogram.valueAtPercentile(50),
+                        histogram.valueAtPercentile(90), histogram.valueAtPercentile(99), histogram.getMax())));
+        return latency;
+    }
 
-            int averageMinutes = (int) (totalMinutes / completedTodos.size());
-            statistics.put(priority, averageMinutes);
+    /**
+     * Counts ToDo creations, completions and deletions in consecutive time
+     * buckets ending now.
+     * 
+     * @param window     ISO-8601 duration covered, at most 7 days (e.g. P1D)
+     * @param resolution ISO-8601 duration of each bucket, in whole minutes
+     *                   (e.g. PT1H)
+     * @return the buckets of the window, oldest first
+     * @throws ToDoValidationException if a duration is invalid or out of range
+     */
+    @Transactional(readOnly = true)
+    public List<ThroughputBucketResponse> getThroughput(String window, String resolution) {
+        try {
+            return throughputCounters.query(Duration.parse(window), Duration.parse(resolution));
+        } catch (DateTimeParseException e) {
+            throw new ToDoValidationException("Window and resolution must be ISO-8601 durations");
+        } catch (IllegalArgumentException e) {
+            throw new ToDoValidationException(e.getMessage());
         }
-
-        return statistics;
     }
 
     /**
@@ -202,21 +441,12 @@ public class ToDoService {
      * @param id the ID of the ToDo to mark as done
      * @return true if successful
      * @throws ToDoException if ToDo is not found or already completed
+     * @throws ToDoConflictException if the item kept changing concurrently
      */
     public boolean markDone(Long id) {
         validateId(id);
 
-        ToDo toDo = toDoRepository.findById(id)
-                .orElseThrow(() -> new ToDoNotFoundException(id));
-
-        if (toDo.isDoneFlag()) {
-            throw new ToDoValidationException("ToDo is already marked as done");
-        }
-
-        toDo.setDoneFlag(true);
-        toDo.setDoneDate(LocalDateTime.now());
-
-        return toDoRepository.update(toDo);
+        return write(effects -> retryOnConflict(id, () -> applyMarkDone(id, effects))) != null;
     }
 
     /**
@@ -225,21 +455,91 @@ public class ToDoService {
      * @param id the ID of the ToDo to mark as undone
      * @return true if successful
      * @throws ToDoException if ToDo is not found or not completed
+     * @throws ToDoConflictException if the item kept changing concurrently
      */
     public boolean markUnDone(Long id) {
         validateId(id);
 
-        ToDo toDo = toDoRepository.findById(id)
-                .orElseThrow(() -> new ToDoNotFoundException(id));
+        return write(effects -> retryOnConflict(id, () -> applyMarkUnDone(id, effects))) != null;
+    }
 
-        if (!toDo.isDoneFlag()) {
-            throw new ToDoValidationException("ToDo is not marked as done");
-        }
+    /**
+     * Marks every pending ToDo item matching the filters as completed, in one
+     * repository pass.
+     * 
+     * @param name          optional text filter for ToDo content
+     * @param priority      optional priority filter
+     * @param createdBefore optional bound, only items created before it match
+     * @return number of items marked as done
+     */
+    public int markDoneMatching(String name, Priority priority, LocalDateTime createdBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ToDo> done = write(effects -> {
+            List<ToDo> changed = toDoRepository.updateMatching(name, false, priority, createdBefore, toDo -> {
+                toDo.setDoneFlag(true);
+                toDo.setDoneDate(now);
+            });
+            effects.add(() -> {
+                throughputCounters.record(ToDoThroughputCounters.Event.COMPLETED, changed.size());
+                changed.forEach(toDo -> cancelOverdue(toDo.getId()));
+            });
+            return changed;
+        });
+
+        return done.size();
+    }
 
-        toDo.setDoneFlag(false);
-        toDo.setDoneDate(null);
+    /**
+     * Marks every completed ToDo item matching the filters as not completed,
+     * in one repository pass.
+     * 
+     * @param name          optional text filter for ToDo content
+     * @param priority      optional priority filter
+     * @param createdBefore optional bound, only items created before it match
+     * @return number of items marked as undone
+     */
+    public int markUnDoneMatching(String name, Priority priority, LocalDateTime createdBefore) {
+        List<ToDo> undone = write(effects -> {
+            List<ToDo> changed = toDoRepository.updateMatching(name, true, priority, createdBefore, toDo -> {
+                toDo.setDoneFlag(false);
+                toDo.setDoneDate(null);
+            });
+            effects.add(() -> changed.forEach(this::scheduleOverdue));
+            return changed;
+        });
+
+        return undone.size();
+    }
 
-        return toDoRepository.update(toDo);
+    /**
+     * Deletes every ToDo item matching the filters, in one repository pass.
+     * At least one filter is required, so a request without filters cannot
+     * delete everything by accident.
+     * 
+     * @param name          optional text filter for ToDo content
+     * @param complete      optional completion status filter ("done" or "pending")
+     * @param priority      optional priority filter
+     * @param createdBefore optional bound, only items created before it match
+     * @return number of items deleted
+     * @throws ToDoValidationException if no filter is given or the completion
+     *                                 filter is neither "done" nor "pending"
+     */
+    public int deleteMatching(String name, String complete, Priority priority, LocalDateTime createdBefore) {
+        if (StringUtils.isBlank(name) && StringUtils.isBlank(complete) && priority == null && createdBefore == null) {
+            throw new ToDoValidationException("At least one filter is required to delete ToDos");
+        }
+
+        Boolean doneFlag = parseStrictCompletionFilter(complete);
+        List<ToDo> deleted = write(effects -> {
+            List<ToDo> removed = toDoRepository.deleteMatching(name, doneFlag, priority, createdBefore);
+            effects.add(() -> {
+                throughputCounters.record(ToDoThroughputCounters.Event.DELETED, removed.size());
+                removed.forEach(toDo -> cancelOverdue(toDo.getId()));
+            });
+            return removed;
+        });
+
+        return deleted.size();
     }
 
     /**
@@ -249,30 +549,535 @@ public class ToDoService {
      * @param request the update request containing new data
      * @return true if successful
      * @throws ToDoException if ToDo is not found or validation fails
+     * @throws ToDoConflictException if the item kept changing concurrently
      */
     public boolean updateToDo(Long id, ToDoUpdateRequest request) {
         validateId(id);
         validateUpdateRequest(request);
 
+        return write(effects -> retryOnConflict(id, () -> applyUpdate(id, request, effects))) != null;
+    }
+
+    /**
+     * Retrieves a page of the overdue ToDo items, with sorting.
+     * 
+     * @param page           page number (0-based)
+     * @param size           number of items per page
+     * @param sortByDueDate  optional sort direction for due date ("asc" or "desc")
+     * @param sortByPriority optional sort direction for priority ("asc" or "desc")
+     * @return Pagination wrapper containing the overdue ToDo items
+     */
+    @Transactional(readOnly = true)
+    public Pagination<List<ToDoResponse>> getOverdueTodos(int page, int size, String sortByDueDate,
+            String sortByPriority) {
+
+        validatePaginationParams(page, size);
+
+        Sort sort = buildSortSpecification(sortByDueDate, sortByPriority);
+        Page<ToDo> overduePage = toDoRepository.findOverdue(LocalDateTime.now(), PageRequest.of(page, size, sort));
+
+        Pagination<List<ToDoResponse>> pagination = Pagination.of(
+                ToDoMapper.toResponseList(overduePage.getContent()), page, size,
+                (int) overduePage.getTotalElements());
+        if (overduePage.hasNext() && overduePage.hasContent()) {
+            List<ToDo> content = overduePage.getContent();
+            pagination.setNextCursor(ToDoCursor.of(content.get(content.size() - 1)).encode());
+        }
+        return pagination;
+    }
+
+    /**
+     * Retrieves the overdue ToDo items after a cursor, with sorting (keyset
+     * pagination).
+     * 
+     * @param cursor         cursor from a previous page, blank for the first
+     * @param size           number of items per page
+     * @param sortByDueDate  optional sort direction for due date ("asc" or "desc")
+     * @param sortByPriority optional sort direction for priority ("asc" or "desc")
+     * @return Pagination wrapper with the items and the next cursor
+     * @throws ToDoValidationException if the cursor or size is invalid
+     */
+    @Transactional(readOnly = true)
+    public Pagination<List<ToDoResponse>> getOverdueTodosAfter(String cursor, int size, String sortByDueDate,
+            String sortByPriority) {
+
+        validatePaginationParams(0, size);
+        ToDoCursor after = parseCursor(cursor);
+        Sort sort = buildSortSpecification(sortByDueDate, sortByPriority);
+
+        // One extra row tells whether another page follows
+        List<ToDo> rows = toDoRepository.findOverdueAfter(LocalDateTime.now(), sort, after, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ToDo> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext ? ToDoCursor.of(content.get(content.size() - 1)).encode() : null;
+        return Pagination.ofCursor(ToDoMapper.toResponseList(content), size, content.isEmpty(), nextCursor);
+    }
+
+    /**
+     * Writes every overdue ToDo item in order to the output stream as
+     * newline-delimited JSON, in batches of STREAM_BATCH_SIZE; the stream is
+     * flushed after every batch. Each batch is a keyset read after the last
+     * item of the previous one, so memory stays bounded however many items
+     * are overdue. Runs outside a transaction so that each batch gets its own
+     * and no persistence context accumulates the rows read.
+     * 
+     * The cutoff is fixed when the stream starts; items completed while it
+     * runs may still be included if their batch was already read.
+     * 
+     * @param sortByDueDate  optional sort direction for due date ("asc" or "desc")
+     * @param sortByPriority optional sort direction for priority ("asc" or "desc")
+     * @param out            receives one JSON line per item
+     * @return number of items streamed
+     * @throws IOException if the output cannot be written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long streamOverdueTodos(String sortByDueDate, String sortByPriority, OutputStream out)
+            throws IOException {
+
+        LocalDateTime now = LocalDateTime.now();
+        Sort sort = buildSortSpecification(sortByDueDate, sortByPriority);
+
+        long streamed = 0;
+        ToDoCursor after = null;
+        while (true) {
+            List<ToDo> batch = toDoRepository.findOverdueAfter(now, sort, after, STREAM_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return streamed;
+            }
+            for (ToDo toDo : batch) {
+                out.write(ndjsonWriter.writeValueAsBytes(ToDoMapper.toResponse(toDo)));
+                out.write('\n');
+            }
+            out.flush();
+            streamed += batch.size();
+            if (batch.size() < STREAM_BATCH_SIZE) {
+                return streamed;
+            }
+            after = ToDoCursor.of(batch.get(batch.size() - 1));
+        }
+    }
+
+    /**
+     * Writes every ToDo item matching the filters to the output stream, in
+     * the order getAllToDos pages through them. Items are read as keyset
+     * batches of EXPORT_BATCH_SIZE, each seeking past the last item of the
+     * previous one, and written straight from the batch; the stream is
+     * flushed after every batch. Heap use stays constant however many items
+     * match: every engine selects a batch with a heap bounded by its size.
+     * Engines without ordered storage scan their items once per batch.
+     * Runs outside a transaction so that each batch gets its own and no
+     * persistence context accumulates the rows read.
+     * 
+     * Every matching item is written at most once. Items changed while the
+     * export runs may appear with either their old or their new values.
+     * 
+     * @param name           optional text filter for ToDo content
+     * @param complete       optional completion status filter ("done" or "pending")
+     * @param priority       optional priority filter
+     * @param sortByDueDate  optional sort direction for due date ("asc" or "desc")
+     * @param sortByPriority optional sort direction for priority ("asc" or "desc")
+     * @param format         the export format
+     * @param out            receives the exported rows
+     * @return number of items exported
+     * @throws IOException if the output cannot be written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long exportToDos(String name, String complete, Priority priority, String sortByDueDate,
+            String sortByPriority, ToDoExportFormat format, OutputStream out) throws IOException {
+
+        Sort sort = buildSortSpecification(sortByDueDate, sortByPriority);
+        Boolean doneFlag = parseCompletionFilter(complete);
+
+        if (format == ToDoExportFormat.CSV) {
+            out.write((CSV_HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        long exported = 0;
+        ToDoCursor after = null;
+        while (true) {
+            List<ToDo> batch = toDoRepository.findWithFiltersAfter(name, doneFlag, priority, sort, after,
+                    EXPORT_BATCH_SIZE);
+            for (ToDo toDo : batch) {
+                byte[] row = format == ToDoExportFormat.CSV ? csvRow(toDo)
+                        : ndjsonWriter.writeValueAsBytes(ToDoMapper.toResponse(toDo));
+                out.write(row);
+                out.write('\n');
+            }
+            out.flush();
+            exported += batch.size();
+            if (batch.size() < EXPORT_BATCH_SIZE) {
+                return exported;
+            }
+            after = ToDoCursor.of(batch.get(batch.size() - 1));
+        }
+    }
+
+    /**
+     * Runs an ordered list of create, update, done, undone and delete
+     * operations as one atomic repository step: one write-lock acquisition
+     * (or one transaction) for the whole list, with no other writer in
+     * between. Each operation is validated and applied like the matching
+     * single-item call. An operation that fails is reported in its result
+     * and the following operations still run; the changes of the successful
+     * ones are kept. Their throughput counts and overdue scheduling are
+     * collected during the step and applied only after it has returned and
+     * committed, so a step that fails or rolls back records none of them.
+     * 
+     * @param operations the operations, in execution order
+     * @return one result per operation, in the same order
+     * @throws ToDoValidationException if the list is empty or too long
+     */
+    public List<ToDoOperationResult> executeOperations(List<ToDoOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new ToDoValidationException("Operation list cannot be empty");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new ToDoValidationException("At most " + MAX_OPERATIONS + " operations are allowed per request");
+        }
+
+        return write(effects -> toDoRepository.executeAtomically(() -> {
+            List<ToDoOperationResult> results = new ArrayList<>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                try {
+                    ToDo toDo = applyOperation(operations.get(i), effects);
+                    results.add(new ToDoOperationResult(i, true, ToDoMapper.toResponse(toDo), null));
+                } catch (ToDoException e) {
+                    results.add(new ToDoOperationResult(i, false, null, e.getMessage()));
+                }
+            }
+            return results;
+        }));
+    }
+
+    /**
+     * Saves new ToDo items in one atomic repository step and records them.
+     * 
+     * @param toDos the items to save
+     * @return number of items saved
+     */
+    private int saveChunk(List<ToDo> toDos) {
+        if (toDos.isEmpty()) {
+            return 0;
+        }
+        List<ToDo> saved = write(effects -> {
+            List<ToDo> created = toDoRepository.saveAll(toDos);
+            effects.add(() -> {
+                throughputCounters.record(ToDoThroughputCounters.Event.CREATED, created.size());
+                created.forEach(this::scheduleOverdue);
+            });
+            return created;
+        });
+        return saved.size();
+    }
+
+    /**
+     * Validates and applies one operation of a multi-operation request.
+     * 
+     * @return the ToDo item after the operation, before it for DELETE
+     * @throws ToDoException if the operation is invalid or cannot be applied
+     * @throws ToDoConflictException if its update kept being rejected
+     */
+    private ToDo applyOperation(ToDoOperation operation, List<Runnable> effects) {
+        if (operation == null || operation.getType() == null) {
+            throw new ToDoValidationException("Operation type is required");
+        }
+
+        Long id = operation.getId();
+        if (operation.getType() != ToDoOperation.Type.CREATE) {
+            validateId(id);
+        }
+
+        return switch (operation.getType()) {
+            case CREATE -> {
+                ToDoCreateRequest request = ToDoMapper.toCreateRequest(operation);
+                validateCreateRequest(request);
+                yield applyCreate(ToDoMapper.toEntity(request), effects);
+            }
+            case UPDATE -> {
+                ToDoUpdateRequest request = ToDoMapper.toUpdateRequest(operation);
+                validateUpdateRequest(request);
+                yield retryOnConflict(id, () -> applyUpdate(id, request, effects));
+            }
+            case DONE -> retryOnConflict(id, () -> applyMarkDone(id, effects));
+            case UNDONE -> retryOnConflict(id, () -> applyMarkUnDone(id, effects));
+            case DELETE -> applyDelete(id, effects);
+        };
+    }
+
+    /**
+     * Runs a read-modify-write of one item again while the repository rejects
+     * the update, e.g. because the item changed after it was read. Each
+     * attempt reads the item afresh.
+     * 
+     * @param id      the ID of the item
+     * @param attempt the read-modify-write, returning null when rejected
+     * @return the updated item
+     * @throws ToDoConflictException if every attempt was rejected
+     */
+    private ToDo retryOnConflict(Long id, Supplier<ToDo> attempt) {
+        for (int i = 0; i < MAX_UPDATE_ATTEMPTS; i++) {
+            ToDo toDo = attempt.get();
+            if (toDo != null) {
+                return toDo;
+            }
+        }
+        throw new ToDoConflictException(id);
+    }
+
+    /**
+     * Saves a new ToDo item and adds the recording of its creation to the
+     * effects.
+     * 
+     * @return the saved item
+     */
+    private ToDo applyCreate(ToDo toDo, List<Runnable> effects) {
+        ToDo saved = toDoRepository.save(toDo);
+        effects.add(() -> {
+            throughputCounters.record(ToDoThroughputCounters.Event.CREATED);
+            scheduleOverdue(saved);
+        });
+        return saved;
+    }
+
+    /**
+     * Replaces the editable fields of a ToDo item, preserving system-managed
+     * data.
+     * 
+     * @return the updated item, null if the repository did not update it
+     * @throws ToDoNotFoundException if the item does not exist
+     */
+    private ToDo applyUpdate(Long id, ToDoUpdateRequest request, List<Runnable> effects) {
         ToDo existing = toDoRepository.findById(id)
                 .orElseThrow(() -> new ToDoNotFoundException(id));
 
         // Update fields while preserving system-managed data
         ToDoMapper.updateEntity(existing, request);
 
-        return toDoRepository.update(existing);
+        if (!toDoRepository.update(existing)) {
+            return null;
+        }
+        effects.add(() -> scheduleOverdue(existing));
+        return existing;
     }
 
     /**
-     * Retrieves overdue ToDo items.
+     * Marks a ToDo item as completed and adds the recording of the
+     * completion to the effects.
      * 
-     * @return List of overdue ToDo items
+     * @return the updated item, null if the repository did not update it
+     * @throws ToDoException if the item does not exist or is already done
      */
-    @Transactional(readOnly = true)
-    public List<ToDoResponse> getOverdueTodos() {
-        LocalDateTime now = LocalDateTime.now();
-        List<ToDo> overdueTodos = toDoRepository.findByDueDateBeforeAndDoneFlagFalse(now);
-        return ToDoMapper.toResponseList(overdueTodos);
+    private ToDo applyMarkDone(Long id, List<Runnable> effects) {
+        ToDo toDo = toDoRepository.findById(id)
+                .orElseThrow(() -> new ToDoNotFoundException(id));
+
+        if (toDo.isDoneFlag()) {
+            throw new ToDoValidationException("ToDo is already marked as done");
+        }
+
+        toDo.setDoneFlag(true);
+        toDo.setDoneDate(LocalDateTime.now());
+
+        if (!toDoRepository.update(toDo)) {
+            return null;
+        }
+        effects.add(() -> {
+            throughputCounters.record(ToDoThroughputCounters.Event.COMPLETED);
+            cancelOverdue(id);
+        });
+        return toDo;
+    }
+
+    /**
+     * Marks a ToDo item as not completed.
+     * 
+     * @return the updated item, null if the repository did not update it
+     * @throws ToDoException if the item does not exist or is not done
+     */
+    private ToDo applyMarkUnDone(Long id, List<Runnable> effects) {
+        ToDo toDo = toDoRepository.findById(id)
+                .orElseThrow(() -> new ToDoNotFoundException(id));
+
+        if (!toDo.isDoneFlag()) {
+            throw new ToDoValidationException("ToDo is not marked as done");
+        }
+
+        toDo.setDoneFlag(false);
+        toDo.setDoneDate(null);
+
+        if (!toDoRepository.update(toDo)) {
+            return null;
+        }
+        effects.add(() -> scheduleOverdue(toDo));
+        return toDo;
+    }
+
+    /**
+     * Deletes a ToDo item and adds the recording of the deletion to the
+     * effects.
+     * 
+     * @return the deleted item
+     * @throws ToDoNotFoundException if the item does not exist
+     */
+    private ToDo applyDelete(Long id, List<Runnable> effects) {
+        ToDo deleted = toDoRepository.deleteByIdAndReturn(id);
+        if (deleted == null) {
+            throw new ToDoNotFoundException(id);
+        }
+        effects.add(() -> {
+            throughputCounters.record(ToDoThroughputCounters.Event.DELETED);
+            cancelOverdue(id);
+        });
+        return deleted;
+    }
+
+    /**
+     * Reads the next line into the buffer, without the line terminator.
+     * Characters beyond MAX_IMPORT_LINE_LENGTH are skipped, so a line never
+     * takes more memory than that.
+     * 
+     * @return EOF at the end of the input, TOO_LONG if the line was cut,
+     *         otherwise 0
+     */
+    private static int readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (line.length() < MAX_IMPORT_LINE_LENGTH) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        if (tooLong) {
+            return TOO_LONG;
+        }
+        return c == -1 ? EOF : 0;
+    }
+
+    /**
+     * Parses one line of an import.
+     * 
+     * @throws ToDoValidationException if the line is not a creation request
+     */
+    private ToDoCreateRequest parseImportLine(String line) {
+        try {
+            return importReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new ToDoValidationException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Encodes a ToDo item as a CSV row, with the columns of CSV_HEADER.
+     * Dates are ISO-8601 and missing values are empty.
+     */
+    private static byte[] csvRow(ToDo toDo) {
+        StringBuilder row = new StringBuilder(64);
+        row.append(toDo.getId()).append(',');
+        appendCsvText(row, toDo.getText());
+        row.append(',').append(Objects.toString(toDo.getDueDate(), ""))
+                .append(',').append(toDo.isDoneFlag())
+                .append(',').append(Objects.toString(toDo.getDoneDate(), ""))
+                .append(',').append(Objects.toString(toDo.getPriority(), ""))
+                .append(',').append(Objects.toString(toDo.getCreationTime(), ""));
+        return row.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a text field, quoted with doubled quotes when it contains a
+     * comma, quote or line break (RFC 4180).
+     */
+    private static void appendCsvText(StringBuilder row, String text) {
+        if (text == null) {
+            return;
+        }
+        if (StringUtils.containsAny(text, ',', '"', '\n', '\r')) {
+            row.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else {
+            row.append(text);
+        }
+    }
+
+    /**
+     * Runs a mutation on the single writer thread when the pipeline is enabled,
+     * otherwise directly on the calling thread.
+     * 
+     * The mutation adds its side effects (throughput counts, overdue
+     * scheduling) to the given list instead of running them. They run once
+     * the change is committed: when the write queue reports its batch done,
+     * or after the surrounding transaction commits. A mutation that throws or
+     * a transaction that rolls back leaves them unrecorded.
+     */
+    private <T> T write(Function<List<Runnable>, T> mutation) {
+        List<Runnable> effects = new ArrayList<>();
+        if (writeQueue == null) {
+            T result = mutation.apply(effects);
+            runAfterCommit(effects);
+            return result;
+        }
+
+        T result;
+        try {
+            result = writeQueue.submit(() -> mutation.apply(effects)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        // The writer completes the future only after its batch committed
+        effects.forEach(Runnable::run);
+        return result;
+    }
+
+    /**
+     * Runs side effects after the active transaction commits, or right away
+     * when there is none.
+     */
+    private static void runAfterCommit(List<Runnable> effects) {
+        if (effects.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    effects.forEach(Runnable::run);
+                }
+            });
+        } else {
+            effects.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Schedules the overdue event of a created or changed ToDo, if overdue
+     * events are enabled.
+     */
+    private void scheduleOverdue(ToDo toDo) {
+        if (overdueScheduler != null) {
+            overdueScheduler.schedule(toDo);
+        }
+    }
+
+    /**
+     * Cancels the overdue event of a completed or deleted ToDo, if overdue
+     * events are enabled.
+     */
+    private void cancelOverdue(Long id) {
+        if (overdueScheduler != null) {
+            overdueScheduler.cancel(id);
+        }
     }
 
     // Private validation methods
@@ -290,22 +1095,35 @@ public class ToDoService {
      * Validates ToDo creation request.
      */
     private void validateCreateRequest(ToDoCreateRequest request) {
+        String error = createRequestError(request);
+        if (error != null) {
+            throw new ToDoValidationException(error);
+        }
+    }
+
+    /**
+     * Checks a ToDo creation request without throwing, so batches can
+     * reject items cheaply.
+     * 
+     * @return the validation error, null if the request is valid
+     */
+    private static String createRequestError(ToDoCreateRequest request) {
         if (request == null) {
-            throw new ToDoValidationException("Create request cannot be null");
+            return "Create request cannot be null";
         }
 
         if (StringUtils.isBlank(request.getText())) {
-            throw new ToDoValidationException("ToDo text cannot be blank");
+            return "ToDo text cannot be blank";
         }
 
         if (request.getText().length() > ToDo.MAX_TEXT_LENGTH) {
-            throw new ToDoValidationException(
-                    "ToDo text cannot exceed " + ToDo.MAX_TEXT_LENGTH + " characters");
+            return "ToDo text cannot exceed " + ToDo.MAX_TEXT_LENGTH + " characters";
         }
 
         if (request.getPriority() == null) {
-            throw new ToDoValidationException("Priority is required");
+            return "Priority is required";
         }
+        return null;
     }
 
     /**
@@ -364,6 +1182,20 @@ public class ToDoService {
         return sort;
     }
 
+    /**
+     * Parses an opaque cursor, null when blank.
+     */
+    private ToDoCursor parseCursor(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            return ToDoCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ToDoValidationException("Invalid cursor");
+        }
+    }
+
     /**
      * Parses completion filter string to boolean.
      */
@@ -374,4 +1206,24 @@ public class ToDoService {
 
         return "done".equalsIgnoreCase(complete);
     }
+
+    /**
+     * Parses the completion filter of a bulk change. Only "done" and
+     * "pending" are accepted, so a mistyped value cannot turn into a filter
+     * on pending items.
+     * 
+     * @throws ToDoValidationException if the value is neither
+     */
+    private Boolean parseStrictCompletionFilter(String complete) {
+        if (StringUtils.isBlank(complete)) {
+            return null;
+        }
+        if ("done".equalsIgnoreCase(complete)) {
+            return true;
+        }
+        if ("pending".equalsIgnoreCase(complete)) {
+            return false;
+        }
+        throw new ToDoValidationException("Completion filter must be \"done\" or \"pending\"");
+    }
 }
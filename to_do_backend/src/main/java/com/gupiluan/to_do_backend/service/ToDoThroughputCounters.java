@@ -0,0 +1,181 @@
+package com.gupiluan.to_do_backend.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.gupiluan.to_do_backend.dto.ThroughputBucketResponse;
+
+/**
+ * Per-minute counters of ToDo creations, completions and deletions over the
+ * last seven days.
+ *
+ * Counts live in a ring of one bucket per minute. A bucket is tagged with
+ * the minute it counts; the first event of a new minute replaces the stale
+ * bucket in its ring position with a compare-and-set, and events increment
+ * striped LongAdder cells, so recording never takes a lock and concurrent
+ * writers rarely touch the same cache line. Queries add up the minutes of
+ * each requested bucket.
+ *
+ * @author gupiluan
+ */
+public class ToDoThroughputCounters {
+
+    /** Longest window that can be queried */
+    public static final Duration RETENTION = Duration.ofDays(7);
+
+    private static final int MINUTES = (int) RETENTION.toMinutes();
+
+    /** Events counted per minute */
+    public enum Event {
+        CREATED, COMPLETED, DELETED
+    }
+
+    private final Clock clock;
+
+    /** Bucket of each minute, at the minute's position modulo the ring size */
+    private final AtomicReferenceArray<Bucket> ring = new AtomicReferenceArray<>(MINUTES);
+
+    /**
+     * Creates counters using the system clock.
+     */
+    public ToDoThroughputCounters() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates counters using the given clock.
+     *
+     * @param clock source of the current time
+     */
+    public ToDoThroughputCounters(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Counts one event in the current minute.
+     *
+     * @param event the event to count
+     */
+    public void record(Event event) {
+        record(event, 1);
+    }
+
+    /**
+     * Counts events in the current minute.
+     *
+     * @param event the event to count
+     * @param count number of events
+     */
+    public void record(Event event, long count) {
+        if (count <= 0) {
+            return;
+        }
+        Bucket bucket = bucketFor(currentMinute());
+        if (bucket != null) {
+            bucket.counts[event.ordinal()].add(count);
+        }
+    }
+
+    /**
+     * Counts events in consecutive buckets ending with the current minute,
+     * oldest first.
+     *
+     * @param window     total time covered, at most RETENTION, rounded down
+     *                   to whole buckets
+     * @param resolution time covered by each bucket, in whole minutes
+     * @return the buckets of the window, oldest first
+     * @throws IllegalArgumentException if the window or resolution is out of
+     *                                  range
+     */
+    public List<ThroughputBucketResponse> query(Duration window, Duration resolution) {
+        if (resolution.toMinutes() < 1 || !resolution.equals(Duration.ofMinutes(resolution.toMinutes()))) {
+            throw new IllegalArgumentException("Resolution must be a whole number of minutes");
+        }
+        if (window.compareTo(resolution) < 0 || window.compareTo(RETENTION) > 0) {
+            throw new IllegalArgumentException("Window must be between the resolution and " + RETENTION.toDays()
+                    + " days");
+        }
+
+        long minutesPerBucket = resolution.toMinutes();
+        int buckets = (int) (window.toMinutes() / minutesPerBucket);
+        long now = currentMinute();
+        long first = now - buckets * minutesPerBucket + 1;
+
+        List<ThroughputBucketResponse> result = new ArrayList<>(buckets);
+        for (int b = 0; b < buckets; b++) {
+            long start = first + b * minutesPerBucket;
+            long[] totals = new long[Event.values().length];
+            for (long minute = start; minute < start + minutesPerBucket; minute++) {
+                Bucket bucket = ring.get(positionOf(minute));
+                if (bucket != null && bucket.minute == minute) {
+                    for (int e = 0; e < totals.length; e++) {
+                        totals[e] += bucket.counts[e].sum();
+                    }
+                }
+            }
+            result.add(new ThroughputBucketResponse(toDateTime(start), toDateTime(start + minutesPerBucket),
+                    totals[Event.CREATED.ordinal()], totals[Event.COMPLETED.ordinal()],
+                    totals[Event.DELETED.ordinal()]));
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to find the bucket of a minute, replacing the stale
+     * bucket left in its ring position by a minute seven days earlier.
+     * A lost compare-and-set means another writer installed the bucket first.
+     * 
+     * @return the bucket, null if the minute has already been overwritten
+     */
+    private Bucket bucketFor(long minute) {
+        int position = positionOf(minute);
+        while (true) {
+            Bucket current = ring.get(position);
+            if (current != null && current.minute == minute) {
+                return current;
+            }
+            if (current != null && current.minute > minute) {
+                return null;
+            }
+            Bucket fresh = new Bucket(minute);
+            if (ring.compareAndSet(position, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private long currentMinute() {
+        return Math.floorDiv(clock.millis(), 60_000L);
+    }
+
+    private static int positionOf(long minute) {
+        return Math.floorMod(minute, MINUTES);
+    }
+
+    private LocalDateTime toDateTime(long minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(minute * 60), clock.getZone());
+    }
+
+    /**
+     * Event counts of one minute.
+     */
+    private static final class Bucket {
+
+        private final long minute;
+
+        private final LongAdder[] counts = new LongAdder[Event.values().length];
+
+        private Bucket(long minute) {
+            this.minute = minute;
+            for (int e = 0; e < counts.length; e++) {
+                counts[e] = new LongAdder();
+            }
+        }
+    }
+}
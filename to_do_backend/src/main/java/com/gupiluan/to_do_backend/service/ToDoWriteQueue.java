@@ -0,0 +1,217 @@
+package com.gupiluan.to_do_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.gupiluan.to_do_backend.exception.ToDoException;
+import com.gupiluan.to_do_backend.repository.IToDoRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Single-writer pipeline for ToDo mutations.
+ * Enabled with todo.writes.mode=single-writer.
+ *
+ * Request threads enqueue mutations onto a bounded ring buffer and receive a
+ * CompletableFuture. One dedicated writer thread drains whatever is queued
+ * and applies the whole batch in a single atomic repository step, so each
+ * read-modify-write mutation runs without interleaving with other writes and
+ * the repository lock is taken once per batch instead of once per call.
+ *
+ * A full buffer blocks submitters, which applies back-pressure to request
+ * threads instead of growing memory without bound.
+ *
+ * Any Throwable thrown by a mutation, or by the repository around a batch,
+ * fails the affected futures and leaves the writer running. If the writer
+ * thread stops anyway, the queue stops accepting work and fails whatever is
+ * still queued, so no caller waits forever.
+ *
+ * @author gupiluan
+ */
+@Component
+@ConditionalOnProperty(name = "todo.writes.mode", havingValue = "single-writer")
+public class ToDoWriteQueue {
+
+    /** How long the writer waits for work before rechecking for shutdown */
+    private static final long POLL_MILLIS = 100;
+
+    private final IToDoRepository toDoRepository;
+
+    /** Bounded ring buffer of pending mutations */
+    private final BlockingQueue<Mutation<?>> queue;
+
+    /** Maximum number of mutations applied in one step */
+    private final int maxBatchSize;
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates the queue and starts its writer thread.
+     *
+     * @param toDoRepository the repository mutations are applied to
+     * @param capacity       ring buffer capacity, also the maximum batch size
+     */
+    @Autowired
+    public ToDoWriteQueue(IToDoRepository toDoRepository,
+            @Value("${todo.writes.queue-capacity:1024}") int capacity) {
+        this.toDoRepository = toDoRepository;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = capacity;
+        this.writer = new Thread(this::drainLoop, "todo-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Enqueues a mutation for the writer thread.
+     * Blocks while the ring buffer is full.
+     *
+     * @param <T>      the type of the result
+     * @param mutation repository calls to run atomically
+     * @return future completed with the mutation result or its exception
+     * @throws ToDoException if the queue is shut down or the caller is
+     *                       interrupted while waiting for space
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> mutation) {
+        if (!running) {
+            throw new ToDoException("Write queue is shut down");
+        }
+
+        Mutation<T> entry = new Mutation<>(mutation);
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ToDoException("Interrupted while queueing a write", e);
+        }
+        // The writer may have stopped between the running check and the put
+        if (!running && queue.remove(entry)) {
+            throw new ToDoException("Write queue is shut down");
+        }
+        return entry.result;
+    }
+
+    /**
+     * @return number of mutations waiting to be applied
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting mutations, applies the ones already queued and stops the
+     * writer thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Fail anything that raced past the running check after the writer left
+        failPending();
+    }
+
+    private void drainLoop() {
+        List<Mutation<?>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    Mutation<?> first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                queue.drainTo(batch, maxBatchSize - 1);
+                applyBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            // Without a writer nothing would complete further submissions
+            running = false;
+            failPending();
+        }
+    }
+
+    private void applyBatch(List<Mutation<?>> batch) {
+        try {
+            toDoRepository.executeAtomically(() -> {
+                batch.forEach(Mutation::apply);
+                return null;
+            });
+        } catch (Throwable e) {
+            // The repository failed around the batch, e.g. a rolled back
+            // transaction, so none of its mutations took effect
+            batch.forEach(m -> m.fail(e));
+        }
+
+        // Complete outside the repository lock so callers never run under it
+        batch.forEach(Mutation::complete);
+    }
+
+    /**
+     * Helper method to fail every mutation still queued.
+     */
+    private void failPending() {
+        List<Mutation<?>> stranded = new ArrayList<>();
+        queue.drainTo(stranded);
+        stranded.forEach(m -> m.result.completeExceptionally(new ToDoException("Write queue is shut down")));
+    }
+
+    /**
+     * Queued mutation with its outcome.
+     */
+    private static final class Mutation<T> {
+
+        private final Supplier<T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private Throwable error;
+
+        private Mutation(Supplier<T> action) {
+            this.action = action;
+        }
+
+        private void apply() {
+            try {
+                value = action.get();
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
+
+        private void fail(Throwable e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+
+        private void complete() {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
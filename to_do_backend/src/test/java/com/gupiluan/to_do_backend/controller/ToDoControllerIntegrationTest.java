@@ -1,5 +1,8 @@
 package com.gupiluan.to_do_backend.controller;
 
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -16,6 +19,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -330,6 +334,49 @@ class ToDoControllerIntegrationTest {
                     .andExpect(jsonPath("$.size").value(3));
         }
 
+        @Test
+        @DisplayName("Should scroll through ToDos with cursors")
+        void shouldScrollWithCursors() throws Exception {
+            for (int i = 0; i < 5; i++) {
+                ToDoCreateRequest request = new ToDoCreateRequest();
+                request.setText("ToDo " + i);
+                request.setPriority(Priority.MEDIUM);
+
+                mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated());
+            }
+
+            // The offset page hands out a cursor for the rest
+            String response = mockMvc.perform(get("/todos")
+                    .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nextCursor").isString())
+                    .andReturn().getResponse().getContentAsString();
+            String cursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+            response = mockMvc.perform(get("/todos")
+                    .param("size", "2")
+                    .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(2))
+                    .andExpect(jsonPath("$.data[0].text").value("ToDo 2"))
+                    .andReturn().getResponse().getContentAsString();
+            cursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+            mockMvc.perform(get("/todos")
+                    .param("size", "2")
+                    .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+            mockMvc.perform(get("/todos")
+                    .param("cursor", "not-a-cursor"))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("Should filter ToDos by completion status")
         void shouldFilterToDosByCompletionStatus() throws Exception {
@@ -381,6 +428,232 @@ class ToDoControllerIntegrationTest {
                     .andExpect(jsonPath("$.data.MEDIUM").exists())
                     .andExpect(jsonPath("$.data.LOW").exists());
         }
+
+        @Test
+        @DisplayName("Should retrieve completion time percentiles")
+        void shouldRetrieveCompletionLatency() throws Exception {
+            mockMvc.perform(get("/todos/stats/latency"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Percentiles retrieved successfully"))
+                    .andExpect(jsonPath("$.data.HIGH.p50").exists())
+                    .andExpect(jsonPath("$.data.MEDIUM.p99").exists())
+                    .andExpect(jsonPath("$.data.LOW.max").exists());
+        }
+
+        @Test
+        @DisplayName("Should count recent creations per time bucket")
+        void shouldRetrieveThroughput() throws Exception {
+            // Given
+            ToDoCreateRequest request = new ToDoCreateRequest();
+            request.setText("Counted ToDo");
+            request.setPriority(Priority.LOW);
+            mockMvc.perform(post("/todos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            // When & Then
+            mockMvc.perform(get("/todos/stats/throughput")
+                    .param("window", "PT1H")
+                    .param("resolution", "PT15M"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(4))
+                    .andExpect(jsonPath("$.data[3].created").value(greaterThanOrEqualTo(1)));
+
+            mockMvc.perform(get("/todos/stats/throughput")
+                    .param("window", "P30D"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Import Endpoint Tests")
+    class ImportTests {
+
+        @Test
+        @DisplayName("Should import newline-delimited ToDos and report failed lines")
+        void shouldImportNdjson() throws Exception {
+            // Given
+            String body = objectMapper.writeValueAsString(validCreateRequest) + "\n"
+                    + "not json\n"
+                    + "{\"text\":\"Imported\",\"priority\":\"LOW\"}\n";
+
+            // When & Then
+            mockMvc.perform(post("/todos/import")
+                    .contentType("application/x-ndjson")
+                    .content(body))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(jsonPath("$.data.successful").value(2))
+                    .andExpect(jsonPath("$.data.failed").value(1))
+                    .andExpect(jsonPath("$.data.errors[0].line").value(2));
+
+            mockMvc.perform(get("/todos").param("name", "Imported"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Multi-Operation Endpoint Tests")
+    class OperationTests {
+
+        @Test
+        @DisplayName("Should run mixed operations in order and report each result")
+        void shouldRunMixedOperations() throws Exception {
+            // Given
+            String created = mockMvc.perform(post("/todos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(validCreateRequest)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            Long id = extractIdFromResponse(created);
+            String operations = "["
+                    + "{\"type\":\"CREATE\",\"text\":\"From ops\",\"priority\":\"LOW\"},"
+                    + "{\"type\":\"UPDATE\",\"id\":" + id + ",\"text\":\"Renamed\",\"priority\":\"HIGH\"},"
+                    + "{\"type\":\"DONE\",\"id\":" + id + "},"
+                    + "{\"type\":\"DONE\",\"id\":" + id + "},"
+                    + "{\"type\":\"DELETE\",\"id\":999999}"
+                    + "]";
+
+            // When & Then
+            mockMvc.perform(post("/todos/ops")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(operations))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(jsonPath("$.message").value("3 operations succeeded, 2 failed"))
+                    .andExpect(jsonPath("$.data[0].toDo.text").value("From ops"))
+                    .andExpect(jsonPath("$.data[1].toDo.priority").value("HIGH"))
+                    .andExpect(jsonPath("$.data[2].toDo.doneFlag").value(true))
+                    .andExpect(jsonPath("$.data[3].error").value("Validation error: ToDo is already marked as done"))
+                    .andExpect(jsonPath("$.data[4].success").value(false));
+
+            mockMvc.perform(get("/todos/" + id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.text").value("Renamed"))
+                    .andExpect(jsonPath("$.data.doneFlag").value(true));
+        }
+
+        @Test
+        @DisplayName("Should reject an empty operation list")
+        void shouldRejectEmptyOperationList() throws Exception {
+            mockMvc.perform(post("/todos/ops")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Change Endpoint Tests")
+    class BulkChangeTests {
+
+        private void createToDo(String text, Priority priority) throws Exception {
+            ToDoCreateRequest request = new ToDoCreateRequest();
+            request.setText(text);
+            request.setPriority(priority);
+            mockMvc.perform(post("/todos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        @Test
+        @DisplayName("Should mark done, mark undone and delete ToDos by filter")
+        void shouldChangeToDosByFilter() throws Exception {
+            // Given
+            createToDo("Release notes", Priority.LOW);
+            createToDo("Release build", Priority.LOW);
+            createToDo("Release party", Priority.HIGH);
+            createToDo("Unrelated", Priority.LOW);
+
+            // When & Then
+            mockMvc.perform(post("/todos/done").param("name", "release").param("priority", "LOW"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Marked 2 ToDos as done"))
+                    .andExpect(jsonPath("$.data.affected").value(2));
+
+            mockMvc.perform(put("/todos/undone").param("name", "notes"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.affected").value(1));
+
+            mockMvc.perform(delete("/todos").param("complete", "done")
+                    .param("createdBefore", LocalDateTime.now().plusMinutes(1).toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Deleted 1 ToDos"));
+
+            mockMvc.perform(get("/todos"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(3));
+        }
+
+        @Test
+        @DisplayName("Should refuse to delete by filter without any filter")
+        void shouldRejectDeleteWithoutFilters() throws Exception {
+            mockMvc.perform(delete("/todos"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Export Endpoint Tests")
+    class ExportTests {
+
+        private void createToDo(String text, Priority priority) throws Exception {
+            ToDoCreateRequest request = new ToDoCreateRequest();
+            request.setText(text);
+            request.setPriority(priority);
+            mockMvc.perform(post("/todos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        private String export(String format, String priority) throws Exception {
+            MvcResult started = mockMvc.perform(get("/todos/export").param("format", format)
+                    .param("priority", priority))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        }
+
+        @Test
+        @DisplayName("Should export filtered ToDos as newline-delimited JSON")
+        void shouldExportNdjson() throws Exception {
+            // Given
+            createToDo("Exported first", Priority.HIGH);
+            createToDo("Filtered out", Priority.LOW);
+            createToDo("Exported second", Priority.HIGH);
+
+            // When
+            String body = export("NDJSON", "HIGH");
+
+            // Then
+            String[] lines = body.strip().split("\n");
+            assertEquals(2, lines.length);
+            assertEquals("Exported first", objectMapper.readTree(lines[0]).path("text").asText());
+            assertEquals("Exported second", objectMapper.readTree(lines[1]).path("text").asText());
+        }
+
+        @Test
+        @DisplayName("Should export filtered ToDos as CSV with quoted text")
+        void shouldExportCsv() throws Exception {
+            // Given
+            createToDo("Plain", Priority.LOW);
+            createToDo("Says \"hi\", twice", Priority.LOW);
+            createToDo("Filtered out", Priority.HIGH);
+
+            // When
+            String body = export("CSV", "LOW");
+
+            // Then
+            String[] lines = body.strip().split("\n");
+            assertEquals(3, lines.length);
+            assertEquals("id,text,dueDate,doneFlag,doneDate,priority,creationTime", lines[0]);
+            assertTrue(lines[1].matches("\\d+,Plain,,false,,LOW,\\S+"));
+            assertTrue(lines[2].contains(",\"Says \"\"hi\"\", twice\",,false,,LOW,"));
+        }
     }
 
     @Nested
@@ -408,6 +681,82 @@ class ToDoControllerIntegrationTest {
                     .andExpect(jsonPath("$.data.length()").value(1))
                     .andExpect(jsonPath("$.data[0].text").value("Overdue ToDo"));
         }
+
+        @Test
+        @DisplayName("Should page overdue ToDos with sorting and cursors")
+        void shouldPageOverdueToDos() throws Exception {
+            // Given
+            for (Priority priority : Priority.values()) {
+                ToDoCreateRequest request = new ToDoCreateRequest();
+                request.setText("Overdue " + priority);
+                request.setPriority(priority);
+                request.setDueDate(LocalDateTime.now().minusDays(1));
+                mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated());
+            }
+
+            // When & Then
+            String firstPage = mockMvc.perform(get("/todos/overdue")
+                    .param("size", "2")
+                    .param("sortByPriority", "desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(3))
+                    .andExpect(jsonPath("$.totalPages").value(2))
+                    .andExpect(jsonPath("$.data.length()").value(2))
+                    .andExpect(jsonPath("$.data[0].priority").value("HIGH"))
+                    .andExpect(jsonPath("$.data[1].priority").value("MEDIUM"))
+                    .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                    .andReturn().getResponse().getContentAsString();
+
+            mockMvc.perform(get("/todos/overdue")
+                    .param("size", "2")
+                    .param("sortByPriority", "desc")
+                    .param("cursor", objectMapper.readTree(firstPage).path("nextCursor").asText()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1))
+                    .andExpect(jsonPath("$.data[0].priority").value("LOW"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+            mockMvc.perform(get("/todos/overdue").param("size", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should stream overdue ToDos as newline-delimited JSON")
+        void shouldStreamOverdueToDos() throws Exception {
+            // Given
+            for (int i = 0; i < 3; i++) {
+                ToDoCreateRequest request = new ToDoCreateRequest();
+                request.setText("Streamed " + i);
+                request.setPriority(Priority.MEDIUM);
+                request.setDueDate(LocalDateTime.now().minusHours(3 - i));
+                mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated());
+            }
+            mockMvc.perform(post("/todos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(validCreateRequest)))
+                    .andExpect(status().isCreated());
+
+            // When
+            MvcResult started = mockMvc.perform(get("/todos/overdue/stream").param("sortByDueDate", "desc"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andReturn().getResponse().getContentAsString();
+
+            // Then
+            String[] lines = body.strip().split("\n");
+            assertEquals(3, lines.length);
+            assertEquals("Streamed 2", objectMapper.readTree(lines[0]).path("text").asText());
+            assertEquals("Streamed 0", objectMapper.readTree(lines[2]).path("text").asText());
+        }
     }
 
     /**
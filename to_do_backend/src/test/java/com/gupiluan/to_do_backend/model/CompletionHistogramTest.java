@@ -0,0 +1,130 @@
+package com.gupiluan.to_do_backend.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the log-bucketed completion time histogram.
+ *
+ * @author gupiluan
+ */
+@DisplayName("Completion Histogram Tests")
+class CompletionHistogramTest {
+
+    /** Largest relative error of a reported value */
+    private static final double PRECISION = 1.0 / 32;
+
+    private static long exactPercentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    @Nested
+    @DisplayName("Percentile Tests")
+    class PercentileTests {
+
+        @Test
+        @DisplayName("Should report percentiles within bucket precision")
+        void shouldReportPercentilesWithinPrecision() {
+            // Given
+            Random random = new Random(3);
+            long[] values = new long[50_000];
+            CompletionHistogram histogram = new CompletionHistogram();
+            for (int i = 0; i < values.length; i++) {
+                // Long-tailed: mostly minutes to hours, some up to months
+                values[i] = (long) Math.exp(random.nextDouble() * 16);
+                histogram.record(values[i]);
+            }
+            Arrays.sort(values);
+
+            for (double percentile : new double[] { 50, 90, 99, 99.9, 100 }) {
+                // When
+                long reported = histogram.valueAtPercentile(percentile);
+
+                // Then
+                long exact = exactPercentile(values, percentile);
+                assertTrue(reported >= exact && reported <= exact + exact * PRECISION,
+                        "p" + percentile + ": exact " + exact + ", reported " + reported);
+            }
+            assertEquals(histogram.valueAtPercentile(100), histogram.getMax());
+            assertEquals(values.length, histogram.getTotalCount());
+        }
+
+        @Test
+        @DisplayName("Should count small values exactly and clamp negative values")
+        void shouldCountSmallValuesExactly() {
+            // Given
+            CompletionHistogram histogram = new CompletionHistogram();
+            histogram.record(-5);
+            histogram.record(7);
+            histogram.record(63);
+
+            // When & Then
+            assertEquals(0, histogram.valueAtPercentile(1));
+            assertEquals(7, histogram.valueAtPercentile(50));
+            assertEquals(63, histogram.getMax());
+            assertEquals(0, new CompletionHistogram().valueAtPercentile(99));
+            assertEquals(Long.MAX_VALUE, histogramOf(Long.MAX_VALUE).getMax());
+        }
+
+        private CompletionHistogram histogramOf(long value) {
+            CompletionHistogram histogram = new CompletionHistogram();
+            histogram.record(value);
+            return histogram;
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should return to the same state after removing recorded values")
+        void shouldRemoveRecordedValues() {
+            // Given
+            CompletionHistogram histogram = new CompletionHistogram();
+            histogram.record(60);
+            CompletionHistogram expected = histogram.copy();
+
+            // When
+            histogram.record(86_400);
+            histogram.remove(86_400);
+
+            // Then
+            assertEquals(expected, histogram);
+            assertEquals(60, histogram.getMax());
+        }
+
+        @Test
+        @DisplayName("Should merge shards into the histogram of all values")
+        void shouldMergeShards() {
+            // Given
+            Random random = new Random(11);
+            CompletionHistogram all = new CompletionHistogram();
+            CompletionHistogram[] shards = { new CompletionHistogram(), new CompletionHistogram(),
+                    new CompletionHistogram() };
+            for (int i = 0; i < 10_000; i++) {
+                long value = random.nextInt(1_000_000);
+                all.record(value);
+                shards[i % shards.length].record(value);
+            }
+
+            // When
+            CompletionHistogram merged = new CompletionHistogram();
+            for (CompletionHistogram shard : shards) {
+                merged.merge(shard);
+            }
+
+            // Then
+            assertEquals(all, merged);
+            assertEquals(all.getTotalCount(), merged.getTotalCount());
+            assertEquals(all.valueAtPercentile(99), merged.valueAtPercentile(99));
+        }
+    }
+}
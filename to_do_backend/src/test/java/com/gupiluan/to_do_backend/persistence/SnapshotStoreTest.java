@@ -0,0 +1,196 @@
+package com.gupiluan.to_do_backend.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.repository.ToDoRepository;
+
+/**
+ * Tests for snapshots, log truncation and recovery from a snapshot plus the
+ * log tail.
+ *
+ * @author gupiluan
+ */
+@DisplayName("Snapshot Store Tests")
+class SnapshotStoreTest {
+
+    private static final int SMALL_SEGMENT = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private ToDo newToDo(String text, Priority priority) {
+        ToDo toDo = new ToDo();
+        toDo.setText(text);
+        toDo.setPriority(priority);
+        toDo.setCreationTime(LocalDateTime.now());
+        return toDo;
+    }
+
+    private WriteAheadLog openLog() {
+        return WriteAheadLog.open(directory.resolve("wal"), SyncPolicy.OS, 0, SMALL_SEGMENT);
+    }
+
+    private SnapshotStore openStore() {
+        return new SnapshotStore(directory.resolve("snapshots"));
+    }
+
+    private ToDoRepository openRepository(WriteAheadLog log, SnapshotStore store) {
+        ToDoRepository repository = new ToDoRepository();
+        repository.recover(log, store);
+        return repository;
+    }
+
+    private long countFiles(String subdirectory) throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve(subdirectory))) {
+            return files.count();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recovery Tests")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Should recover from the snapshot and the log tail")
+        void shouldRecoverFromSnapshotAndTail() throws IOException {
+            // Given
+            List<ToDo> expected;
+            long snapshotLsn;
+            try (WriteAheadLog log = openLog()) {
+                ToDoRepository repository = openRepository(log, openStore());
+                for (int i = 0; i < 3000; i++) {
+                    repository.save(newToDo("Task " + i, Priority.values()[i % 3]));
+                }
+                long segmentsBefore = countFiles("wal");
+                snapshotLsn = repository.snapshot();
+                assertTrue(countFiles("wal") < segmentsBefore);
+
+                for (long id = 1; id <= 3000; id += 5) {
+                    repository.deleteByIdAndReturn(id);
+                }
+                repository.save(newToDo("After snapshot", Priority.HIGH));
+                expected = repository.findAll();
+            }
+
+            // When
+            try (WriteAheadLog log = openLog()) {
+                SnapshotStore store = openStore();
+                ToDoRepository recovered = openRepository(log, store);
+
+                // Then
+                assertEquals(snapshotLsn, store.load().orElseThrow().getLsn());
+                assertEquals(expected, recovered.findAll());
+                assertEquals(3002L, recovered.save(newToDo("Next", Priority.LOW)).getId());
+            }
+        }
+
+        @Test
+        @DisplayName("Should stay consistent when writers run during the snapshot")
+        void shouldTakeFuzzySnapshot() throws InterruptedException {
+            // Given
+            List<ToDo> expected;
+            try (WriteAheadLog log = openLog()) {
+                ToDoRepository repository = openRepository(log, openStore());
+                for (int i = 0; i < 20_000; i++) {
+                    repository.save(newToDo("Task " + i, Priority.MEDIUM));
+                }
+
+                AtomicBoolean running = new AtomicBoolean(true);
+                Thread writer = new Thread(() -> {
+                    long id = 1;
+                    while (running.get()) {
+                        ToDo toDo = repository.findById(id).orElseThrow().copy();
+                        toDo.setDoneFlag(!toDo.isDoneFlag());
+                        repository.update(toDo);
+                        repository.deleteByIdAndReturn(id + 10_000);
+                        repository.save(newToDo("Concurrent", Priority.LOW));
+                        id = id % 9_999 + 1;
+                    }
+                });
+
+                // When
+                writer.start();
+                repository.snapshot();
+                running.set(false);
+                writer.join();
+                expected = repository.findAll();
+            }
+
+            // Then
+            try (WriteAheadLog log = openLog()) {
+                assertEquals(expected, openRepository(log, openStore()).findAll());
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject a corrupt snapshot")
+        void shouldRejectCorruptSnapshot() throws IOException {
+            // Given
+            try (WriteAheadLog log = openLog()) {
+                ToDoRepository repository = openRepository(log, openStore());
+                repository.save(newToDo("Saved", Priority.HIGH));
+                repository.snapshot();
+            }
+            Path snapshot;
+            try (Stream<Path> files = Files.list(directory.resolve("snapshots"))) {
+                snapshot = files.findFirst().orElseThrow();
+            }
+            try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), channel.size() - 1);
+            }
+
+            // When & Then
+            assertThrows(IllegalStateException.class, () -> openStore().load());
+        }
+    }
+
+    @Nested
+    @DisplayName("Performance Tests")
+    class PerformanceTests {
+
+        @Test
+        @DisplayName("Should report snapshot write and restore times")
+        void shouldReportRestoreTime() {
+            // Given
+            int count = 200_000;
+            try (WriteAheadLog log = WriteAheadLog.open(directory.resolve("wal"), SyncPolicy.OS, 0, 1 << 26)) {
+                ToDoRepository repository = openRepository(log, openStore());
+                for (int i = 0; i < count; i++) {
+                    ToDo toDo = newToDo("Task number " + i, Priority.values()[i % 3]);
+                    toDo.setDueDate(LocalDateTime.now().plusDays(i % 30));
+                    repository.save(toDo);
+                }
+
+                // When
+                long start = System.nanoTime();
+                repository.snapshot();
+                long written = System.nanoTime();
+                SnapshotStore.Snapshot snapshot = openStore().load().orElseThrow();
+                long loaded = System.nanoTime();
+
+                // Then
+                assertEquals(count, snapshot.size());
+                System.out.printf("Snapshot of %d todos: written in %d ms, loaded in %d ms%n", count,
+                        (written - start) / 1_000_000, (loaded - written) / 1_000_000);
+            }
+        }
+    }
+}
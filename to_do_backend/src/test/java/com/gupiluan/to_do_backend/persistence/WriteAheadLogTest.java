@@ -0,0 +1,250 @@
+package com.gupiluan.to_do_backend.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.repository.ToDoRepository;
+
+/**
+ * Tests for the write-ahead log and the recovery of the in-memory repository
+ * from it.
+ * 
+ * @author gupiluan
+ */
+@DisplayName("Write-Ahead Log Tests")
+class WriteAheadLogTest {
+
+    private static final int SMALL_SEGMENT = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private ToDo newToDo(String text, Priority priority) {
+        ToDo toDo = new ToDo();
+        toDo.setText(text);
+        toDo.setPriority(priority);
+        toDo.setCreationTime(LocalDateTime.now());
+        return toDo;
+    }
+
+    private ToDoRepository openRepository(WriteAheadLog log) {
+        ToDoRepository repository = new ToDoRepository();
+        repository.setWriteAheadLog(log);
+        return repository;
+    }
+
+    @Nested
+    @DisplayName("Recovery Tests")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Should restore the repository state after reopening")
+        void shouldRecoverState() {
+            // Given
+            List<ToDo> expected;
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.ALWAYS, 0, SMALL_SEGMENT)) {
+                ToDoRepository repository = openRepository(log);
+                for (int i = 0; i < 2000; i++) {
+                    ToDo toDo = newToDo("Task " + i, Priority.values()[i % 3]);
+                    toDo.setDueDate(i % 2 == 0 ? LocalDateTime.now().plusDays(i) : null);
+                    repository.save(toDo);
+                }
+                for (long id = 1; id <= 2000; id += 3) {
+                    ToDo toDo = repository.findById(id).orElseThrow().copy();
+                    toDo.setDoneFlag(true);
+                    toDo.setDoneDate(LocalDateTime.now());
+                    repository.update(toDo);
+                }
+                for (long id = 2; id <= 2000; id += 7) {
+                    repository.deleteByIdAndReturn(id);
+                }
+                expected = repository.findAll();
+            }
+
+            // When
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.ALWAYS, 0, SMALL_SEGMENT)) {
+                ToDoRepository recovered = openRepository(log);
+
+                // Then
+                assertEquals(expected, recovered.findAll());
+                assertEquals(2001L, recovered.save(newToDo("Next", Priority.LOW)).getId());
+            }
+        }
+
+        @Test
+        @DisplayName("Should replay deleteAll and restart IDs")
+        void shouldReplayDeleteAll() {
+            // Given
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.OS, 0, SMALL_SEGMENT)) {
+                ToDoRepository repository = openRepository(log);
+                repository.save(newToDo("Gone", Priority.HIGH));
+                repository.deleteAll();
+                repository.save(newToDo("Kept", Priority.LOW));
+            }
+
+            // When
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.OS, 0, SMALL_SEGMENT)) {
+                ToDoRepository recovered = openRepository(log);
+
+                // Then
+                assertEquals(List.of("Kept"), recovered.findAll().stream().map(ToDo::getText).toList());
+                assertEquals(1L, recovered.findAll().get(0).getId());
+            }
+        }
+
+        @Test
+        @DisplayName("Should stop at a torn record and keep appending after it")
+        void shouldIgnoreTornTail() throws IOException {
+            // Given
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.ALWAYS, 0, SMALL_SEGMENT)) {
+                ToDoRepository repository = openRepository(log);
+                repository.save(newToDo("First", Priority.HIGH));
+                repository.save(newToDo("Second", Priority.HIGH));
+            }
+            corruptLastRecord();
+
+            // When
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.ALWAYS, 0, SMALL_SEGMENT)) {
+                ToDoRepository recovered = openRepository(log);
+                recovered.save(newToDo("Third", Priority.LOW));
+            }
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.ALWAYS, 0, SMALL_SEGMENT)) {
+                ToDoRepository recovered = openRepository(log);
+
+                // Then
+                assertEquals(List.of("First", "Third"),
+                        recovered.findAll().stream().map(ToDo::getText).toList());
+            }
+        }
+
+        private void corruptLastRecord() throws IOException {
+            Path segment;
+            try (Stream<Path> files = Files.list(directory)) {
+                segment = files.sorted().reduce((first, second) -> second).orElseThrow();
+            }
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(4);
+                channel.read(header, 0);
+                int secondRecord = 8 + header.flip().getInt();
+                // Flip a payload byte of the second record so its checksum fails
+                channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), secondRecord + 20);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Sync Policy Tests")
+    class SyncPolicyTests {
+
+        @Test
+        @DisplayName("Should roll over to new segments when full")
+        void shouldRollOverSegments() throws IOException {
+            // Given
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.INTERVAL, 10, 4096)) {
+                // When
+                for (int i = 0; i < 500; i++) {
+                    log.appendPut(withId(newToDo("Rolling record " + i, Priority.MEDIUM), i + 1));
+                }
+
+                // Then
+                List<Long> lsns = new ArrayList<>();
+                log.replay(0, record -> lsns.add(record.getLsn()));
+                assertEquals(500, lsns.size());
+                assertEquals(500L, lsns.get(lsns.size() - 1));
+                try (Stream<Path> files = Files.list(directory)) {
+                    assertTrue(files.count() > 1);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should share forces between concurrent writers")
+        void shouldGroupCommit() throws InterruptedException {
+            // Given
+            try (WriteAheadLog log = WriteAheadLog.open(directory, SyncPolicy.ALWAYS, 0, 1 << 22)) {
+                ToDoRepository repository = openRepository(log);
+                int threads = 16;
+                int writesPerThread = 200;
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                CountDownLatch done = new CountDownLatch(threads);
+
+                // When
+                for (int t = 0; t < threads; t++) {
+                    executor.submit(() -> {
+                        try {
+                            for (int i = 0; i < writesPerThread; i++) {
+                                repository.save(newToDo("Grouped", Priority.LOW));
+                            }
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                done.await();
+                executor.shutdown();
+
+                // Then
+                assertEquals(threads * writesPerThread, log.durableLsn());
+                assertTrue(log.syncCount() <= threads * writesPerThread);
+                System.out.printf("Group commit: %d writes, %d forces%n", log.durableLsn(), log.syncCount());
+            }
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(SyncPolicy.class)
+        @DisplayName("Should report write throughput for each policy")
+        void shouldReportThroughput(SyncPolicy policy) {
+            // Given
+            int writes = 10_000;
+            ToDoRepository inMemory = new ToDoRepository();
+            long start = System.nanoTime();
+            for (int i = 0; i < writes; i++) {
+                inMemory.save(newToDo("Throughput", Priority.MEDIUM));
+            }
+            double baseline = writes / ((System.nanoTime() - start) / 1e9);
+
+            try (WriteAheadLog log = WriteAheadLog.open(directory.resolve(policy.name()), policy, 50, 1 << 24)) {
+                ToDoRepository durable = openRepository(log);
+
+                // When
+                start = System.nanoTime();
+                for (int i = 0; i < writes; i++) {
+                    durable.save(newToDo("Throughput", Priority.MEDIUM));
+                }
+                double logged = writes / ((System.nanoTime() - start) / 1e9);
+
+                // Then
+                assertEquals(writes, log.lastLsn());
+                System.out.printf("[%s] in-memory %.0f writes/s, logged %.0f writes/s%n", policy, baseline, logged);
+            }
+        }
+
+        private ToDo withId(ToDo toDo, long id) {
+            toDo.setId(id);
+            return toDo;
+        }
+    }
+}
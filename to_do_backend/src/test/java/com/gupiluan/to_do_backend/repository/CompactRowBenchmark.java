@@ -0,0 +1,154 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Compares the compact rows stored by ToDoRepository against storing ToDo
+ * objects, as the repository did before.
+ *
+ * The retained heap per item of both row lists, and of a whole
+ * ToDoRepository with its indexes, is measured once per trial and printed
+ * before the iterations start. The scores are the cost of reading a row:
+ * returning the stored ToDo against materializing one from the compact row.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CompactRow
+ *
+ * @author gupiluan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+public class CompactRowBenchmark {
+
+    /** Number of stored items */
+    @Param({ "1000000" })
+    private int items;
+
+    /** Rows read per invocation, at random positions */
+    private static final int PROBES = 1 << 12;
+
+    private List<ToDo> objectRows;
+    private List<CompactToDo> compactRows;
+    private int[] probes;
+
+    @Setup
+    public void setUp() {
+        List<ToDo> toDos = generate(items);
+        long objectBytes = retainedBytes(() -> objectRows = copies(toDos));
+        long compactBytes = retainedBytes(() -> compactRows = toDos.stream().map(CompactToDo::of).toList());
+        long repositoryBytes = retainedBytes(() -> {
+            ToDoRepository repository = new ToDoRepository();
+            copies(toDos).forEach(repository::save);
+            return repository;
+        });
+        System.out.printf("%n%d items: ToDo rows %.1f bytes/item, compact rows %.1f bytes/item,"
+                + " ToDoRepository with indexes %.1f bytes/item%n", items, (double) objectBytes / items,
+                (double) compactBytes / items, (double) repositoryBytes / items);
+
+        Random random = new Random(7);
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = random.nextInt(items);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public long storedObjects() {
+        long sum = 0;
+        for (int row : probes) {
+            sum += objectRows.get(row).getDueDate() == null ? 0 : 1;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public long materializedCompactRows() {
+        long sum = 0;
+        for (int row : probes) {
+            sum += compactRows.get(row).toToDo().getDueDate() == null ? 0 : 1;
+        }
+        return sum;
+    }
+
+    private static List<ToDo> generate(int items) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        Priority[] priorities = Priority.values();
+
+        List<ToDo> toDos = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ToDo toDo = new ToDo();
+            toDo.setId((long) i + 1);
+            toDo.setText("Task number " + i);
+            toDo.setPriority(priorities[random.nextInt(priorities.length)]);
+            toDo.setCreationTime(now.plusSeconds(random.nextInt(100_000)));
+            if (random.nextInt(10) > 0) {
+                toDo.setDueDate(now.plusMinutes(random.nextInt(1_000_000)));
+            }
+            if (random.nextInt(3) == 0) {
+                toDo.setDoneFlag(true);
+                toDo.setDoneDate(now.plusMinutes(random.nextInt(1000)));
+            }
+            toDos.add(toDo);
+        }
+        return toDos;
+    }
+
+    /**
+     * Helper method to deep-copy the items, so the copies share no dates or
+     * strings with the generated ones.
+     */
+    private static List<ToDo> copies(List<ToDo> toDos) {
+        List<ToDo> copies = new ArrayList<>(toDos.size());
+        for (ToDo toDo : toDos) {
+            copies.add(CompactToDo.of(toDo).toToDo());
+        }
+        return copies;
+    }
+
+    /**
+     * Helper method to estimate the heap retained by the structure a builder
+     * creates, from the used heap after a full collection before and after.
+     */
+    private static long retainedBytes(Supplier<Object> builder) {
+        long before = usedHeapAfterGc();
+        Object built = builder.get();
+        long after = usedHeapAfterGc();
+        // Keep the structure reachable until it has been measured
+        return built == null ? 0 : after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,106 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Compares the throughput of the in-memory repository implementations under
+ * concurrent load: 64 threads saving, and 48 readers running a dashboard
+ * query against 16 writers saving and completing items. These are the
+ * scenarios ThreadSafetyTest checks for correctness.
+ *
+ * Each iteration starts from a repository pre-filled with 1000 items.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ConcurrentWrite
+ *
+ * @author gupiluan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class ConcurrentWriteBenchmark {
+
+    /** Items stored before each iteration */
+    private static final int INITIAL_ITEMS = 1000;
+
+    @Param({ "rw-lock", "lock-free", "snapshot", "columnar", "off-heap" })
+    private String implementation;
+
+    private IToDoRepository repository;
+
+    private final PageRequest dashboard = PageRequest.of(0, 20, Sort.by("dueDate").and(Sort.by("id")));
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        repository = switch (implementation) {
+            case "rw-lock" -> new ToDoRepository();
+            case "lock-free" -> new LockFreeToDoRepository();
+            case "snapshot" -> new SnapshotToDoRepository();
+            case "columnar" -> new ColumnarToDoRepository();
+            case "off-heap" -> new OffHeapToDoRepository();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+        for (int i = 0; i < INITIAL_ITEMS; i++) {
+            repository.save(newToDo("Initial ToDo " + i, Priority.values()[i % 3]));
+        }
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ToDo saves() {
+        return repository.save(newToDo("Concurrent ToDo", Priority.MEDIUM));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(48)
+    public Object dashboardReads() {
+        long id = ThreadLocalRandom.current().nextLong(1, INITIAL_ITEMS + 1);
+        repository.findById(id);
+        return repository.findWithFilters(null, false, Priority.HIGH, dashboard);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(16)
+    public boolean saveAndComplete() {
+        ToDo toDo = repository.save(newToDo("Concurrent ToDo", Priority.LOW));
+        toDo.setDoneFlag(true);
+        toDo.setDoneDate(LocalDateTime.now());
+        return repository.update(toDo);
+    }
+
+    private static ToDo newToDo(String text, Priority priority) {
+        ToDo toDo = new ToDo();
+        toDo.setText(text);
+        toDo.setPriority(priority);
+        toDo.setCreationTime(LocalDateTime.now());
+        toDo.setDueDate(LocalDateTime.now().plusDays(ThreadLocalRandom.current().nextInt(30)));
+        return toDo;
+    }
+}
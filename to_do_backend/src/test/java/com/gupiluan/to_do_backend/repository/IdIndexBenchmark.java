@@ -0,0 +1,120 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares ID-to-slot lookups in the primitive LongIntHashMap used by
+ * ToDoRepository against the previous HashMap of boxed keys and values.
+ *
+ * Lookup throughput is the benchmark score. The retained heap per entry of
+ * each index is measured once per trial and printed before the iterations
+ * start.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=IdIndex
+ *
+ * @author gupiluan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+public class IdIndexBenchmark {
+
+    /** Number of IDs in the index */
+    @Param({ "1000000", "10000000" })
+    private int entries;
+
+    /** Lookups per invocation, at random IDs so most miss the CPU cache */
+    private static final int PROBES = 1 << 16;
+
+    private LongIntHashMap primitiveIndex;
+    private Map<Long, Integer> boxedIndex;
+    private long[] probes;
+
+    @Setup
+    public void setUp() {
+        long primitiveBytes = retainedBytes(() -> primitiveIndex = buildPrimitive(entries));
+        long boxedBytes = retainedBytes(() -> boxedIndex = buildBoxed(entries));
+        System.out.printf("%n%d entries: LongIntHashMap %.1f bytes/entry, HashMap<Long, Integer> %.1f bytes/entry%n",
+                entries, (double) primitiveBytes / entries, (double) boxedBytes / entries);
+
+        Random random = new Random(42);
+        probes = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            // IDs start at 1 like the repository's counter
+            probes[i] = 1 + random.nextInt(entries);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public long primitiveMap() {
+        long sum = 0;
+        for (long id : probes) {
+            sum += primitiveIndex.get(id);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public long boxedHashMap() {
+        long sum = 0;
+        for (long id : probes) {
+            sum += boxedIndex.get(id);
+        }
+        return sum;
+    }
+
+    private static LongIntHashMap buildPrimitive(int entries) {
+        LongIntHashMap index = new LongIntHashMap();
+        for (int slot = 0; slot < entries; slot++) {
+            index.put(slot + 1L, slot);
+        }
+        return index;
+    }
+
+    private static Map<Long, Integer> buildBoxed(int entries) {
+        Map<Long, Integer> index = new HashMap<>();
+        for (int slot = 0; slot < entries; slot++) {
+            index.put(slot + 1L, slot);
+        }
+        return index;
+    }
+
+    /**
+     * Helper method to estimate the heap retained by the structure a builder
+     * creates, from the used heap after a full collection before and after.
+     */
+    private static long retainedBytes(Runnable builder) {
+        long before = usedHeapAfterGc();
+        builder.run();
+        return usedHeapAfterGc() - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
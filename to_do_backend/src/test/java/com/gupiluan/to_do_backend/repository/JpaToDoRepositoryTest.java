@@ -0,0 +1,270 @@
+package com.gupiluan.to_do_backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Tests for the JPA repository against embedded H2.
+ * Pages are checked against the in-memory repository holding the same data.
+ *
+ * @author gupiluan
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("jpa")
+@Import(JpaToDoRepository.class)
+@DisplayName("JPA ToDo Repository Tests")
+class JpaToDoRepositoryTest {
+
+    @Autowired
+    private JpaToDoRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ToDo newToDo(String text, Priority priority) {
+        ToDo toDo = new ToDo();
+        toDo.setText(text);
+        toDo.setPriority(priority);
+        toDo.setCreationTime(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        return toDo;
+    }
+
+    @Nested
+    @DisplayName("Keyset Pagination Tests")
+    class KeysetPaginationTests {
+
+        private final ToDoRepository reference = new ToDoRepository();
+
+        @BeforeEach
+        void setUp() {
+            Random random = new Random(42);
+            LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+            for (int i = 0; i < 300; i++) {
+                ToDo toDo = newToDo("Task " + i, Priority.values()[random.nextInt(3)]);
+                // Few distinct due dates, so ties are broken by the later keys
+                toDo.setDueDate(random.nextInt(4) == 0 ? null : base.plusDays(random.nextInt(20)));
+                toDo.setDoneFlag(random.nextBoolean());
+                repository.save(toDo);
+            }
+            // Same rows and IDs in the in-memory repository
+            repository.findAll().forEach(toDo -> reference.save(toDo.copy()));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        @Test
+        @DisplayName("Should page every filter and sort like the in-memory repository")
+        void shouldMatchInMemoryPages() {
+            // Given
+            List<Sort> sorts = List.of(
+                    Sort.by("id"),
+                    Sort.by(Sort.Direction.ASC, "dueDate").and(Sort.by("id")),
+                    Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by("id")),
+                    Sort.by(Sort.Direction.DESC, "priority").and(Sort.by("id")),
+                    Sort.by(Sort.Direction.ASC, "dueDate").and(Sort.by(Sort.Direction.DESC, "priority"))
+                            .and(Sort.by("id")));
+            List<Object[]> filters = List.of(
+                    new Object[] { null, null, null },
+                    new Object[] { null, false, null },
+                    new Object[] { null, true, Priority.HIGH },
+                    new Object[] { "task 1", null, null });
+
+            for (Sort sort : sorts) {
+                for (Object[] filter : filters) {
+                    for (int page = 0;; page++) {
+                        // When
+                        PageRequest pageable = PageRequest.of(page, 7, sort);
+                        Page<ToDo> actual = repository.findWithFilters((String) filter[0], (Boolean) filter[1],
+                                (Priority) filter[2], pageable);
+                        Page<ToDo> expected = reference.findWithFilters((String) filter[0], (Boolean) filter[1],
+                                (Priority) filter[2], pageable);
+
+                        // Then
+                        String context = sort + " " + Arrays.toString(filter) + " page " + page;
+                        assertEquals(expected.getTotalElements(), actual.getTotalElements(), context);
+                        assertEquals(ids(expected.getContent()), ids(actual.getContent()), context);
+                        if (expected.getContent().isEmpty()) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should scroll with cursors like the in-memory repository")
+        void shouldMatchInMemoryCursors() {
+            // Given
+            Sort sort = Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by(Sort.Direction.ASC, "priority"))
+                    .and(Sort.by("id"));
+            ToDoCursor cursor = null;
+
+            for (int page = 0;; page++) {
+                // When
+                List<ToDo> actual = repository.findWithFiltersAfter(null, false, null, sort, cursor, 11);
+                List<ToDo> expected = reference.findWithFiltersAfter(null, false, null, sort, cursor, 11);
+
+                // Then
+                assertEquals(ids(expected), ids(actual), "Page " + page);
+                if (actual.size() < 11) {
+                    break;
+                }
+                cursor = ToDoCursor.decode(ToDoCursor.of(actual.get(actual.size() - 1)).encode());
+            }
+        }
+
+        private List<Long> ids(List<ToDo> toDos) {
+            return toDos.stream().map(ToDo::getId).toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("Write Tests")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should send inserts in JDBC batches")
+        void shouldBatchInserts() {
+            // Given
+            Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                    .getStatistics();
+            statistics.clear();
+
+            // When
+            List<ToDo> saved = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                saved.add(repository.save(newToDo("Batch " + i, Priority.LOW)));
+            }
+            entityManager.flush();
+
+            // Then
+            assertEquals(200, statistics.getEntityInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() < 20,
+                    "Prepared " + statistics.getPrepareStatementCount() + " statements for 200 inserts");
+            assertTrue(saved.stream().allMatch(toDo -> toDo.getId() != null));
+        }
+
+        @Test
+        @DisplayName("Should update, preserve creation time and delete")
+        void shouldUpdateAndDelete() {
+            // Given
+            ToDo toDo = repository.save(newToDo("Original", Priority.HIGH));
+            LocalDateTime created = toDo.getCreationTime();
+            entityManager.flush();
+            entityManager.clear();
+
+            // When
+            ToDo changed = newToDo("Changed", Priority.LOW);
+            changed.setId(toDo.getId());
+            changed.setCreationTime(created.plusDays(1));
+            boolean updated = repository.update(changed);
+            ToDo missing = newToDo("Missing", Priority.LOW);
+            missing.setId(toDo.getId() + 1000);
+
+            // Then
+            assertTrue(updated);
+            assertFalse(repository.update(missing));
+            assertEquals("Changed", repository.findById(toDo.getId()).orElseThrow().getText());
+            assertEquals(created, repository.findById(toDo.getId()).orElseThrow().getCreationTime());
+            assertEquals("Changed", repository.deleteByIdAndReturn(toDo.getId()).getText());
+            assertTrue(repository.findById(toDo.getId()).isEmpty());
+            assertNull(repository.deleteByIdAndReturn(toDo.getId()));
+        }
+
+        @Test
+        @DisplayName("Should change and delete matching rows selected by one query")
+        void shouldChangeAndDeleteMatching() {
+            // Given
+            LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+            for (int i = 0; i < 30; i++) {
+                repository.save(newToDo((i % 2 == 0 ? "Release " : "Other ") + i, Priority.values()[i % 3]));
+            }
+            ToDo late = newToDo("Release late", Priority.LOW);
+            late.setCreationTime(cutoff.plusDays(1));
+            repository.save(late);
+            entityManager.flush();
+            entityManager.clear();
+            Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                    .getStatistics();
+            statistics.clear();
+
+            // When
+            List<ToDo> done = repository.updateMatching("release", false, null, cutoff, toDo -> {
+                toDo.setDoneFlag(true);
+                toDo.setDoneDate(cutoff);
+            });
+            entityManager.flush();
+            long queries = statistics.getQueryExecutionCount();
+            List<ToDo> deleted = repository.deleteMatching(null, true, Priority.LOW, null);
+            entityManager.flush();
+            entityManager.clear();
+
+            // Then
+            assertEquals(15, done.size());
+            assertEquals(1, queries);
+            assertEquals(15, repository.findByDoneFlag(true).size() + deleted.size());
+            assertTrue(deleted.stream().allMatch(toDo -> toDo.getPriority() == Priority.LOW && toDo.isDoneFlag()));
+            assertEquals(31 - deleted.size(), repository.findAll().size());
+            assertFalse(repository.findAll().stream()
+                    .filter(toDo -> toDo.getText().equals("Release late"))
+                    .findFirst().orElseThrow().isDoneFlag());
+        }
+    }
+
+    @Nested
+    @DisplayName("Statistics Tests")
+    class StatisticsTests {
+
+        @Test
+        @DisplayName("Should aggregate average completion minutes per priority")
+        void shouldAggregateCompletionTimes() {
+            // Given
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            int[][] minutes = { { 30, 90 }, { 45 }, {} };
+            for (int p = 0; p < minutes.length; p++) {
+                for (int m : minutes[p]) {
+                    ToDo toDo = newToDo("Done", Priority.values()[p]);
+                    toDo.setCreationTime(now.minusMinutes(m).minusSeconds(20));
+                    toDo.setDoneFlag(true);
+                    toDo.setDoneDate(now);
+                    repository.save(toDo);
+                }
+            }
+            repository.save(newToDo("Pending", Priority.LOW));
+            entityManager.flush();
+
+            // When
+            Map<Priority, Integer> aggregated = repository.averageCompletionMinutes();
+
+            // Then
+            assertEquals(Map.of(Priority.HIGH, 60, Priority.MEDIUM, 45, Priority.LOW, 0), aggregated);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.gupiluan.to_do_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+
+/**
+ * Compares the bounded-heap page selection against the previous full sort
+ * followed by subList.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=PageSelection
+ *
+ * @author gupiluan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+public class PageSelectionBenchmark {
+
+    /** Number of matching items to page through */
+    @Param({ "10000", "1000000", "10000000" })
+    private int items;
+
+    /** Requested page (0-based) */
+    @Param({ "0", "9" })
+    private int page;
+
+    private static final int PAGE_SIZE = 100;
+
+    /** Default dashboard ordering built by ToDoService */
+    private final Sort sort = Sort.by(Sort.Direction.ASC, "dueDate")
+            .and(Sort.by(Sort.Direction.DESC, "priority"))
+            .and(Sort.by("id"));
+
+    private List<ToDo> toDos;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        Priority[] priorities = Priority.values();
+
+        toDos = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ToDo toDo = new ToDo();
+            toDo.setId((long) i + 1);
+            toDo.setText("Task " + i);
+            toDo.setPriority(priorities[random.nextInt(priorities.length)]);
+            toDo.setCreationTime(now);
+            if (random.nextInt(10) > 0) {
+                toDo.setDueDate(now.plusMinutes(random.nextInt(1_000_000)));
+            }
+            toDos.add(toDo);
+        }
+    }
+
+    @Benchmark
+    public List<ToDo> boundedHeap() {
+        Comparator<ToDo> comparator = ToDoPageSelector.comparatorFor(sort);
+        return ToDoPageSelector.select(toDos.iterator(), toDos.size(), page * PAGE_SIZE, PAGE_SIZE, comparator);
+    }
+
+    @Benchmark
+    public List<ToDo> legacyFullSort() {
+        List<ToDo> sorted = toDos.stream()
+                .sorted((a, b) -> {
+                    for (Order order : sort) {
+                        int comparison = legacyCompareByField(a, b, order.getProperty());
+                        if (comparison != 0) {
+                            return order.isAscending() ? comparison : -comparison;
+                        }
+                    }
+                    return 0;
+                })
+                .collect(Collectors.toList());
+
+        int start = page * PAGE_SIZE;
+        return sorted.subList(start, Math.min(start + PAGE_SIZE, sorted.size()));
+    }
+
+    /**
+     * Per-comparison field dispatch used before the comparator was compiled.
+     */
+    private static int legacyCompareByField(ToDo a, ToDo b, String field) {
+        switch (field) {
+            case "id":
+                return a.getId().compareTo(b.getId());
+            case "dueDate":
+                if (a.getDueDate() == null && b.getDueDate() == null)
+                    return 0;
+                if (a.getDueDate() == null)
+                    return 1;
+                if (b.getDueDate() == null)
+                    return -1;
+                return a.getDueDate().compareTo(b.getDueDate());
+            case "priority":
+                return Priority.BY_RANK_ASC.compare(a.getPriority(), b.getPriority());
+            default:
+                return 0;
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.gupiluan.to_do_backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import com.gupiluan.to_do_backend.model.Priority;
 import com.gupiluan.to_do_backend.model.ToDo;
@@ -17,6 +28,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Test class to verify thread safety of the ToDoRepository.
+ * The scaled scenarios also run against the alternative implementations;
+ * their throughput is measured by the JMH benchmarks, not here.
  */
 public class ThreadSafetyTest {
 
@@ -142,4 +155,197 @@ public class ThreadSafetyTest {
         System.out.println("Write operations: " + writeOperations.get());
         System.out.println("Final item count: " + finalItems.size());
     }
+
+    @Test
+    void testLockFreeUpdatesCompareAndSet() throws InterruptedException {
+        LockFreeToDoRepository target = new LockFreeToDoRepository();
+        ToDo todo = new ToDo();
+        todo.setText("Contended ToDo");
+        todo.setPriority(Priority.HIGH);
+        Long id = target.save(todo).getId();
+
+        // Returned items are copies; changing one does not touch the store
+        target.findById(id).orElseThrow().setDoneFlag(true);
+        assertFalse(target.findById(id).orElseThrow().isDoneFlag());
+
+        int threadCount = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger applied = new AtomicInteger(0);
+
+        // Every thread reads the same version, then tries to mark it done
+        for (int i = 0; i < threadCount; i++) {
+            ToDo read = target.findById(id).orElseThrow();
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    read.setDoneFlag(true);
+                    read.setDoneDate(LocalDateTime.now());
+                    if (target.update(read)) {
+                        applied.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        latch.await();
+        executor.shutdown();
+
+        assertEquals(1, applied.get());
+        assertTrue(target.findById(id).orElseThrow().isDoneFlag());
+    }
+
+    @Test
+    void testLockFreeAtomicStepHoldsBackWrites() throws Exception {
+        LockFreeToDoRepository target = new LockFreeToDoRepository();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch writerStarted = new CountDownLatch(1);
+
+        // A write submitted during the atomic step waits until it returns
+        Future<ToDo> write = target.executeAtomically(() -> {
+            Future<ToDo> pending = executor.submit(() -> {
+                writerStarted.countDown();
+                ToDo todo = new ToDo();
+                todo.setText("Held back ToDo");
+                todo.setPriority(Priority.LOW);
+                return target.save(todo);
+            });
+            try {
+                writerStarted.await();
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertFalse(pending.isDone());
+            assertTrue(target.findAll().isEmpty());
+
+            // Writes of the step's own thread pass the gate
+            ToDo nested = new ToDo();
+            nested.setText("Nested ToDo");
+            nested.setPriority(Priority.HIGH);
+            target.save(nested);
+            return pending;
+        });
+
+        assertNotNull(write.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2, target.findAll().size());
+        executor.shutdown();
+    }
+
+    static Stream<Arguments> implementations() {
+        return Stream.of(
+                Arguments.of("rw-lock", (Supplier<IToDoRepository>) ToDoRepository::new),
+                Arguments.of("lock-free", (Supplier<IToDoRepository>) LockFreeToDoRepository::new),
+                Arguments.of("snapshot", (Supplier<IToDoRepository>) SnapshotToDoRepository::new),
+                Arguments.of("columnar", (Supplier<IToDoRepository>) ColumnarToDoRepository::new),
+                Arguments.of("off-heap", (Supplier<IToDoRepository>) OffHeapToDoRepository::new));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("implementations")
+    void testScaledConcurrentWriteOperations(String name, Supplier<IToDoRepository> factory)
+            throws Exception {
+        IToDoRepository target = factory.get();
+        int threadCount = 64;
+        int itemsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> tasks = new ArrayList<>(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            final int threadId = i;
+            tasks.add(executor.submit(() -> {
+                for (int j = 0; j < itemsPerThread; j++) {
+                    ToDo todo = new ToDo();
+                    todo.setText("Thread " + threadId + " - ToDo " + j);
+                    todo.setPriority(Priority.MEDIUM);
+                    todo.setCreationTime(LocalDateTime.now());
+                    target.save(todo);
+                }
+            }));
+        }
+
+        // Rethrows any failure inside a task
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        executor.shutdown();
+
+        // Verify all items were saved with unique IDs
+        List<ToDo> allItems = target.findAll();
+        assertEquals(threadCount * itemsPerThread, allItems.size());
+        assertEquals(allItems.size(), allItems.stream().mapToLong(ToDo::getId).distinct().count());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("implementations")
+    void testScaledConcurrentReadWriteOperations(String name, Supplier<IToDoRepository> factory)
+            throws Exception {
+        IToDoRepository target = factory.get();
+        int initialItems = 1000;
+        for (int i = 0; i < initialItems; i++) {
+            ToDo todo = new ToDo();
+            todo.setText("Initial ToDo " + i);
+            todo.setPriority(Priority.values()[i % 3]);
+            todo.setCreationTime(LocalDateTime.now());
+            target.save(todo);
+        }
+
+        int readerThreads = 48;
+        int writerThreads = 16;
+        int operationsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(readerThreads + writerThreads);
+        List<Future<?>> tasks = new ArrayList<>(readerThreads + writerThreads);
+        AtomicInteger readOperations = new AtomicInteger(0);
+        AtomicInteger writeOperations = new AtomicInteger(0);
+        PageRequest dashboard = PageRequest.of(0, 20, Sort.by("dueDate").and(Sort.by("id")));
+
+        for (int i = 0; i < readerThreads; i++) {
+            tasks.add(executor.submit(() -> {
+                for (int j = 0; j < operationsPerThread; j++) {
+                    long id = ThreadLocalRandom.current().nextLong(1, initialItems + 1);
+                    target.findById(id);
+                    target.findWithFilters(null, false, Priority.HIGH, dashboard);
+                    readOperations.incrementAndGet();
+                }
+            }));
+        }
+
+        for (int i = 0; i < writerThreads; i++) {
+            final int threadId = i;
+            tasks.add(executor.submit(() -> {
+                for (int j = 0; j < operationsPerThread; j++) {
+                    ToDo todo = new ToDo();
+                    todo.setText("Concurrent ToDo " + threadId + "-" + j);
+                    todo.setPriority(Priority.LOW);
+                    todo.setCreationTime(LocalDateTime.now());
+                    todo.setDueDate(LocalDateTime.now().plusDays(j));
+                    target.save(todo);
+
+                    todo.setDoneFlag(true);
+                    todo.setDoneDate(LocalDateTime.now());
+                    assertTrue(target.update(todo));
+                    writeOperations.incrementAndGet();
+                }
+            }));
+        }
+
+        // Rethrows any failed assertion inside a task
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        executor.shutdown();
+
+        // Verify final state is consistent
+        int written = writerThreads * operationsPerThread;
+        assertEquals(readerThreads * operationsPerThread, readOperations.get());
+        assertEquals(written, writeOperations.get());
+        assertEquals(initialItems + written, target.findAll().size());
+        assertEquals(written, target.findByDoneFlag(true).size());
+    }
 }
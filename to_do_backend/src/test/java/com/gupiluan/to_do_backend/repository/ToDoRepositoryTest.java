@@ -0,0 +1,1172 @@
+package com.gupiluan.to_do_backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.gupiluan.to_do_backend.dto.ToDoUpdateRequest;
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoCursor;
+import com.gupiluan.to_do_backend.service.ToDoService;
+
+/**
+ * Unit tests for the in-memory ToDoRepository.
+ * Verifies that secondary indexes stay consistent with stored data across
+ * writes.
+ *
+ * @author gupiluan
+ */
+@DisplayName("ToDo Repository Tests")
+class ToDoRepositoryTest {
+
+    private ToDoRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ToDoRepository();
+    }
+
+    private ToDo newToDo(String text, Priority priority) {
+        ToDo toDo = new ToDo();
+        toDo.setText(text);
+        toDo.setPriority(priority);
+        toDo.setCreationTime(LocalDateTime.now());
+        return toDo;
+    }
+
+    @Nested
+    @DisplayName("Bitmap Index Tests")
+    class BitmapIndexTests {
+
+        @Test
+        @DisplayName("Should answer status and priority filters from indexes")
+        void shouldFilterByStatusAndPriority() {
+            // Given
+            repository.save(newToDo("High pending", Priority.HIGH));
+            ToDo highDone = repository.save(newToDo("High done", Priority.HIGH));
+            repository.save(newToDo("Low pending", Priority.LOW));
+            highDone.setDoneFlag(true);
+            highDone.setDoneDate(LocalDateTime.now());
+            repository.update(highDone);
+
+            // When
+            List<ToDo> completedHigh = repository.findCompletedByPriority(Priority.HIGH);
+            List<ToDo> pending = repository.findByDoneFlag(false);
+            List<ToDo> high = repository.findByPriority(Priority.HIGH);
+
+            // Then
+            assertEquals(List.of("High done"), completedHigh.stream().map(ToDo::getText).toList());
+            assertEquals(2, pending.size());
+            assertEquals(2, high.size());
+        }
+
+        @Test
+        @DisplayName("Should reindex ToDo mutated in place before update")
+        void shouldReindexMutatedToDo() {
+            // Given
+            ToDo toDo = repository.save(newToDo("Task", Priority.LOW));
+
+            // When
+            ToDo stored = repository.findById(toDo.getId()).orElseThrow();
+            stored.setPriority(Priority.HIGH);
+            repository.update(stored);
+
+            // Then
+            assertTrue(repository.findByPriority(Priority.LOW).isEmpty());
+            assertEquals(1, repository.findByPriority(Priority.HIGH).size());
+        }
+
+        @Test
+        @DisplayName("Should drop deleted ToDo from indexes and reuse its slot")
+        void shouldUnindexDeletedToDo() {
+            // Given
+            ToDo first = repository.save(newToDo("First", Priority.MEDIUM));
+            repository.deleteByIdAndReturn(first.getId());
+
+            // When
+            repository.save(newToDo("Second", Priority.LOW));
+
+            // Then
+            assertTrue(repository.findByPriority(Priority.MEDIUM).isEmpty());
+            assertEquals(1, repository.findAll().size());
+            assertTrue(repository.findById(first.getId()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should combine indexes with text filter and pagination")
+        void shouldCombineIndexesWithTextFilter() {
+            // Given
+            for (int i = 0; i < 5; i++) {
+                repository.save(newToDo("Release task " + i, Priority.LOW));
+                repository.save(newToDo("Other task " + i, Priority.LOW));
+            }
+
+            // When
+            Page<ToDo> page = repository.findWithFilters("release", false, Priority.LOW, PageRequest.of(0, 3));
+
+            // Then
+            assertEquals(5, page.getTotalElements());
+            assertEquals(3, page.getContent().size());
+            assertTrue(page.getContent().stream().allMatch(t -> t.getText().startsWith("Release")));
+        }
+
+        @Test
+        @DisplayName("Should clear indexes on deleteAll")
+        void shouldClearIndexesOnDeleteAll() {
+            // Given
+            repository.save(newToDo("Task", Priority.HIGH));
+
+            // When
+            repository.deleteAll();
+
+            // Then
+            assertTrue(repository.findByPriority(Priority.HIGH).isEmpty());
+            assertTrue(repository.findByDoneFlag(false).isEmpty());
+            assertEquals(1L, repository.save(newToDo("Fresh", Priority.LOW)).getId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Text Index Tests")
+    class TextIndexTests {
+
+        private List<String> search(String text) {
+            return repository.findWithFilters(text, null, null, PageRequest.of(0, 100)).getContent().stream()
+                    .map(ToDo::getText)
+                    .sorted()
+                    .toList();
+        }
+
+        @Test
+        @DisplayName("Should match substrings ignoring case")
+        void shouldMatchSubstringsIgnoringCase() {
+            // Given
+            repository.save(newToDo("Prepare Release Notes", Priority.HIGH));
+            repository.save(newToDo("release the kraken", Priority.LOW));
+            repository.save(newToDo("Water the plants", Priority.LOW));
+
+            // When & Then
+            assertEquals(List.of("Prepare Release Notes", "release the kraken"), search("RELEASE"));
+            assertEquals(List.of("Water the plants", "release the kraken"), search("the"));
+            assertTrue(search("releases").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should fall back to text scan for short queries")
+        void shouldHandleShortQueries() {
+            // Given
+            repository.save(newToDo("Ab", Priority.HIGH));
+            repository.save(newToDo("xyz", Priority.LOW));
+
+            // When & Then
+            assertEquals(List.of("Ab"), search("a"));
+            assertEquals(List.of("Ab"), search("AB"));
+            assertEquals(2, search("").size());
+        }
+
+        @Test
+        @DisplayName("Should require trigrams in order, not just present")
+        void shouldVerifyCandidates() {
+            // Given
+            repository.save(newToDo("abcd bcde", Priority.HIGH));
+
+            // When & Then
+            assertTrue(search("abcde").isEmpty());
+            assertEquals(1, search("bcde").size());
+        }
+
+        @Test
+        @DisplayName("Should reindex text on update and delete")
+        void shouldReindexTextOnWrites() {
+            // Given
+            ToDo toDo = repository.save(newToDo("Old title", Priority.LOW));
+            ToDo other = repository.save(newToDo("Another title", Priority.LOW));
+
+            // When
+            toDo.setText("New heading");
+            repository.update(toDo);
+            repository.deleteByIdAndReturn(other.getId());
+
+            // Then
+            assertTrue(search("title").isEmpty());
+            assertEquals(List.of("New heading"), search("heading"));
+        }
+
+        @Test
+        @DisplayName("Should stay consistent with a linear scan across many items")
+        void shouldMatchLinearScan() {
+            // Given
+            String[] words = { "alpha", "beta", "gamma", "delta", "omega" };
+            for (int i = 0; i < 500; i++) {
+                repository.save(newToDo(words[i % 5] + " " + words[(i * 7) % 5] + " " + i, Priority.MEDIUM));
+            }
+            for (long id = 1; id <= 500; id += 3) {
+                repository.deleteByIdAndReturn(id);
+            }
+
+            // When & Then
+            for (String query : List.of("ta ga", "mega", "a 1", "lta", "9")) {
+                long expected = repository.findAll().stream()
+                        .filter(t -> t.getText().toLowerCase().contains(query))
+                        .count();
+                assertEquals(expected,
+                        repository.findWithFilters(query, null, null, PageRequest.of(0, 1)).getTotalElements(),
+                        "Mismatch for query '" + query + "'");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Sorted Paging Tests")
+    class SortedPagingTests {
+
+        private final Sort dashboardSort = Sort.by(Sort.Direction.ASC, "dueDate")
+                .and(Sort.by(Sort.Direction.DESC, "priority"))
+                .and(Sort.by("id"));
+
+        @BeforeEach
+        void populate() {
+            Random random = new Random(7);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < 1000; i++) {
+                ToDo toDo = newToDo("Task " + i, Priority.values()[random.nextInt(3)]);
+                if (random.nextInt(5) > 0) {
+                    toDo.setDueDate(now.plusHours(random.nextInt(200)));
+                }
+                repository.save(toDo);
+            }
+        }
+
+        private List<Long> expectedIds(Comparator<ToDo> order, int offset, int size) {
+            return repository.findAll().stream()
+                    .sorted(order)
+                    .skip(offset)
+                    .limit(size)
+                    .map(ToDo::getId)
+                    .toList();
+        }
+
+        @Test
+        @DisplayName("Should return the same pages as a full sort")
+        void shouldMatchFullSort() {
+            Comparator<ToDo> order = Comparator
+                    .comparing(ToDo::getDueDate, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+                    .thenComparing(ToDo::getPriority, Priority.BY_RANK_DESC)
+                    .thenComparing(ToDo::getId);
+
+            // Shallow pages use the bounded heap, deep pages the full sort
+            for (int page : new int[] { 0, 1, 2, 5, 9, 10 }) {
+                Page<ToDo> result = repository.findWithFilters(null, null, null,
+                        PageRequest.of(page, 100, dashboardSort));
+
+                assertEquals(1000, result.getTotalElements());
+                assertEquals(expectedIds(order, page * 100, 100),
+                        result.getContent().stream().map(ToDo::getId).toList(), "Page " + page);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reverse the whole due date order when descending")
+        void shouldOrderDescendingDueDates() {
+            Sort descending = Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by("id"));
+            Comparator<ToDo> order = Comparator
+                    .comparing(ToDo::getDueDate, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+                    .reversed()
+                    .thenComparing(ToDo::getId);
+
+            Page<ToDo> result = repository.findWithFilters(null, null, null, PageRequest.of(3, 50, descending));
+
+            assertEquals(expectedIds(order, 150, 50), result.getContent().stream().map(ToDo::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should walk every maintained ordering like a full sort")
+        void shouldWalkMaintainedOrderings() {
+            // Given some items updated in place and some deleted
+            for (long id = 1; id <= 1000; id += 7) {
+                ToDo toDo = repository.findById(id).orElseThrow();
+                toDo.setDueDate(toDo.getDueDate() == null ? LocalDateTime.now() : null);
+                toDo.setPriority(Priority.HIGH);
+                repository.update(toDo);
+            }
+            for (long id = 3; id <= 1000; id += 11) {
+                repository.deleteByIdAndReturn(id);
+            }
+
+            List<Sort> orderings = new ArrayList<>();
+            for (Sort.Direction dueDate : new Sort.Direction[] { null, Sort.Direction.ASC, Sort.Direction.DESC }) {
+                for (Sort.Direction priority : new Sort.Direction[] { null, Sort.Direction.ASC,
+                        Sort.Direction.DESC }) {
+                    Sort sort = dueDate == null ? Sort.unsorted() : Sort.by(dueDate, "dueDate");
+                    if (priority != null) {
+                        sort = sort.and(Sort.by(priority, "priority"));
+                    }
+                    orderings.add(sort.and(Sort.by("id")));
+                }
+            }
+
+            for (Sort sort : orderings) {
+                for (int page : new int[] { 0, 3 }) {
+                    // When
+                    Page<ToDo> result = repository.findWithFilters(null, null, null, PageRequest.of(page, 20, sort));
+
+                    // Then
+                    assertEquals(expectedIds(ToDoPageSelector.comparatorFor(sort), page * 20, 20),
+                            result.getContent().stream().map(ToDo::getId).toList(), sort + " page " + page);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should find overdue items with a range read that follows status changes")
+        void shouldFindOverdueItems() {
+            // Given
+            LocalDateTime cutoff = LocalDateTime.now().plusHours(100);
+            for (long id = 1; id <= 1000; id += 3) {
+                ToDo toDo = repository.findById(id).orElseThrow().copy();
+                toDo.setDoneFlag(true);
+                repository.update(toDo);
+            }
+
+            // When
+            List<ToDo> overdue = repository.findByDueDateBeforeAndDoneFlagFalse(cutoff);
+
+            // Then
+            List<Long> expected = repository.findAll().stream()
+                    .filter(t -> !t.isDoneFlag() && t.getDueDate() != null && t.getDueDate().isBefore(cutoff))
+                    .map(ToDo::getId)
+                    .toList();
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, overdue.stream().map(ToDo::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should page and seek through overdue items in the requested order")
+        void shouldPageOverdueItems() {
+            // Given
+            LocalDateTime cutoff = LocalDateTime.now().plusHours(100);
+            for (long id = 2; id <= 1000; id += 5) {
+                ToDo toDo = repository.findById(id).orElseThrow().copy();
+                toDo.setDoneFlag(true);
+                repository.update(toDo);
+            }
+            Sort sort = Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by("priority")).and(Sort.by("id"));
+            List<Long> expected = repository.findByDueDateBeforeAndDoneFlagFalse(cutoff).stream()
+                    .sorted(ToDoPageSelector.comparatorFor(sort))
+                    .map(ToDo::getId)
+                    .toList();
+
+            // When
+            Page<ToDo> secondPage = repository.findOverdue(cutoff, PageRequest.of(1, 15, sort));
+            List<Long> seeked = new ArrayList<>();
+            ToDoCursor after = null;
+            List<ToDo> batch;
+            do {
+                batch = repository.findOverdueAfter(cutoff, sort, after, 15);
+                batch.forEach(toDo -> seeked.add(toDo.getId()));
+                after = batch.isEmpty() ? after : ToDoCursor.of(batch.get(batch.size() - 1));
+            } while (!batch.isEmpty());
+
+            // Then
+            assertEquals(expected.size(), secondPage.getTotalElements());
+            assertEquals(expected.subList(15, 30), secondPage.getContent().stream().map(ToDo::getId).toList());
+            assertEquals(expected, seeked);
+        }
+    }
+
+    @Nested
+    @DisplayName("Compact Row Tests")
+    class CompactRowTests {
+
+        @Test
+        @DisplayName("Should round-trip every field through the compact rows")
+        void shouldRoundTripFields() {
+            for (String text : new String[] { "Ünïcode Text", "Ship 出荷 🚀" }) {
+                // Given
+                ToDo toDo = newToDo(text, Priority.HIGH);
+                toDo.setDueDate(LocalDateTime.of(2031, 5, 17, 8, 30, 15, 123_456_789));
+                toDo.setDoneFlag(true);
+                toDo.setDoneDate(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1));
+
+                // When
+                ToDo saved = repository.save(toDo.copy());
+                ToDo stored = repository.findById(saved.getId()).orElseThrow();
+
+                // Then
+                toDo.setId(saved.getId());
+                assertEquals(toDo, stored);
+                assertEquals(toDo, repository.deleteByIdAndReturn(saved.getId()));
+            }
+        }
+
+        @Test
+        @DisplayName("Should not expose stored rows through returned items")
+        void shouldReturnDetachedItems() {
+            // Given
+            ToDo saved = repository.save(newToDo("Stored", Priority.LOW));
+
+            // When
+            saved.setText("Changed");
+            repository.findById(saved.getId()).orElseThrow().setPriority(Priority.HIGH);
+
+            // Then
+            ToDo stored = repository.findById(saved.getId()).orElseThrow();
+            assertEquals("Stored", stored.getText());
+            assertEquals(Priority.LOW, stored.getPriority());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Save Tests")
+    class BatchSaveTests {
+
+        @Test
+        @DisplayName("Should reserve IDs past explicit ones and index the whole batch")
+        void shouldSaveBatchWithReservedIds() {
+            // Given
+            repository.save(newToDo("Existing", Priority.LOW));
+            ToDo explicit = newToDo("Explicit", Priority.HIGH);
+            explicit.setId(5L);
+            List<ToDo> batch = List.of(newToDo("First", Priority.HIGH), explicit, newToDo("Second", Priority.HIGH));
+
+            // When
+            List<ToDo> saved = repository.saveAll(batch);
+
+            // Then
+            assertEquals(List.of(6L, 5L, 7L), saved.stream().map(ToDo::getId).toList());
+            assertEquals(8L, repository.save(newToDo("Next", Priority.LOW)).getId());
+            assertEquals(3, repository.findWithFilters(null, null, Priority.HIGH, PageRequest.of(0, 10))
+                    .getTotalElements());
+            assertEquals("Second", repository.findById(7L).orElseThrow().getText());
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot Repository Tests")
+    class SnapshotRepositoryTests {
+
+        private final SnapshotToDoRepository snapshots = new SnapshotToDoRepository();
+
+        @Test
+        @DisplayName("Should keep a held snapshot unchanged by later writes")
+        void shouldIsolateHeldSnapshot() {
+            // Given
+            for (int i = 0; i < 30; i++) {
+                snapshots.save(newToDo("Task " + i, Priority.values()[i % 3]));
+            }
+            SnapshotToDoRepository.Snapshot held = snapshots.currentSnapshot();
+            PageRequest secondPage = PageRequest.of(1, 10, Sort.by("id"));
+            List<Long> before = held.findWithFilters(null, null, null, secondPage).getContent().stream()
+                    .map(ToDo::getId).toList();
+
+            // When
+            snapshots.deleteByIdAndReturn(1L);
+            ToDo updated = snapshots.findById(15L).orElseThrow();
+            updated.setDoneFlag(true);
+            snapshots.update(updated);
+
+            // Then
+            assertEquals(before, held.findWithFilters(null, null, null, secondPage).getContent().stream()
+                    .map(ToDo::getId).toList());
+            assertEquals(30, held.size());
+            assertFalse(held.findById(15L).orElseThrow().isDoneFlag());
+            assertEquals(29, snapshots.currentSnapshot().size());
+            assertTrue(snapshots.currentSnapshot().getVersion() > held.getVersion());
+        }
+
+        @Test
+        @DisplayName("Should publish an atomic step only once it returns")
+        void shouldPublishAtomicStepOnce() throws Exception {
+            // Given
+            snapshots.save(newToDo("Kept", Priority.LOW));
+            snapshots.save(newToDo("Deleted", Priority.LOW));
+            ExecutorService reader = Executors.newSingleThreadExecutor();
+
+            // When
+            List<Integer> seenByReader = snapshots.executeAtomically(() -> {
+                snapshots.deleteByIdAndReturn(2L);
+                ToDo created = snapshots.save(newToDo("Created", Priority.HIGH));
+                ToDo kept = snapshots.findById(1L).orElseThrow();
+                kept.setDoneFlag(true);
+                snapshots.update(kept);
+
+                // The step's own thread sees its changes
+                assertEquals(3L, created.getId());
+                assertTrue(snapshots.findById(1L).orElseThrow().isDoneFlag());
+                assertEquals(2, snapshots.findAll().size());
+                try {
+                    return reader.submit(() -> List.of(snapshots.findAll().size(),
+                            snapshots.findByDoneFlag(true).size())).get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            reader.shutdown();
+
+            // Then
+            assertEquals(List.of(2, 0), seenByReader);
+            assertEquals(List.of(1L, 3L), snapshots.findAll().stream().map(ToDo::getId).toList());
+            assertTrue(snapshots.findById(1L).orElseThrow().isDoneFlag());
+        }
+
+        @Test
+        @DisplayName("Should publish nothing when an atomic step throws")
+        void shouldDiscardFailedAtomicStep() {
+            // Given
+            snapshots.save(newToDo("Kept", Priority.LOW));
+            SnapshotToDoRepository.Snapshot before = snapshots.currentSnapshot();
+
+            // When
+            assertThrows(IllegalStateException.class, () -> snapshots.executeAtomically(() -> {
+                snapshots.deleteByIdAndReturn(1L);
+                throw new IllegalStateException("Step failed");
+            }));
+
+            // Then
+            assertSame(before, snapshots.currentSnapshot());
+            assertTrue(snapshots.findById(1L).isPresent());
+            assertNull(snapshots.deleteByIdAndReturn(null));
+        }
+
+        @Test
+        @DisplayName("Should not let callers mutate stored items")
+        void shouldReturnDetachedCopies() {
+            // Given
+            ToDo saved = snapshots.save(newToDo("Original", Priority.LOW));
+
+            // When
+            saved.setText("Changed after save");
+            snapshots.findById(saved.getId()).orElseThrow().setDoneFlag(true);
+
+            // Then
+            ToDo stored = snapshots.findById(saved.getId()).orElseThrow();
+            assertEquals("Original", stored.getText());
+            assertFalse(stored.isDoneFlag());
+        }
+
+        @Test
+        @DisplayName("Should filter like the locking repository")
+        void shouldMatchLockingRepository() {
+            // Given
+            Random random = new Random(11);
+            for (int i = 0; i < 500; i++) {
+                ToDo toDo = newToDo((i % 4 == 0 ? "Release " : "Chore ") + i, Priority.values()[random.nextInt(3)]);
+                toDo.setDoneFlag(random.nextBoolean());
+                repository.save(toDo);
+                snapshots.save(toDo.copy());
+            }
+            for (long id = 5; id <= 500; id += 9) {
+                repository.deleteByIdAndReturn(id);
+                snapshots.deleteByIdAndReturn(id);
+            }
+
+            // When / Then
+            PageRequest page = PageRequest.of(1, 25, Sort.by(Sort.Direction.DESC, "priority").and(Sort.by("id")));
+            for (Boolean doneFlag : new Boolean[] { null, true, false }) {
+                for (Priority priority : new Priority[] { null, Priority.HIGH, Priority.LOW }) {
+                    for (String text : new String[] { null, "release" }) {
+                        Page<ToDo> expected = repository.findWithFilters(text, doneFlag, priority, page);
+                        Page<ToDo> actual = snapshots.findWithFilters(text, doneFlag, priority, page);
+                        assertEquals(expected.getTotalElements(), actual.getTotalElements());
+                        assertEquals(expected.getContent().stream().map(ToDo::getId).toList(),
+                                actual.getContent().stream().map(ToDo::getId).toList());
+                    }
+                }
+            }
+            assertEquals(repository.findCompletedByPriority(Priority.MEDIUM).size(),
+                    snapshots.findCompletedByPriority(Priority.MEDIUM).size());
+        }
+
+        @Test
+        @DisplayName("Should behave like a HashMap under random puts and removes")
+        void shouldMatchHashMap() {
+            // Given
+            Random random = new Random(3);
+            Map<Long, Integer> expected = new HashMap<>();
+            PersistentLongMap<Integer> map = PersistentLongMap.empty();
+            Map<Long, Integer> expectedFirstHalf = null;
+            PersistentLongMap<Integer> firstHalf = null;
+
+            // When
+            for (int i = 0; i < 20_000; i++) {
+                long key = random.nextInt(4096) * (random.nextBoolean() ? 1L : 1L << 40);
+                if (random.nextInt(3) == 0) {
+                    expected.remove(key);
+                    map = map.remove(key);
+                } else {
+                    expected.put(key, i);
+                    map = map.put(key, i);
+                }
+                if (i == 10_000) {
+                    expectedFirstHalf = new HashMap<>(expected);
+                    firstHalf = map;
+                }
+            }
+
+            // Then
+            assertEquals(expected.size(), map.size());
+            for (var entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            List<Integer> visited = new ArrayList<>();
+            map.forEach(visited::add);
+            assertEquals(expected.size(), visited.size());
+
+            // Older versions are untouched by later updates
+            assertEquals(expectedFirstHalf.size(), firstHalf.size());
+            for (var entry : expectedFirstHalf.entrySet()) {
+                assertEquals(entry.getValue(), firstHalf.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Columnar Repository Tests")
+    class ColumnarRepositoryTests {
+
+        private final ColumnarToDoRepository columnar = new ColumnarToDoRepository();
+
+        @Test
+        @DisplayName("Should round-trip every field")
+        void shouldRoundTripFields() {
+            // Given
+            ToDo toDo = newToDo("Ünïcode Text", Priority.HIGH);
+            toDo.setDueDate(LocalDateTime.of(2031, 5, 17, 8, 30, 15, 123_456_789));
+            toDo.setDoneFlag(true);
+            toDo.setDoneDate(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1));
+
+            // When
+            ToDo saved = columnar.save(toDo.copy());
+            ToDo stored = columnar.findById(saved.getId()).orElseThrow();
+
+            // Then
+            toDo.setId(saved.getId());
+            assertEquals(toDo, stored);
+        }
+
+        @Test
+        @DisplayName("Should keep a null text distinct from an empty one")
+        void shouldRoundTripNullText() {
+            // Given
+            ToDo saved = columnar.save(newToDo(null, Priority.LOW));
+            columnar.save(newToDo("", Priority.LOW));
+            columnar.save(newToDo("Named", Priority.LOW));
+
+            // When
+            ToDo stored = columnar.findById(saved.getId()).orElseThrow();
+            List<ToDo> sorted = columnar.findWithFilters(null, null, null,
+                    PageRequest.of(0, 10, Sort.by("text"))).getContent();
+            long matching = columnar.findWithFilters("NAME", null, null, PageRequest.of(0, 10)).getTotalElements();
+
+            // Then
+            assertNull(stored.getText());
+            assertNull(sorted.get(0).getText());
+            assertEquals("", sorted.get(1).getText());
+            assertEquals(1, matching);
+        }
+
+        @Test
+        @DisplayName("Should filter and sort like the slot repository")
+        void shouldMatchSlotRepository() {
+            // Given
+            Random random = new Random(19);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < 2000; i++) {
+                ToDo toDo = newToDo((i % 3 == 0 ? "Deploy " : "Review ") + i, Priority.values()[random.nextInt(3)]);
+                toDo.setDoneFlag(random.nextInt(4) == 0);
+                if (random.nextBoolean()) {
+                    toDo.setDueDate(now.plusMinutes(random.nextInt(500)));
+                }
+                repository.save(toDo);
+                columnar.save(toDo.copy());
+            }
+            // Churn text and rows so the arenas compact and rows move
+            for (long id = 1; id <= 2000; id += 3) {
+                repository.deleteByIdAndReturn(id);
+                columnar.deleteByIdAndReturn(id);
+            }
+            for (long id = 2; id <= 2000; id += 5) {
+                columnar.findById(id).ifPresent(toDo -> {
+                    toDo.setText("Renamed deploy " + toDo.getId());
+                    columnar.update(toDo);
+                    repository.update(toDo.copy());
+                });
+            }
+
+            // When / Then
+            List<Sort> sorts = List.of(Sort.by("id"),
+                    Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by("priority")).and(Sort.by("id")),
+                    Sort.by("text").and(Sort.by("id")),
+                    Sort.by(Sort.Direction.DESC, "doneFlag").and(Sort.by("creationTime")).and(Sort.by("id")));
+            for (Sort sort : sorts) {
+                for (String text : new String[] { null, "DEPLOY" }) {
+                    for (Priority priority : new Priority[] { null, Priority.MEDIUM }) {
+                        for (int page : new int[] { 0, 4 }) {
+                            PageRequest request = PageRequest.of(page, 30, sort);
+                            Page<ToDo> expected = repository.findWithFilters(text, null, priority, request);
+                            Page<ToDo> actual = columnar.findWithFilters(text, null, priority, request);
+                            assertEquals(expected.getTotalElements(), actual.getTotalElements());
+                            assertEquals(expected.getContent(), actual.getContent(), sort + " " + text);
+                        }
+                    }
+                }
+            }
+            assertEquals(repository.findAll(), columnar.findAll());
+            assertEquals(repository.findByDueDateBeforeAndDoneFlagFalse(now.plusMinutes(250)).size(),
+                    columnar.findByDueDateBeforeAndDoneFlagFalse(now.plusMinutes(250)).size());
+        }
+
+        @Test
+        @DisplayName("Should not expose stored rows through returned items")
+        void shouldReturnDetachedItems() {
+            // Given
+            ToDo saved = columnar.save(newToDo("Stored", Priority.LOW));
+
+            // When
+            columnar.findById(saved.getId()).orElseThrow().setText("Changed");
+
+            // Then
+            assertEquals("Stored", columnar.findById(saved.getId()).orElseThrow().getText());
+        }
+    }
+
+    @Nested
+    @DisplayName("Off-Heap Repository Tests")
+    class OffHeapRepositoryTests {
+
+        private final OffHeapToDoRepository offHeap = new OffHeapToDoRepository();
+
+        @Test
+        @DisplayName("Should keep a null text distinct from an empty one")
+        void shouldRoundTripNullText() {
+            // Given
+            ToDo saved = offHeap.save(newToDo(null, Priority.LOW));
+            offHeap.save(newToDo("", Priority.LOW));
+            offHeap.save(newToDo("Named", Priority.LOW));
+
+            // When
+            ToDo stored = offHeap.findById(saved.getId()).orElseThrow();
+            List<ToDo> sorted = offHeap.findWithFilters(null, null, null,
+                    PageRequest.of(0, 10, Sort.by("text"))).getContent();
+            long matching = offHeap.findWithFilters("NAME", null, null, PageRequest.of(0, 10)).getTotalElements();
+
+            // Then
+            assertNull(stored.getText());
+            assertNull(sorted.get(0).getText());
+            assertEquals("", sorted.get(1).getText());
+            assertEquals(1, matching);
+        }
+
+        @Test
+        @DisplayName("Should round-trip every field")
+        void shouldRoundTripFields() {
+            // Given
+            ToDo toDo = newToDo("Grüße aus Köln 🚀", Priority.MEDIUM);
+            toDo.setDueDate(LocalDateTime.of(2040, 1, 2, 3, 4, 5, 6));
+            toDo.setDoneFlag(true);
+            toDo.setDoneDate(LocalDateTime.now());
+
+            // When
+            ToDo saved = offHeap.save(toDo.copy());
+
+            // Then
+            toDo.setId(saved.getId());
+            assertEquals(toDo, offHeap.findById(saved.getId()).orElseThrow());
+            assertEquals(1, offHeap.findWithFilters("KÖLN", true, Priority.MEDIUM, PageRequest.of(0, 10))
+                    .getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should filter and sort like the slot repository")
+        void shouldMatchSlotRepository() {
+            // Given
+            Random random = new Random(23);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < 3000; i++) {
+                ToDo toDo = newToDo((i % 4 == 0 ? "Invoice " : "Meeting ") + i, Priority.values()[random.nextInt(3)]);
+                toDo.setDoneFlag(random.nextInt(3) == 0);
+                if (random.nextBoolean()) {
+                    toDo.setDueDate(now.plusMinutes(random.nextInt(800)));
+                }
+                repository.save(toDo);
+                offHeap.save(toDo.copy());
+            }
+            for (long id = 1; id <= 3000; id += 4) {
+                repository.deleteByIdAndReturn(id);
+                offHeap.deleteByIdAndReturn(id);
+            }
+
+            // When / Then
+            List<Sort> sorts = List.of(Sort.by("id"),
+                    Sort.by("dueDate").and(Sort.by(Sort.Direction.DESC, "priority")).and(Sort.by("id")));
+            for (Sort sort : sorts) {
+                for (String text : new String[] { null, "invoice" }) {
+                    for (Boolean doneFlag : new Boolean[] { null, false }) {
+                        PageRequest request = PageRequest.of(2, 40, sort);
+                        Page<ToDo> expected = repository.findWithFilters(text, doneFlag, null, request);
+                        Page<ToDo> actual = offHeap.findWithFilters(text, doneFlag, null, request);
+                        assertEquals(expected.getTotalElements(), actual.getTotalElements());
+                        assertEquals(expected.getContent(), actual.getContent(), sort + " " + text);
+                    }
+                }
+            }
+            assertEquals(repository.findAll(), offHeap.findAll());
+        }
+
+        @Test
+        @DisplayName("Should reuse freed slots and text blocks")
+        void shouldReuseFreedSpace() {
+            // Given
+            for (int i = 0; i < 5000; i++) {
+                offHeap.save(newToDo("Task number " + i, Priority.LOW));
+            }
+            long reserved = offHeap.liveBytes() + offHeap.freeBytes();
+
+            // When
+            for (long id = 1; id <= 5000; id++) {
+                offHeap.deleteByIdAndReturn(id);
+                offHeap.save(newToDo("Task number " + id, Priority.HIGH));
+            }
+
+            // Then
+            assertEquals(5000, offHeap.findByPriority(Priority.HIGH).size());
+            assertEquals(reserved, offHeap.liveBytes() + offHeap.freeBytes());
+        }
+
+        @Test
+        @DisplayName("Should release all space on deleteAll")
+        void shouldReleaseOnDeleteAll() {
+            // Given
+            for (int i = 0; i < 100; i++) {
+                offHeap.save(newToDo("Task " + i, Priority.LOW));
+            }
+            assertTrue(offHeap.liveBytes() > 0);
+
+            // When
+            offHeap.deleteAll();
+
+            // Then
+            assertEquals(0, offHeap.liveBytes());
+            assertTrue(offHeap.findAll().isEmpty());
+            assertEquals(1L, offHeap.save(newToDo("Fresh", Priority.LOW)).getId());
+        }
+
+        @Test
+        @DisplayName("Should behave like a HashMap under random puts and removes")
+        void shouldMatchHashMap() {
+            // Given
+            Random random = new Random(5);
+            Map<Long, Integer> expected = new HashMap<>();
+            LongIntHashMap map = new LongIntHashMap();
+
+            // When
+            for (int i = 0; i < 50_000; i++) {
+                long key = random.nextInt(2048) - 16L;
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.getOrDefault(key, LongIntHashMap.MISSING), map.remove(key));
+                    expected.remove(key);
+                } else {
+                    assertEquals(expected.getOrDefault(key, LongIntHashMap.MISSING), map.put(key, i));
+                    expected.put(key, i);
+                }
+            }
+
+            // Then
+            assertEquals(expected.size(), map.size());
+            for (long key = -16; key < 2048; key++) {
+                assertEquals(expected.getOrDefault(key, LongIntHashMap.MISSING), map.get(key));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor Pagination Tests")
+    class CursorPaginationTests {
+
+        private final List<Sort> sorts = List.of(
+                Sort.by("id"),
+                Sort.by(Sort.Direction.ASC, "dueDate").and(Sort.by("id")),
+                Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by("id")),
+                Sort.by(Sort.Direction.ASC, "priority").and(Sort.by("id")),
+                Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by(Sort.Direction.DESC, "priority"))
+                        .and(Sort.by("id")),
+                // Not kept by the sorted views, so selected from the slots
+                Sort.by(Sort.Direction.ASC, "priority").and(Sort.by(Sort.Direction.DESC, "id")));
+
+        private void populate(IToDoRepository target) {
+            Random random = new Random(11);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < 400; i++) {
+                ToDo toDo = newToDo("Task " + i, Priority.values()[random.nextInt(3)]);
+                if (random.nextInt(4) > 0) {
+                    toDo.setDueDate(now.plusHours(random.nextInt(30)));
+                }
+                toDo.setDoneFlag(random.nextInt(3) == 0);
+                target.save(toDo);
+            }
+        }
+
+        private List<Long> scroll(IToDoRepository target, String text, Boolean doneFlag, Sort sort, int size) {
+            List<Long> ids = new ArrayList<>();
+            ToDoCursor cursor = null;
+            while (true) {
+                List<ToDo> page = target.findWithFiltersAfter(text, doneFlag, null, sort, cursor, size);
+                page.forEach(toDo -> ids.add(toDo.getId()));
+                if (page.size() < size) {
+                    return ids;
+                }
+                cursor = ToDoCursor.of(page.get(page.size() - 1));
+            }
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("com.gupiluan.to_do_backend.repository.ThreadSafetyTest#implementations")
+        @DisplayName("Should seek through every overdue item in order")
+        void shouldSeekThroughOverdueItems(String name, Supplier<IToDoRepository> factory) {
+            // Given
+            IToDoRepository target = factory.get();
+            populate(target);
+            LocalDateTime cutoff = LocalDateTime.now().plusHours(15);
+
+            for (Sort sort : sorts) {
+                List<Long> expected = target.findByDueDateBeforeAndDoneFlagFalse(cutoff).stream()
+                        .sorted(ToDoPageSelector.keysetComparatorFor(sort))
+                        .map(ToDo::getId)
+                        .toList();
+
+                // When
+                List<Long> seeked = new ArrayList<>();
+                ToDoCursor cursor = null;
+                List<ToDo> batch;
+                do {
+                    batch = target.findOverdueAfter(cutoff, sort, cursor, 13);
+                    batch.forEach(toDo -> seeked.add(toDo.getId()));
+                    cursor = batch.isEmpty() ? cursor : ToDoCursor.of(batch.get(batch.size() - 1));
+                } while (!batch.isEmpty());
+
+                // Then
+                assertFalse(expected.isEmpty());
+                assertEquals(expected, seeked, name + " " + sort);
+            }
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("com.gupiluan.to_do_backend.repository.ThreadSafetyTest#implementations")
+        @DisplayName("Should scroll through the same rows as offset pages")
+        void shouldMatchOffsetPages(String name, Supplier<IToDoRepository> factory) {
+            // Given
+            IToDoRepository target = factory.get();
+            populate(target);
+
+            for (Sort sort : sorts) {
+                for (Boolean doneFlag : new Boolean[] { null, true }) {
+                    // When
+                    List<Long> scrolled = scroll(target, doneFlag == null ? null : "task", doneFlag, sort, 9);
+
+                    // Then
+                    List<Long> expected = target.findWithFilters(doneFlag == null ? null : "task", doneFlag, null,
+                            PageRequest.of(0, 400, sort)).getContent().stream().map(ToDo::getId).toList();
+                    assertEquals(expected, scrolled, name + " " + sort + " done=" + doneFlag);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should not shift when rows before the cursor are deleted")
+        void shouldStayStableUnderDeletes() {
+            // Given
+            populate(repository);
+            Sort sort = Sort.by(Sort.Direction.ASC, "dueDate").and(Sort.by("id"));
+            List<ToDo> first = repository.findWithFiltersAfter(null, null, null, sort, null, 20);
+            ToDoCursor cursor = ToDoCursor.decode(ToDoCursor.of(first.get(19)).encode());
+            List<ToDo> expected = repository.findWithFiltersAfter(null, null, null, sort, cursor, 20);
+
+            // When
+            first.subList(0, 10).forEach(toDo -> repository.deleteByIdAndReturn(toDo.getId()));
+            List<ToDo> second = repository.findWithFiltersAfter(null, null, null, sort, cursor, 20);
+
+            // Then
+            assertEquals(expected.stream().map(ToDo::getId).toList(), second.stream().map(ToDo::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursors")
+        void shouldRejectMalformedCursor() {
+            assertThrows(IllegalArgumentException.class, () -> ToDoCursor.decode("not-a-cursor"));
+            assertThrows(IllegalArgumentException.class, () -> ToDoCursor.decode(""));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Change Tests")
+    class BulkChangeTests {
+
+        private final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+        private void populate(IToDoRepository target) {
+            for (int i = 0; i < 60; i++) {
+                ToDo toDo = newToDo((i % 2 == 0 ? "Release " : "Other ") + i, Priority.values()[i % 3]);
+                toDo.setCreationTime(start.plusHours(i));
+                target.save(toDo);
+            }
+        }
+
+        private long count(IToDoRepository target, String text, Boolean doneFlag, Priority priority) {
+            return target.findWithFilters(text, doneFlag, priority, PageRequest.of(0, 100)).getTotalElements();
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("com.gupiluan.to_do_backend.repository.ThreadSafetyTest#implementations")
+        @DisplayName("Should change and delete matching items and keep indexes consistent")
+        void shouldChangeMatchingItems(String name, Supplier<IToDoRepository> factory) {
+            // Given
+            IToDoRepository target = factory.get();
+            populate(target);
+            LocalDateTime doneDate = start.plusDays(5);
+
+            // When
+            List<ToDo> done = target.updateMatching("release", false, Priority.LOW, null, toDo -> {
+                toDo.setDoneFlag(true);
+                toDo.setDoneDate(doneDate);
+            });
+
+            // Then
+            assertEquals(10, done.size(), name);
+            assertEquals(0, count(target, "release", false, Priority.LOW), name);
+            assertEquals(10, count(target, null, true, null), name);
+            assertTrue(target.averageCompletionMinutes().containsKey(Priority.LOW), name);
+            ToDo stored = target.findById(done.get(0).getId()).orElseThrow();
+            assertEquals(doneDate, stored.getDoneDate(), name);
+            assertEquals(done.get(0).getCreationTime(), stored.getCreationTime(), name);
+
+            // When
+            List<ToDo> deleted = target.deleteMatching(null, true, null, start.plusHours(30));
+
+            // Then
+            assertEquals(5, deleted.size(), name);
+            assertEquals(5, count(target, null, true, null), name);
+            assertEquals(55, target.findAll().size(), name);
+            assertTrue(deleted.stream().allMatch(toDo -> target.findById(toDo.getId()).isEmpty()), name);
+        }
+    }
+
+    @Nested
+    @DisplayName("Completion Statistics Tests")
+    class CompletionStatisticsTests {
+
+        @Test
+        @DisplayName("Should keep running counters equal to a full recount")
+        void shouldStayConsistentUnderServiceWrites() {
+            // Given
+            ToDoService service = new ToDoService(repository, JsonMapper.builder().findAndAddModules().build());
+            Random random = new Random(7);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                ToDo toDo = newToDo("Task " + i, Priority.values()[i % 3]);
+                toDo.setCreationTime(LocalDateTime.now().minusMinutes(random.nextInt(500)));
+                ids.add(repository.save(toDo).getId());
+            }
+
+            for (int step = 0; step < 2000; step++) {
+                // When
+                Long id = ids.get(random.nextInt(ids.size()));
+                ToDo current = repository.findById(id).orElse(null);
+                if (current == null) {
+                    continue;
+                }
+                switch (random.nextInt(4)) {
+                    case 0 -> {
+                        if (!current.isDoneFlag()) {
+                            service.markDone(id);
+                        }
+                    }
+                    case 1 -> {
+                        if (current.isDoneFlag()) {
+                            service.markUnDone(id);
+                        }
+                    }
+                    case 2 -> {
+                        ToDoUpdateRequest request = new ToDoUpdateRequest();
+                        request.setText(current.getText());
+                        request.setPriority(Priority.values()[random.nextInt(3)]);
+                        service.updateToDo(id, request);
+                    }
+                    default -> {
+                        if (random.nextInt(10) == 0) {
+                            service.deleteToDo(id);
+                        }
+                    }
+                }
+
+                // Then
+                assertTrue(repository.isCompletionStatsConsistent(), "Step " + step);
+            }
+        }
+
+        @Test
+        @DisplayName("Should average completion minutes per priority")
+        void shouldAverageCompletionMinutes() {
+            // Given
+            LocalDateTime now = LocalDateTime.now();
+            int[][] minutes = { { 30, 90 }, { 45 }, {} };
+            for (int p = 0; p < minutes.length; p++) {
+                for (int m : minutes[p]) {
+                    ToDo toDo = newToDo("Done", Priority.values()[p]);
+                    toDo.setCreationTime(now.minusMinutes(m).minusSeconds(20));
+                    toDo.setDoneFlag(true);
+                    toDo.setDoneDate(now);
+                    repository.save(toDo);
+                }
+            }
+            ToDo withoutDates = newToDo("Imported", Priority.MEDIUM);
+            withoutDates.setDoneFlag(true);
+            repository.save(withoutDates);
+            repository.save(newToDo("Pending", Priority.LOW));
+
+            // When
+            Map<Priority, Integer> averages = repository.averageCompletionMinutes();
+
+            // Then
+            assertEquals(Map.of(Priority.HIGH, 60, Priority.MEDIUM, 22, Priority.LOW, 0), averages);
+        }
+
+        @Test
+        @DisplayName("Should reset counters when every ToDo is deleted")
+        void shouldResetOnDeleteAll() {
+            // Given
+            ToDo toDo = newToDo("Done", Priority.HIGH);
+            toDo.setDoneFlag(true);
+            toDo.setDoneDate(toDo.getCreationTime().plusMinutes(10));
+            repository.save(toDo);
+
+            // When
+            repository.deleteAll();
+
+            // Then
+            assertEquals(Map.of(Priority.HIGH, 0, Priority.MEDIUM, 0, Priority.LOW, 0),
+                    repository.averageCompletionMinutes());
+            assertTrue(repository.isCompletionStatsConsistent());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.gupiluan.to_do_backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.gupiluan.to_do_backend.dto.ToDoCreateRequest;
+import com.gupiluan.to_do_backend.dto.ToDoResponse;
+import com.gupiluan.to_do_backend.dto.ToDoUpdateRequest;
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.repository.ToDoRepository;
+
+/**
+ * Unit tests for the timing wheel and the overdue event scheduler.
+ *
+ * @author gupiluan
+ */
+@DisplayName("ToDo Overdue Scheduler Tests")
+class ToDoOverdueSchedulerTest {
+
+    private static final Instant START = Instant.parse("2025-03-10T09:00:00Z");
+
+    private static final long TICK_MILLIS = 1000;
+
+    private MutableClock clock;
+    private ToDoService service;
+    private ToDoOverdueScheduler scheduler;
+    private List<ToDoOverdueEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        events = new ArrayList<>();
+        ToDoRepository repository = new ToDoRepository();
+        scheduler = new ToDoOverdueScheduler(repository, List.of(events::add), TICK_MILLIS, clock);
+        service = new ToDoService(repository, JsonMapper.builder().findAndAddModules().build());
+        service.setOverdueScheduler(scheduler);
+    }
+
+    private LocalDateTime inFuture(Duration duration) {
+        return LocalDateTime.ofInstant(clock.instant().plus(duration), ZoneOffset.UTC);
+    }
+
+    private Long create(String text, LocalDateTime dueDate) {
+        ToDoCreateRequest request = new ToDoCreateRequest();
+        request.setText(text);
+        request.setPriority(Priority.MEDIUM);
+        request.setDueDate(dueDate);
+        return service.createToDo(request).getId();
+    }
+
+    /**
+     * Moves the clock forward one tick at a time, like the background thread.
+     */
+    private void advance(Duration duration) {
+        for (long tick = 0; tick < duration.toMillis() / TICK_MILLIS; tick++) {
+            clock.advance(Duration.ofMillis(TICK_MILLIS));
+            scheduler.fireDue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Timing Wheel Tests")
+    class TimingWheelTests {
+
+        @Test
+        @DisplayName("Should expire every value after its deadline, within one tick of the next advance")
+        void shouldExpireWithinOneTick() {
+            // Given
+            long start = START.toEpochMilli();
+            TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MILLIS, 8, start);
+            Random random = new Random(5);
+            long[] deadlines = new long[5000];
+            for (int i = 0; i < deadlines.length; i++) {
+                // Spread over several wheel levels
+                deadlines[i] = start + (long) Math.pow(10, random.nextDouble() * 7);
+                wheel.add(deadlines[i], i);
+            }
+
+            // When
+            Map<Integer, Long> expiredAt = new HashMap<>();
+            long now = start;
+            while (expiredAt.size() < deadlines.length) {
+                now += 1 + random.nextInt(3000);
+                long time = now;
+                wheel.advance(time, value -> expiredAt.put(value, time));
+            }
+
+            // Then
+            for (int i = 0; i < deadlines.length; i++) {
+                long lag = expiredAt.get(i) - deadlines[i];
+                assertTrue(lag >= 0 && lag < TICK_MILLIS + 3000, "Value " + i + " expired " + lag + " ms late");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Event Tests")
+    class EventTests {
+
+        @Test
+        @DisplayName("Should emit one event when the due date passes")
+        void shouldEmitWhenDue() {
+            // Given
+            Long id = create("Due soon", inFuture(Duration.ofSeconds(90)));
+
+            // When
+            advance(Duration.ofSeconds(89));
+            int before = events.size();
+            advance(Duration.ofSeconds(2));
+            advance(Duration.ofMinutes(5));
+
+            // Then
+            assertEquals(0, before);
+            assertEquals(1, events.size());
+            assertEquals(id, events.get(0).getId());
+            assertEquals("Due soon", events.get(0).getText());
+        }
+
+        @Test
+        @DisplayName("Should emit events for due dates days away")
+        void shouldEmitForDistantDueDates() {
+            // Given
+            create("Next week", inFuture(Duration.ofDays(7).plusMinutes(3)));
+            create("Tomorrow", inFuture(Duration.ofHours(25)));
+
+            // When
+            advance(Duration.ofHours(25).plusMinutes(1));
+            List<String> firstDay = events.stream().map(ToDoOverdueEvent::getText).toList();
+            advance(Duration.ofDays(6));
+
+            // Then
+            assertEquals(List.of("Tomorrow"), firstDay);
+            assertEquals(List.of("Tomorrow", "Next week"), events.stream().map(ToDoOverdueEvent::getText).toList());
+        }
+
+        @Test
+        @DisplayName("Should follow due date changes and skip completed or deleted items")
+        void shouldFollowChanges() {
+            // Given
+            Long moved = create("Moved", inFuture(Duration.ofMinutes(1)));
+            Long done = create("Done", inFuture(Duration.ofMinutes(1)));
+            Long deleted = create("Deleted", inFuture(Duration.ofMinutes(1)));
+            Long reopened = create("Reopened", inFuture(Duration.ofMinutes(1)));
+
+            ToDoUpdateRequest update = new ToDoUpdateRequest();
+            update.setText("Moved");
+            update.setPriority(Priority.MEDIUM);
+            update.setDueDate(inFuture(Duration.ofMinutes(3)));
+
+            // When
+            service.updateToDo(moved, update);
+            service.markDone(done);
+            service.deleteToDo(deleted);
+            service.markDone(reopened);
+            service.markUnDone(reopened);
+            advance(Duration.ofMinutes(2));
+            List<Long> afterTwoMinutes = events.stream().map(ToDoOverdueEvent::getId).toList();
+            advance(Duration.ofMinutes(2));
+
+            // Then
+            assertEquals(List.of(reopened), afterTwoMinutes);
+            assertEquals(List.of(reopened, moved), events.stream().map(ToDoOverdueEvent::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should keep notifying listeners after one fails")
+        void shouldIsolateFailingListeners() {
+            // Given
+            ToDoRepository repository = new ToDoRepository();
+            List<ToDoOverdueEvent> received = new ArrayList<>();
+            ToDoOverdueScheduler failing = new ToDoOverdueScheduler(repository, List.of(event -> {
+                throw new IllegalStateException("Listener failure");
+            }, received::add), TICK_MILLIS, clock);
+            ToDoService failingService = new ToDoService(repository, JsonMapper.builder().findAndAddModules().build());
+            failingService.setOverdueScheduler(failing);
+            ToDoCreateRequest request = new ToDoCreateRequest();
+            request.setText("Past due");
+            request.setPriority(Priority.LOW);
+            request.setDueDate(inFuture(Duration.ofHours(-1)));
+            ToDoResponse created = failingService.createToDo(request);
+
+            // When
+            clock.advance(Duration.ofSeconds(1));
+            int sent = failing.fireDue();
+
+            // Then
+            assertEquals(1, sent);
+            assertEquals(created.getId(), received.get(0).getId());
+        }
+    }
+}
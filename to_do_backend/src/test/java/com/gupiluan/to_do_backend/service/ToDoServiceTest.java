@@ -4,32 +4,52 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.gupiluan.to_do_backend.dto.CompletionLatencyResponse;
 import com.gupiluan.to_do_backend.dto.ToDoCreateRequest;
+import com.gupiluan.to_do_backend.dto.ToDoImportError;
+import com.gupiluan.to_do_backend.dto.ToDoImportResponse;
+import com.gupiluan.to_do_backend.dto.ToDoOperation;
+import com.gupiluan.to_do_backend.dto.ToDoOperationResult;
 import com.gupiluan.to_do_backend.dto.ToDoResponse;
 import com.gupiluan.to_do_backend.dto.ToDoUpdateRequest;
+import com.gupiluan.to_do_backend.exception.ToDoConflictException;
 import com.gupiluan.to_do_backend.exception.ToDoNotFoundException;
 import com.gupiluan.to_do_backend.exception.ToDoValidationException;
 import com.gupiluan.to_do_backend.model.Pagination;
 import com.gupiluan.to_do_backend.model.Priority;
 import com.gupiluan.to_do_backend.model.ToDo;
+import com.gupiluan.to_do_backend.model.ToDoExportFormat;
 import com.gupiluan.to_do_backend.repository.IToDoRepository;
 
 /**
@@ -45,6 +65,9 @@ class ToDoServiceTest {
     @Mock
     private IToDoRepository toDoRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
     @InjectMocks
     private ToDoService toDoService;
 
@@ -256,6 +279,36 @@ class ToDoServiceTest {
             verify(toDoRepository, never()).update(any());
         }
 
+        @Test
+        @DisplayName("Should retry marking done when the item changed concurrently")
+        void shouldRetryMarkDoneOnConflict() {
+            // Given
+            when(toDoRepository.findById(1L)).thenAnswer(invocation -> Optional.of(sampleToDo.copy()));
+            when(toDoRepository.update(any(ToDo.class))).thenReturn(false, true);
+
+            // When
+            boolean result = toDoService.markDone(1L);
+
+            // Then
+            assertTrue(result);
+            verify(toDoRepository, times(2)).findById(1L);
+            verify(toDoRepository, times(2)).update(any(ToDo.class));
+        }
+
+        @Test
+        @DisplayName("Should throw ToDoConflictException when every attempt is rejected")
+        void shouldThrowConflictExceptionWhenUpdateKeepsFailing() {
+            // Given
+            when(toDoRepository.findById(1L)).thenAnswer(invocation -> Optional.of(sampleToDo.copy()));
+            when(toDoRepository.update(any(ToDo.class))).thenReturn(false);
+
+            // When & Then
+            assertThrows(ToDoConflictException.class, () -> toDoService.markDone(1L));
+            assertThrows(ToDoConflictException.class,
+                    () -> toDoService.updateToDo(1L, sampleUpdateRequest));
+            verify(toDoRepository, times(2 * ToDoService.MAX_UPDATE_ATTEMPTS)).update(any(ToDo.class));
+        }
+
         @Test
         @DisplayName("Should mark ToDo as undone successfully")
         void shouldMarkToDoAsUndone() {
@@ -374,6 +427,7 @@ class ToDoServiceTest {
             when(toDoRepository.findCompletedByPriority(Priority.MEDIUM)).thenReturn(List.of());
             when(toDoRepository.findCompletedByPriority(Priority.LOW)).thenReturn(List.of());
             when(toDoRepository.getDurationBetween(any(), any())).thenReturn(java.time.Duration.ofMinutes(60));
+            when(toDoRepository.averageCompletionMinutes()).thenCallRealMethod();
 
             // When
             Map<Priority, Integer> result = toDoService.getCompletionStatistics();
@@ -384,6 +438,42 @@ class ToDoServiceTest {
             assertEquals(0, result.get(Priority.MEDIUM));
             assertEquals(0, result.get(Priority.LOW));
         }
+
+        @Test
+        @DisplayName("Should calculate completion time percentiles")
+        void shouldCalculateCompletionLatency() {
+            // Given
+            LocalDateTime now = LocalDateTime.now();
+            List<ToDo> completed = new ArrayList<>();
+            for (int minutes = 1; minutes <= 100; minutes++) {
+                ToDo toDo = new ToDo();
+                toDo.setPriority(Priority.HIGH);
+                toDo.setDoneFlag(true);
+                toDo.setCreationTime(now.minusMinutes(minutes));
+                toDo.setDoneDate(now);
+                completed.add(toDo);
+            }
+
+            when(toDoRepository.findCompletedByPriority(Priority.HIGH)).thenReturn(completed);
+            when(toDoRepository.findCompletedByPriority(Priority.MEDIUM)).thenReturn(List.of());
+            when(toDoRepository.findCompletedByPriority(Priority.LOW)).thenReturn(List.of());
+            when(toDoRepository.getDurationBetween(any(), any()))
+                    .thenAnswer(invocation -> java.time.Duration.between(invocation.getArgument(0),
+                            (LocalDateTime) invocation.getArgument(1)));
+            when(toDoRepository.completionHistograms()).thenCallRealMethod();
+
+            // When
+            Map<Priority, CompletionLatencyResponse> result = toDoService.getCompletionLatency();
+
+            // Then
+            CompletionLatencyResponse high = result.get(Priority.HIGH);
+            assertEquals(100, high.getCount());
+            assertEquals(50 * 60, high.getP50(), 50 * 60 * 0.04);
+            assertEquals(90 * 60, high.getP90(), 90 * 60 * 0.04);
+            assertEquals(99 * 60, high.getP99(), 99 * 60 * 0.04);
+            assertEquals(100 * 60, high.getMax(), 100 * 60 * 0.04);
+            assertEquals(new CompletionLatencyResponse(0, 0, 0, 0, 0), result.get(Priority.LOW));
+        }
     }
 
     @Nested
@@ -395,14 +485,17 @@ class ToDoServiceTest {
         void shouldCreateMultipleToDosSuccessfully() {
             // Given
             List<ToDoCreateRequest> requests = List.of(sampleCreateRequest, sampleCreateRequest);
+            when(toDoRepository.executeAtomically(any())).thenCallRealMethod();
+            when(toDoRepository.saveAll(any())).thenCallRealMethod();
             when(toDoRepository.save(any(ToDo.class))).thenReturn(sampleToDo);
 
             // When
-            Map<String, Integer> result = toDoService.createToDos(requests);
+            ToDoImportResponse result = toDoService.createToDos(requests);
 
             // Then
-            assertEquals(2, result.get("successful"));
-            assertEquals(0, result.get("failed"));
+            assertEquals(2, result.getSuccessful());
+            assertEquals(0, result.getFailed());
+            assertTrue(result.getErrors().isEmpty());
             verify(toDoRepository, times(2)).save(any(ToDo.class));
         }
 
@@ -413,17 +506,52 @@ class ToDoServiceTest {
             ToDoCreateRequest invalidRequest = new ToDoCreateRequest();
             invalidRequest.setText(""); // Invalid
             List<ToDoCreateRequest> requests = List.of(sampleCreateRequest, invalidRequest);
+            when(toDoRepository.executeAtomically(any())).thenCallRealMethod();
+            when(toDoRepository.saveAll(any())).thenCallRealMethod();
             when(toDoRepository.save(any(ToDo.class))).thenReturn(sampleToDo);
 
             // When
-            Map<String, Integer> result = toDoService.createToDos(requests);
+            ToDoImportResponse result = toDoService.createToDos(requests);
 
             // Then
-            assertEquals(1, result.get("successful"));
-            assertEquals(1, result.get("failed"));
+            assertEquals(1, result.getSuccessful());
+            assertEquals(1, result.getFailed());
+            assertEquals(List.of(new ToDoImportError(2, "Validation error: ToDo text cannot be blank")),
+                    result.getErrors());
             verify(toDoRepository, times(1)).save(any(ToDo.class));
         }
 
+        @Test
+        @DisplayName("Should validate large batches in parallel and save them with one call")
+        @SuppressWarnings("unchecked")
+        void shouldValidateLargeBatchesInParallel() {
+            // Given
+            List<ToDoCreateRequest> requests = new ArrayList<>();
+            for (int i = 0; i < ToDoService.PARALLEL_BATCH_THRESHOLD + 1; i++) {
+                ToDoCreateRequest request = new ToDoCreateRequest();
+                request.setText("Task " + i);
+                request.setPriority(i % 3 == 0 ? null : Priority.LOW); // Every third is invalid
+                requests.add(request);
+            }
+            when(toDoRepository.saveAll(any())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+
+            // When
+            ToDoImportResponse result = toDoService.createToDos(requests);
+
+            // Then
+            ArgumentCaptor<Collection<ToDo>> saved = ArgumentCaptor.forClass(Collection.class);
+            verify(toDoRepository, times(1)).saveAll(saved.capture());
+            verify(toDoRepository, never()).save(any(ToDo.class));
+            assertEquals(1366, result.getSuccessful());
+            assertEquals(683, result.getFailed());
+            assertEquals(ToDoService.MAX_REPORTED_IMPORT_ERRORS, result.getErrors().size());
+            assertEquals(List.of(1L, 4L, 7L),
+                    result.getErrors().stream().map(ToDoImportError::getLine).toList().subList(0, 3));
+            assertTrue(result.isErrorsTruncated());
+            List<String> texts = saved.getValue().stream().map(ToDo::getText).toList();
+            assertEquals(List.of("Task 1", "Task 2", "Task 4"), texts.subList(0, 3));
+        }
+
         @Test
         @DisplayName("Should throw ToDoValidationException when request list is empty")
         void shouldThrowValidationExceptionWhenRequestListEmpty() {
@@ -432,4 +560,322 @@ class ToDoServiceTest {
             assertThrows(ToDoValidationException.class, () -> toDoService.createToDos(null));
         }
     }
+
+    @Nested
+    @DisplayName("Multi-Operation Tests")
+    class OperationTests {
+
+        private ToDoOperation operation(ToDoOperation.Type type, Long id) {
+            ToDoOperation operation = new ToDoOperation();
+            operation.setType(type);
+            operation.setId(id);
+            return operation;
+        }
+
+        @Test
+        @DisplayName("Should run every operation in one atomic step and report each result")
+        void shouldRunOperationsAtomically() {
+            // Given
+            ToDoOperation create = operation(ToDoOperation.Type.CREATE, null);
+            create.setText("Created in batch");
+            create.setPriority(Priority.HIGH);
+            List<ToDoOperation> operations = List.of(create, operation(ToDoOperation.Type.DONE, 1L),
+                    operation(ToDoOperation.Type.DELETE, 99L), operation(ToDoOperation.Type.UNDONE, 1L));
+            when(toDoRepository.executeAtomically(any())).thenCallRealMethod();
+            when(toDoRepository.save(any(ToDo.class))).thenAnswer(invocation -> {
+                ToDo saved = invocation.getArgument(0);
+                saved.setId(2L);
+                return saved;
+            });
+            when(toDoRepository.findById(1L)).thenReturn(Optional.of(sampleToDo));
+            when(toDoRepository.update(any(ToDo.class))).thenReturn(true);
+            when(toDoRepository.deleteByIdAndReturn(99L)).thenReturn(null);
+
+            // When
+            List<ToDoOperationResult> results = toDoService.executeOperations(operations);
+
+            // Then
+            verify(toDoRepository, times(1)).executeAtomically(any());
+            assertEquals(List.of(true, true, false, true), results.stream().map(ToDoOperationResult::isSuccess).toList());
+            assertEquals(2L, results.get(0).getToDo().getId());
+            assertTrue(results.get(1).getToDo().isDoneFlag());
+            assertEquals("ToDo with ID 99 not found", results.get(2).getError());
+            assertFalse(results.get(3).getToDo().isDoneFlag());
+        }
+
+        @Test
+        @DisplayName("Should report a rejected update as a conflict, not as not found")
+        void shouldReportRejectedUpdateAsConflict() {
+            // Given
+            when(toDoRepository.executeAtomically(any())).thenCallRealMethod();
+            when(toDoRepository.findById(1L)).thenAnswer(invocation -> Optional.of(sampleToDo.copy()));
+            when(toDoRepository.update(any(ToDo.class))).thenReturn(false);
+
+            // When
+            List<ToDoOperationResult> results = toDoService.executeOperations(
+                    List.of(operation(ToDoOperation.Type.DONE, 1L)));
+
+            // Then
+            assertFalse(results.get(0).isSuccess());
+            assertEquals(new ToDoConflictException(1L).getMessage(), results.get(0).getError());
+            verify(toDoRepository, times(ToDoService.MAX_UPDATE_ATTEMPTS)).update(any(ToDo.class));
+        }
+
+        @Test
+        @DisplayName("Should report invalid operations without running them")
+        void shouldReportInvalidOperations() {
+            // Given
+            List<ToDoOperation> operations = List.of(operation(ToDoOperation.Type.CREATE, null),
+                    operation(ToDoOperation.Type.UPDATE, null), new ToDoOperation());
+            when(toDoRepository.executeAtomically(any())).thenCallRealMethod();
+
+            // When
+            List<ToDoOperationResult> results = toDoService.executeOperations(operations);
+
+            // Then
+            assertEquals(List.of("Validation error: ToDo text cannot be blank",
+                    "Validation error: ID must be a positive number",
+                    "Validation error: Operation type is required"),
+                    results.stream().map(ToDoOperationResult::getError).toList());
+            verify(toDoRepository, never()).save(any(ToDo.class));
+            verify(toDoRepository, never()).update(any(ToDo.class));
+        }
+
+        @Test
+        @DisplayName("Should record operation side effects only once the atomic step has returned")
+        void shouldDeferSideEffectsUntilAtomicStepReturns() {
+            // Given
+            ToDoOperation create = operation(ToDoOperation.Type.CREATE, null);
+            create.setText("Rolled back");
+            create.setPriority(Priority.HIGH);
+            ToDoOperation delete = operation(ToDoOperation.Type.DELETE, 1L);
+            when(toDoRepository.save(any(ToDo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(toDoRepository.deleteByIdAndReturn(1L)).thenReturn(sampleToDo);
+            when(toDoRepository.executeAtomically(any())).thenAnswer(invocation -> {
+                invocation.<Supplier<?>>getArgument(0).get();
+                // Nothing is counted while the step is still open
+                assertEquals(0, countedEvents());
+                throw new IllegalStateException("Commit failed");
+            }).thenCallRealMethod();
+
+            // When
+            assertThrows(IllegalStateException.class, () -> toDoService.executeOperations(List.of(create, delete)));
+            long countedAfterFailure = countedEvents();
+            toDoService.executeOperations(List.of(create, delete));
+
+            // Then
+            assertEquals(0, countedAfterFailure);
+            assertEquals(2, countedEvents());
+        }
+
+        private long countedEvents() {
+            return toDoService.getThroughput("PT1H", "PT1H").stream()
+                    .mapToLong(bucket -> bucket.getCreated() + bucket.getCompleted() + bucket.getDeleted())
+                    .sum();
+        }
+
+        @Test
+        @DisplayName("Should reject empty and oversized operation lists")
+        void shouldRejectEmptyOrOversizedLists() {
+            List<ToDoOperation> tooMany = Collections.nCopies(ToDoService.MAX_OPERATIONS + 1,
+                    operation(ToDoOperation.Type.DONE, 1L));
+
+            // When & Then
+            assertThrows(ToDoValidationException.class, () -> toDoService.executeOperations(List.of()));
+            assertThrows(ToDoValidationException.class, () -> toDoService.executeOperations(tooMany));
+            verify(toDoRepository, never()).executeAtomically(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Change Tests")
+    class BulkChangeTests {
+
+        @Test
+        @DisplayName("Should mark pending matching ToDos as done in one repository call")
+        @SuppressWarnings("unchecked")
+        void shouldMarkMatchingToDosDone() {
+            // Given
+            when(toDoRepository.updateMatching(eq("release"), eq(false), eq(Priority.LOW), isNull(), any()))
+                    .thenAnswer(invocation -> {
+                        ToDo toDo = sampleToDo.copy();
+                        invocation.<Consumer<ToDo>>getArgument(4).accept(toDo);
+                        return List.of(toDo);
+                    });
+
+            // When
+            int affected = toDoService.markDoneMatching("release", Priority.LOW, null);
+
+            // Then
+            assertEquals(1, affected);
+            ArgumentCaptor<Consumer<ToDo>> change = ArgumentCaptor.forClass(Consumer.class);
+            verify(toDoRepository).updateMatching(eq("release"), eq(false), eq(Priority.LOW), isNull(),
+                    change.capture());
+            ToDo changed = sampleToDo.copy();
+            change.getValue().accept(changed);
+            assertTrue(changed.isDoneFlag());
+            assertNotNull(changed.getDoneDate());
+            verify(toDoRepository, never()).update(any(ToDo.class));
+        }
+
+        @Test
+        @DisplayName("Should delete matching ToDos and parse the completion filter")
+        void shouldDeleteMatchingToDos() {
+            // Given
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+            when(toDoRepository.deleteMatching(null, true, null, cutoff)).thenReturn(List.of(sampleToDo));
+
+            // When
+            int affected = toDoService.deleteMatching(null, "done", null, cutoff);
+
+            // Then
+            assertEquals(1, affected);
+            verify(toDoRepository, never()).deleteByIdAndReturn(any());
+        }
+
+        @Test
+        @DisplayName("Should refuse to delete without any filter")
+        void shouldRejectDeleteWithoutFilters() {
+            // When & Then
+            assertThrows(ToDoValidationException.class, () -> toDoService.deleteMatching(" ", null, null, null));
+            verify(toDoRepository, never()).deleteMatching(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should refuse to delete with an unknown completion filter")
+        void shouldRejectDeleteWithUnknownCompletionFilter() {
+            // Given
+            when(toDoRepository.deleteMatching(null, false, null, null)).thenReturn(List.of(sampleToDo));
+
+            // When & Then
+            assertThrows(ToDoValidationException.class, () -> toDoService.deleteMatching(null, "typo", null, null));
+            assertThrows(ToDoValidationException.class, () -> toDoService.deleteMatching(null, "undone", null, null));
+            assertEquals(1, toDoService.deleteMatching(null, "PENDING", null, null));
+            verify(toDoRepository, times(1)).deleteMatching(any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Export Tests")
+    class ExportTests {
+
+        @Test
+        @DisplayName("Should export in keyset batches and flush after each one")
+        void shouldExportInBatches() throws IOException {
+            // Given
+            List<ToDo> firstBatch = new ArrayList<>();
+            for (long id = 1; id <= ToDoService.EXPORT_BATCH_SIZE; id++) {
+                ToDo toDo = sampleToDo.copy();
+                toDo.setId(id);
+                firstBatch.add(toDo);
+            }
+            ToDo last = sampleToDo.copy();
+            last.setId(ToDoService.EXPORT_BATCH_SIZE + 1L);
+            when(toDoRepository.findWithFiltersAfter(isNull(), eq(true), isNull(), any(), isNull(),
+                    eq(ToDoService.EXPORT_BATCH_SIZE))).thenReturn(firstBatch);
+            when(toDoRepository.findWithFiltersAfter(isNull(), eq(true), isNull(), any(), notNull(),
+                    eq(ToDoService.EXPORT_BATCH_SIZE))).thenReturn(List.of(last));
+            ByteArrayOutputStream out = spy(new ByteArrayOutputStream());
+
+            // When
+            long exported = toDoService.exportToDos(null, "done", null, null, null, ToDoExportFormat.CSV, out);
+
+            // Then
+            assertEquals(ToDoService.EXPORT_BATCH_SIZE + 1L, exported);
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(ToDoService.CSV_HEADER, lines[0]);
+            assertEquals(ToDoService.EXPORT_BATCH_SIZE + 2, lines.length);
+            assertTrue(lines[lines.length - 1].startsWith((ToDoService.EXPORT_BATCH_SIZE + 1) + ","));
+            verify(out, times(2)).flush();
+            verify(toDoRepository).findWithFiltersAfter(isNull(), eq(true), isNull(), any(),
+                    argThat(cursor -> cursor != null && cursor.getId() == ToDoService.EXPORT_BATCH_SIZE),
+                    eq(ToDoService.EXPORT_BATCH_SIZE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Import Tests")
+    class ImportTests {
+
+        private ToDoImportResponse importLines(String body) throws IOException {
+            return toDoService.importToDos(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Test
+        @DisplayName("Should import valid lines and report each failed line")
+        void shouldReportFailedLines() throws IOException {
+            // Given
+            when(toDoRepository.executeAtomically(any())).thenCallRealMethod();
+            when(toDoRepository.saveAll(any())).thenCallRealMethod();
+            when(toDoRepository.save(any(ToDo.class))).thenReturn(sampleToDo);
+            String body = String.join("\n",
+                    "{\"text\":\"First\",\"priority\":\"HIGH\",\"dueDate\":\"2030-01-01T10:00:00\"}",
+                    "",
+                    "{\"text\":\"Broken\",",
+                    "{\"text\":\"No priority\"}",
+                    "{\"text\":\"" + "x".repeat(ToDoService.MAX_IMPORT_LINE_LENGTH) + "\",\"priority\":\"LOW\"}",
+                    "{\"text\":\"Last\",\"priority\":\"LOW\"}\r");
+
+            // When
+            ToDoImportResponse result = importLines(body);
+
+            // Then
+            assertEquals(2, result.getSuccessful());
+            assertEquals(3, result.getFailed());
+            assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(ToDoImportError::getLine).toList());
+            assertEquals("Validation error: Priority is required", result.getErrors().get(1).getMessage());
+            assertFalse(result.isErrorsTruncated());
+            verify(toDoRepository, times(2)).save(any(ToDo.class));
+        }
+
+        @Test
+        @DisplayName("Should report an over-length line that starts with blanks")
+        void shouldReportLongLineWithBlankStart() throws IOException {
+            // Given
+            when(toDoRepository.executeAtomically(any())).thenCallRealMethod();
+            when(toDoRepository.saveAll(any())).thenCallRealMethod();
+            when(toDoRepository.save(any(ToDo.class))).thenReturn(sampleToDo);
+            String body = " ".repeat(ToDoService.MAX_IMPORT_LINE_LENGTH + 1) + "{\"text\":\"Padded\"}\n"
+                    + "{\"text\":\"Valid\",\"priority\":\"LOW\"}";
+
+            // When
+            ToDoImportResponse result = importLines(body);
+
+            // Then
+            assertEquals(1, result.getSuccessful());
+            assertEquals(1, result.getFailed());
+            assertEquals(1L, result.getErrors().get(0).getLine());
+            assertTrue(result.getErrors().get(0).getMessage().contains("exceeds"));
+        }
+
+        @Test
+        @DisplayName("Should save each chunk in one atomic step")
+        void shouldSaveInChunks() throws IOException {
+            // Given
+            when(toDoRepository.executeAtomically(any())).thenCallRealMethod();
+            when(toDoRepository.saveAll(any())).thenCallRealMethod();
+            when(toDoRepository.save(any(ToDo.class))).thenReturn(sampleToDo);
+            int items = ToDoService.IMPORT_CHUNK_SIZE * 2 + 1;
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < items; i++) {
+                body.append(i % 2 == 0 ? "{\"text\":\"Item\",\"priority\":\"MEDIUM\"}" : "{}").append('\n');
+            }
+
+            // When
+            ToDoImportResponse result = importLines(body.toString() + body);
+
+            // Then
+            assertEquals(items + 1, result.getSuccessful());
+            assertEquals(items - 1, result.getFailed());
+            assertEquals(ToDoService.MAX_REPORTED_IMPORT_ERRORS, result.getErrors().size());
+            assertTrue(result.isErrorsTruncated());
+            verify(toDoRepository, times(3)).executeAtomically(any());
+        }
+
+        @Test
+        @DisplayName("Should reject an import without items")
+        void shouldRejectEmptyImport() {
+            assertThrows(ToDoValidationException.class, () -> importLines("\n  \n"));
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package com.gupiluan.to_do_backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.gupiluan.to_do_backend.dto.ThroughputBucketResponse;
+import com.gupiluan.to_do_backend.service.ToDoThroughputCounters.Event;
+
+/**
+ * Unit tests for the sliding-window throughput counters.
+ *
+ * @author gupiluan
+ */
+@DisplayName("ToDo Throughput Counters Tests")
+class ToDoThroughputCountersTest {
+
+    private static final Instant START = Instant.parse("2025-03-10T09:00:30Z");
+
+    private MutableClock clock;
+    private ToDoThroughputCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        counters = new ToDoThroughputCounters(clock);
+    }
+
+    @Nested
+    @DisplayName("Window Tests")
+    class WindowTests {
+
+        @Test
+        @DisplayName("Should count events in the buckets ending with the current minute")
+        void shouldCountPerBucket() {
+            // Given
+            counters.record(Event.CREATED, 3);
+            clock.advance(Duration.ofMinutes(30));
+            counters.record(Event.COMPLETED);
+            clock.advance(Duration.ofMinutes(45));
+            counters.record(Event.CREATED);
+            counters.record(Event.DELETED);
+
+            // When
+            List<ThroughputBucketResponse> hours = counters.query(Duration.ofHours(2), Duration.ofHours(1));
+
+            // Then
+            assertEquals(2, hours.size());
+            assertEquals(new ThroughputBucketResponse(LocalDateTime.of(2025, 3, 10, 8, 16),
+                    LocalDateTime.of(2025, 3, 10, 9, 16), 3, 0, 0), hours.get(0));
+            assertEquals(new ThroughputBucketResponse(LocalDateTime.of(2025, 3, 10, 9, 16),
+                    LocalDateTime.of(2025, 3, 10, 10, 16), 1, 1, 1), hours.get(1));
+        }
+
+        @Test
+        @DisplayName("Should forget events older than the retention")
+        void shouldExpireOldMinutes() {
+            // Given
+            counters.record(Event.CREATED, 5);
+            clock.advance(Duration.ofDays(7));
+            counters.record(Event.CREATED);
+
+            // When
+            List<ThroughputBucketResponse> week = counters.query(Duration.ofDays(7), Duration.ofDays(7));
+
+            // Then
+            assertEquals(1, week.size());
+            assertEquals(1, week.get(0).getCreated());
+        }
+
+        @Test
+        @DisplayName("Should reject windows and resolutions out of range")
+        void shouldRejectInvalidRanges() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> counters.query(Duration.ofDays(8), Duration.ofHours(1)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> counters.query(Duration.ofHours(1), Duration.ofSeconds(30)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> counters.query(Duration.ofMinutes(5), Duration.ofHours(1)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Should not lose counts when writers race across minute boundaries")
+        void shouldCountConcurrentEvents() throws InterruptedException {
+            // Given
+            int threads = 4;
+            int perThread = 50_000;
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        counters.record(Event.CREATED);
+                        if (i % 10_000 == 0) {
+                            clock.advance(Duration.ofSeconds(20));
+                        }
+                    }
+                }));
+            }
+
+            // When
+            writers.forEach(Thread::start);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            // Then
+            long total = counters.query(Duration.ofHours(1), Duration.ofMinutes(1)).stream()
+                    .mapToLong(ThroughputBucketResponse::getCreated).sum();
+            assertEquals((long) threads * perThread, total);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.gupiluan.to_do_backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.gupiluan.to_do_backend.dto.ThroughputBucketResponse;
+import com.gupiluan.to_do_backend.dto.ToDoCreateRequest;
+import com.gupiluan.to_do_backend.dto.ToDoResponse;
+import com.gupiluan.to_do_backend.exception.ToDoException;
+import com.gupiluan.to_do_backend.exception.ToDoNotFoundException;
+import com.gupiluan.to_do_backend.exception.ToDoValidationException;
+import com.gupiluan.to_do_backend.mapper.ToDoMapper;
+import com.gupiluan.to_do_backend.model.Priority;
+import com.gupiluan.to_do_backend.repository.ToDoRepository;
+
+/**
+ * Tests for the single-writer mutation pipeline.
+ * Runs ToDoService against a real repository with writes routed through
+ * ToDoWriteQueue.
+ *
+ * @author gupiluan
+ */
+@DisplayName("ToDo Write Queue Tests")
+class ToDoWriteQueueTest {
+
+    private ToDoRepository repository;
+    private ToDoWriteQueue writeQueue;
+    private ToDoService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ToDoRepository();
+        writeQueue = new ToDoWriteQueue(repository, 64);
+        service = new ToDoService(repository, JsonMapper.builder().findAndAddModules().build());
+        service.setWriteQueue(writeQueue);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeQueue.shutdown();
+    }
+
+    private ToDoCreateRequest createRequest(String text) {
+        ToDoCreateRequest request = new ToDoCreateRequest();
+        request.setText(text);
+        request.setPriority(Priority.MEDIUM);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should let exactly one concurrent markDone succeed")
+    void shouldMarkDoneAtomically() throws Exception {
+        // Given
+        ToDoResponse created = service.createToDo(createRequest("Contended"));
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            calls.add(executor.submit(() -> {
+                start.await();
+                try {
+                    service.markDone(created.getId());
+                    succeeded.incrementAndGet();
+                } catch (ToDoValidationException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> call : calls) {
+            call.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, succeeded.get());
+        assertEquals(threads - 1, rejected.get());
+        assertTrue(service.getToDo(created.getId()).isDoneFlag());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the original exception of a failed mutation")
+    void shouldPropagateOriginalException() {
+        assertThrows(ToDoNotFoundException.class, () -> service.markDone(999L));
+        assertThrows(ToDoNotFoundException.class, () -> service.deleteToDo(999L));
+    }
+
+    @Test
+    @DisplayName("Should apply every queued mutation in submission order")
+    void shouldApplyQueuedMutations() {
+        // Given
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            int n = i;
+            futures.add(writeQueue.submit(() -> repository.save(
+                    ToDoMapper.toEntity(createRequest("Item " + n))).getId()));
+        }
+
+        // Then
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i + 1L, futures.get(i).join());
+        }
+        assertEquals(500, repository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Should fail the future of a mutation that throws an Error and keep writing")
+    void shouldSurviveErrors() {
+        // Given
+        CompletableFuture<Object> broken = writeQueue.submit(() -> {
+            throw new AssertionError("Broken mutation");
+        });
+
+        // When
+        CompletionException thrown = assertThrows(CompletionException.class, broken::join);
+
+        // Then
+        assertInstanceOf(AssertionError.class, thrown.getCause());
+        assertEquals(7, writeQueue.submit(() -> 7).join());
+    }
+
+    @Test
+    @DisplayName("Should not record side effects of a batch that fails to commit")
+    void shouldDropSideEffectsOfFailedBatch() {
+        // Given
+        ToDoRepository failingCommit = new ToDoRepository() {
+            @Override
+            public <T> T executeAtomically(Supplier<T> action) {
+                action.get();
+                throw new IllegalStateException("Commit failed");
+            }
+        };
+        ToDoWriteQueue failingQueue = new ToDoWriteQueue(failingCommit, 8);
+        ToDoService failingService = new ToDoService(failingCommit, JsonMapper.builder().findAndAddModules().build());
+        failingService.setWriteQueue(failingQueue);
+
+        // When
+        try {
+            assertThrows(IllegalStateException.class, () -> failingService.createToDo(createRequest("Lost")));
+        } finally {
+            failingQueue.shutdown();
+        }
+
+        // Then
+        long created = failingService.getThroughput("PT1H", "PT1H").stream()
+                .mapToLong(ThroughputBucketResponse::getCreated)
+                .sum();
+        assertEquals(0, created);
+    }
+
+    @Test
+    @DisplayName("Should reject submissions after shutdown")
+    void shouldRejectAfterShutdown() {
+        // Given
+        CompletableFuture<Integer> queued = writeQueue.submit(() -> 42);
+
+        // When
+        writeQueue.shutdown();
+
+        // Then
+        assertEquals(42, queued.join());
+        assertThrows(ToDoException.class, () -> writeQueue.submit(() -> 1));
+    }
+}